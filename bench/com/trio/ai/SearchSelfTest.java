@@ -0,0 +1,173 @@
+package com.trio.ai;
+
+import com.trio.model.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Vérifications des structures de la recherche, sans framework de test :
+ * le programme s'arrête en erreur au premier écart.
+ *
+ * <pre>
+ * javac -d out -sourcepath src;bench bench/com/trio/ai/SearchSelfTest.java
+ * java -cp out com.trio.ai.SearchSelfTest
+ * </pre>
+ *
+ * (séparateur ':' au lieu de ';' sous Linux/macOS)
+ */
+public class SearchSelfTest {
+
+    public static void main(String[] args) throws Exception {
+        concurrentTableAdds();
+        zobristReplay();
+        System.out.println("SearchSelfTest : OK");
+    }
+
+    // === TranspositionTable ===
+
+    /**
+     * Plusieurs fils ajoutent des simulations aux mêmes clés : aucune ne
+     * doit se perdre. Deux clés par seau au plus, pour qu'aucune ne soit
+     * évincée.
+     */
+    private static void concurrentTableAdds() throws InterruptedException {
+        int bits = 4; // 8 seaux
+        int threads = Math.max(4, Runtime.getRuntime().availableProcessors());
+        int addsPerThread = 200_000;
+        TranspositionTable table = new TranspositionTable(bits);
+        table.newSearch();
+
+        // Deux clés par seau : même bits bas, bits hauts différents
+        long[] keys = new long[8];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = ((long) (i / 2 + 1) << 40) | ((long) (i % 4) << 1) | ((long) (i / 4) << 20);
+        }
+
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int offset = t;
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < addsPerThread; i++) {
+                    table.add(keys[(i + offset) % keys.length], 1.0);
+                }
+            });
+            workers[t].start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        long visits = 0;
+        long wins = 0;
+        for (long key : keys) {
+            long data = table.probe(key);
+            check(data != 0, "clé absente de la table : " + Long.toHexString(key));
+            visits += TranspositionTable.visits(data);
+            wins += Math.round(TranspositionTable.wins(data));
+        }
+        long expected = (long) threads * addsPerThread;
+        check(visits == expected, "visites " + visits + " au lieu de " + expected);
+        check(wins == expected, "gains " + wins + " au lieu de " + expected);
+        System.out.println("TranspositionTable : " + threads + " fils, " + expected + " ajouts, aucun perdu");
+    }
+
+    // === Zobrist ===
+
+    /**
+     * Parties tirées au hasard, jouées coup par coup : après chaque coup et
+     * chaque retour en arrière (copyFrom de l'état précédent), les clés
+     * tenues à jour doivent valoir celles recalculées par rehash
+     */
+    private static void zobristReplay() {
+        SplittableRandom random = new SplittableRandom(42);
+        int moves = 0;
+        int undos = 0;
+        for (int game = 0; game < 400; game++) {
+            Rules rules;
+            List<Team> teams;
+            long seed = random.nextLong();
+            if (game % 2 == 0) {
+                List<Player> players = new ArrayList<>();
+                for (int i = 0; i < 3 + game / 2 % 4; i++) {
+                    players.add(new Bot("Bot" + i));
+                }
+                SoloGame solo = new SoloGame(players, new Deck(), seed);
+                solo.setVerbose(false);
+                solo.distributeCards();
+                rules = solo.getRules();
+                teams = Collections.emptyList();
+            } else {
+                teams = new ArrayList<>();
+                for (int t = 0; t < 2 + game / 2 % 2; t++) {
+                    teams.add(new Team("Équipe " + t, new Bot("A" + t), new Bot("B" + t)));
+                }
+                TeamGame team = new TeamGame(teams, new Deck(), seed);
+                team.setVerbose(false);
+                team.distributeCards();
+                rules = team.getRules();
+            }
+
+            List<Player> seats = rules.getSeats();
+            GameState snapshot = GameState.of(seats, rules.getCenterDeck(), teams, Collections.emptyList(), 0);
+            BeliefTracker beliefs = new BeliefTracker(seats.get(0), seats, rules.getCenterDeck());
+            Determinizer determinizer = new Determinizer(snapshot, 0, seats, beliefs);
+            checkKeys(determinizer.getTemplate(), determinizer.newState(), "position de départ");
+
+            SearchState state = determinizer.newState();
+            SearchState previous = determinizer.newState();
+            SearchState scratch = determinizer.newState();
+            determinizer.sample(state, random, new int[16]);
+            int[] legal = new int[SearchState.MAX_ACTIONS];
+
+            for (int turn = 0; state.winner() < 0 && turn < 1000; turn++) {
+                int n = state.legalActions(legal);
+                if (n == 0) {
+                    break;
+                }
+                int action = legal[random.nextInt(n)];
+                previous.copyFrom(state);
+                state.apply(action, random);
+                moves++;
+                checkKeys(state, scratch, "après le coup " + Integer.toHexString(action));
+
+                if (random.nextInt(4) == 0) {
+                    long hash = previous.hash;
+                    long infoHash = previous.infoHash;
+                    state.copyFrom(previous);
+                    undos++;
+                    checkKeys(state, scratch, "après retour en arrière");
+                    check(state.hash == hash && state.infoHash == infoHash, "retour en arrière : clés changées");
+                }
+            }
+        }
+        System.out.println("Zobrist : " + moves + " coups, " + undos + " retours en arrière, clés exactes");
+    }
+
+    /**
+     * Compare les clés tenues à jour de state à celles recalculées sur une
+     * copie
+     */
+    private static void checkKeys(SearchState state, SearchState scratch, String where) {
+        scratch.copyFrom(state);
+        scratch.rehash();
+        check(scratch.hash == state.hash, "hash faux " + where);
+        check(scratch.infoHash == state.infoHash, "infoHash faux " + where);
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
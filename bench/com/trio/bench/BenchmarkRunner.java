@@ -0,0 +1,177 @@
+package com.trio.bench;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mini-harnais de micro-benchmarks sans dépendance externe (le projet est
+ * compilé directement avec javac).
+ * Pour chaque opération : itérations de chauffe puis de mesure à durée fixe,
+ * temps moyen par opération, octets alloués par opération (équivalent du
+ * gc.alloc.rate.norm du profileur GC de JMH) et activité du GC.
+ * Les résultats peuvent être sauvegardés puis comparés à une référence.
+ */
+public class BenchmarkRunner {
+
+    /** Opération mesurée ; la valeur retournée est consommée pour éviter l'élimination du code */
+    public interface Operation {
+        long run();
+    }
+
+    private static volatile long sink;
+
+    private final int warmupIterations;
+    private final int measureIterations;
+    private final long iterationNanos;
+    private final String filter;
+    private final Map<String, double[]> results; // nom -> {ns/op, octets/op}
+    private final com.sun.management.ThreadMXBean threadBean;
+
+    // Constructeurs
+    public BenchmarkRunner(int warmupIterations, int measureIterations, long iterationMillis, String filter) {
+        this.warmupIterations = warmupIterations;
+        this.measureIterations = measureIterations;
+        this.iterationNanos = iterationMillis * 1_000_000L;
+        this.filter = filter;
+        this.results = new LinkedHashMap<>();
+        this.threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        this.threadBean.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    // Getters
+    public Map<String, double[]> getResults() {
+        return results;
+    }
+
+    // Méthodes Métier
+
+    /**
+     * Mesure une opération si son nom correspond au filtre
+     */
+    public void run(String name, Operation operation) {
+        if (filter != null && !name.contains(filter)) {
+            return;
+        }
+
+        for (int i = 0; i < warmupIterations; i++) {
+            iteration(operation);
+        }
+
+        long totalOps = 0;
+        long totalNanos = 0;
+        long totalBytes = 0;
+        double minNsPerOp = Double.MAX_VALUE;
+        double maxNsPerOp = 0;
+        long gcCountBefore = gcCount();
+        long gcTimeBefore = gcTime();
+
+        for (int i = 0; i < measureIterations; i++) {
+            long[] it = iteration(operation);
+            totalOps += it[0];
+            totalNanos += it[1];
+            totalBytes += it[2];
+            double nsPerOp = (double) it[1] / it[0];
+            minNsPerOp = Math.min(minNsPerOp, nsPerOp);
+            maxNsPerOp = Math.max(maxNsPerOp, nsPerOp);
+        }
+
+        double nsPerOp = (double) totalNanos / totalOps;
+        double bytesPerOp = (double) totalBytes / totalOps;
+        double allocMbPerSec = totalBytes / (totalNanos / 1e9) / (1024 * 1024);
+        results.put(name, new double[] { nsPerOp, bytesPerOp });
+
+        System.out.printf("%-40s %14.1f ns/op  [%.1f .. %.1f]  %10.1f B/op  %8.1f MB/s  gc: %d (%d ms)%n",
+                name, nsPerOp, minNsPerOp, maxNsPerOp, bytesPerOp, allocMbPerSec,
+                gcCount() - gcCountBefore, gcTime() - gcTimeBefore);
+    }
+
+    /**
+     * Une itération : exécute l'opération par lots jusqu'à la durée cible
+     *
+     * @return {opérations, nanosecondes, octets alloués}
+     */
+    private long[] iteration(Operation operation) {
+        long ops = 0;
+        long batch = 1;
+        long acc = 0;
+        long bytesBefore = threadBean.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        long elapsed;
+
+        do {
+            for (long i = 0; i < batch; i++) {
+                acc += operation.run();
+            }
+            ops += batch;
+            elapsed = System.nanoTime() - start;
+            if (elapsed < iterationNanos / 100) {
+                batch *= 2; // Lots plus grands pour réduire le coût de System.nanoTime
+            }
+        } while (elapsed < iterationNanos);
+
+        long bytes = threadBean.getCurrentThreadAllocatedBytes() - bytesBefore;
+        sink += acc;
+        return new long[] { ops, elapsed, bytes };
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static long gcTime() {
+        long time = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            time += Math.max(0, gc.getCollectionTime());
+        }
+        return time;
+    }
+
+    // === Référence (baseline) ===
+
+    /**
+     * Sauvegarde les résultats au format CSV (nom;ns/op;octets/op)
+     */
+    public void save(Path file) throws IOException {
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+            for (Map.Entry<String, double[]> e : results.entrySet()) {
+                writer.printf(java.util.Locale.ROOT, "%s;%.3f;%.3f%n", e.getKey(), e.getValue()[0], e.getValue()[1]);
+            }
+        }
+    }
+
+    /**
+     * Compare les résultats à une référence sauvegardée précédemment
+     */
+    public void compare(Path baselineFile) throws IOException {
+        List<String> lines = Files.readAllLines(baselineFile, StandardCharsets.UTF_8);
+        System.out.println();
+        System.out.println("Comparaison avec " + baselineFile + " :");
+        for (String line : lines) {
+            String[] parts = line.split(";");
+            if (parts.length != 3 || !results.containsKey(parts[0])) {
+                continue;
+            }
+            double baseNs = Double.parseDouble(parts[1]);
+            double baseBytes = Double.parseDouble(parts[2]);
+            double[] current = results.get(parts[0]);
+            System.out.printf("%-40s temps %+7.1f%%   allocations %+7.1f%%%n",
+                    parts[0], percent(baseNs, current[0]), percent(baseBytes, current[1]));
+        }
+    }
+
+    private static double percent(double base, double current) {
+        return base == 0 ? 0.0 : 100.0 * (current - base) / base;
+    }
+}
@@ -0,0 +1,228 @@
+package com.trio.bench;
+
+import com.trio.ai.SearchBot;
+import com.trio.model.*;
+import com.trio.sim.GameSimulator;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Suites de benchmarks du jeu Trio : Deck, DrawPile, Bot, SearchBot,
+ * TeamGame, coups légaux et parties complètes sans affichage.
+ *
+ * Compilation et lancement depuis la racine du projet :
+ * 
+ * <pre>
+ * javac -d out -sourcepath src;bench bench/com/trio/bench/TrioBenchmarks.java
+ * java -cp out com.trio.bench.TrioBenchmarks [filtre] [--save=fichier.csv] [--baseline=fichier.csv] [--quick]
+ * </pre>
+ * 
+ * (séparateur ':' au lieu de ';' sous Linux/macOS)
+ */
+public class TrioBenchmarks {
+
+    public static void main(String[] args) throws Exception {
+        String filter = null;
+        Path save = null;
+        Path baseline = null;
+        boolean quick = false;
+
+        for (String arg : args) {
+            if (arg.startsWith("--save=")) {
+                save = Path.of(arg.substring("--save=".length()));
+            } else if (arg.startsWith("--baseline=")) {
+                baseline = Path.of(arg.substring("--baseline=".length()));
+            } else if (arg.equals("--quick")) {
+                quick = true;
+            } else {
+                filter = arg;
+            }
+        }
+
+        BenchmarkRunner runner = quick
+                ? new BenchmarkRunner(1, 3, 200, filter)
+                : new BenchmarkRunner(5, 10, 1000, filter);
+
+        deckBenchmarks(runner);
+        drawPileBenchmarks(runner);
+        botBenchmarks(runner);
+        teamGameBenchmarks(runner);
+        moveBenchmarks(runner);
+        rulesBenchmarks(runner);
+        gameBenchmarks(runner);
+
+        if (save != null) {
+            runner.save(save);
+            System.out.println("Résultats sauvegardés dans " + save);
+        }
+        if (baseline != null) {
+            runner.compare(baseline);
+        }
+    }
+
+    // === Deck ===
+
+    private static void deckBenchmarks(BenchmarkRunner runner) {
+        Deck hand = dealtSoloGame(4).getPlayers().get(0).getDeck();
+        hand.getCard(0).setVisible(); // Une carte déjà révélée, comme en cours de tour
+
+        runner.run("Deck.getLowCard", () -> hand.getLowCard().getValue());
+        runner.run("Deck.getHighCard", () -> hand.getHighCard().getValue());
+
+        DrawPile drawPile = loadedDrawPile();
+        Deck full = drawPile.getDeck();
+        runner.run("Deck.sort (36, trié)", () -> {
+            full.sort();
+            return full.getSize();
+        });
+        runner.run("Deck.shuffle+sort (36)", () -> {
+            full.shuffle();
+            full.sort();
+            return full.getSize();
+        });
+    }
+
+    // === DrawPile ===
+
+    private static void drawPileBenchmarks(BenchmarkRunner runner) {
+        runner.run("DrawPile.createDefaultCards", () -> loadedDrawPile().getDeck().getSize());
+
+        for (int nbPlayers : new int[] { 2, 4, 6 }) {
+            runner.run("DrawPile.distributeToPlayers (" + nbPlayers + ")", () -> {
+                SoloGame game = dealtSoloGame(nbPlayers);
+                return game.getCenterDeck().getSize();
+            });
+        }
+    }
+
+    // === Bot ===
+
+    private static void botBenchmarks(BenchmarkRunner runner) {
+        SoloGame game = dealtSoloGame(4);
+        Bot bot = (Bot) game.getPlayers().get(0);
+        List<RevealedCard> noReveal = new ArrayList<>();
+
+        runner.run("Bot.chooseBotAction (début)", () -> bot.chooseBotAction(noReveal, game.getPlayers(),
+                game.getCenterDeck()));
+
+        // Une carte d'un adversaire révélée : le Bot cherche la même valeur
+        game.revealLowestCardFromPlayer(game.getPlayers().get(1));
+        runner.run("Bot.chooseBotAction (1 révélée)", () -> bot.chooseBotAction(game.getRevealedCards(),
+                game.getPlayers(), game.getCenterDeck()));
+
+        // Recherche à budget fixe (200 simulations, un fil)
+        List<Player> players = bots(4);
+        SearchBot searchBot = new SearchBot("Recherche", 0, 200, 1);
+        players.set(0, searchBot);
+        SoloGame searchGame = new SoloGame(players, new Deck());
+        searchGame.distributeCards(loadedDrawPile());
+        runner.run("SearchBot.chooseBotAction (200 simulations)", () -> searchBot.chooseBotAction(noReveal,
+                searchGame.getPlayers(), searchGame.getCenterDeck()));
+    }
+
+    // === TeamGame ===
+
+    private static void teamGameBenchmarks(BenchmarkRunner runner) {
+        TeamGame game = dealtTeamGame(2);
+        Team team = game.getTeams().get(0);
+        Player a = team.getPlayer(0);
+        Player b = team.getPlayer(1);
+
+        runner.run("TeamGame.performExchange", () -> game.performExchange(a, 0, b, b.getDeck().getSize() - 1)
+                ? 1
+                : 0);
+    }
+
+    // === Coups légaux ===
+
+    private static void moveBenchmarks(BenchmarkRunner runner) {
+        SoloGame solo = dealtSoloGame(4);
+        int[] soloMoves = new int[Move.capacity(4, solo.getPlayers().get(0).getDeck().getSize(),
+                solo.getCenterDeck().getSize())];
+        runner.run("SoloGame.legalMoves (4)", () -> solo.legalMoves(soloMoves));
+
+        // Début de tour en équipe : chaque échange possible avec le coéquipier
+        TeamGame team = dealtTeamGame(2);
+        int[] teamMoves = new int[Move.capacity(4, team.getPlayOrder().get(0).getDeck().getSize(), 0)];
+        runner.run("TeamGame.legalMoves (2x2, échanges)", () -> team.legalMoves(teamMoves));
+    }
+
+    // === Noyau des règles ===
+
+    private static void rulesBenchmarks(BenchmarkRunner runner) {
+        // Tour complet sans trio : coups légaux, deux révélations, échec et
+        // joueur suivant ; la table revient à l'identique
+        Rules solo = dealtSoloGame(4).getRules();
+        int[] soloMoves = new int[Move.capacity(4, solo.getCurrentPlayer().getDeck().getSize(),
+                solo.getCenterDeck().getSize())];
+        runner.run("Rules: tour sans trio (Solo, 4)", () -> failedTurn(solo, soloMoves));
+
+        Rules team = dealtTeamGame(2).getRules();
+        int[] teamMoves = new int[Move.capacity(4, team.getCurrentPlayer().getDeck().getSize(), 0)];
+        runner.run("Rules: tour sans trio (équipe 2x2)", () -> failedTurn(team, teamMoves));
+    }
+
+    private static int failedTurn(Rules rules, int[] moves) {
+        int count = 0;
+        for (int k = 0; k < 2; k++) {
+            count += rules.legalMoves(moves);
+            rules.play(moves[0]);
+        }
+        return rules.endTurn() ? -count : count;
+    }
+
+    // === Parties complètes ===
+
+    private static void gameBenchmarks(BenchmarkRunner runner) {
+        GameSimulator simulator = new GameSimulator();
+
+        for (int nbPlayers : new int[] { 2, 4, 6 }) {
+            runner.run("Partie Solo sans affichage (" + nbPlayers + ")",
+                    () -> simulator.playSolo(bots(nbPlayers)).getTurns());
+        }
+        for (int nbTeams : new int[] { 2, 3 }) {
+            runner.run("Partie Équipe sans affichage (" + nbTeams + "x2)",
+                    () -> simulator.playTeam(botTeams(nbTeams)).getTurns());
+        }
+    }
+
+    // === Fixtures ===
+
+    private static DrawPile loadedDrawPile() {
+        DrawPile drawPile = new DrawPile();
+        drawPile.setVerbose(false);
+        drawPile.createDefaultCards();
+        return drawPile;
+    }
+
+    private static List<Player> bots(int nbPlayers) {
+        List<Player> players = new ArrayList<>(nbPlayers);
+        for (int i = 1; i <= nbPlayers; i++) {
+            players.add(new Bot("Bot" + i));
+        }
+        return players;
+    }
+
+    private static List<Team> botTeams(int nbTeams) {
+        List<Team> teams = new ArrayList<>(nbTeams);
+        for (int i = 0; i < nbTeams; i++) {
+            teams.add(new Team("Équipe " + (char) ('A' + i), new Bot("Bot" + (2 * i + 1)),
+                    new Bot("Bot" + (2 * i + 2))));
+        }
+        return teams;
+    }
+
+    private static SoloGame dealtSoloGame(int nbPlayers) {
+        SoloGame game = new SoloGame(bots(nbPlayers), new Deck());
+        game.distributeCards(loadedDrawPile());
+        return game;
+    }
+
+    private static TeamGame dealtTeamGame(int nbTeams) {
+        TeamGame game = new TeamGame(botTeams(nbTeams), new Deck());
+        game.distributeCards(loadedDrawPile());
+        return game;
+    }
+}
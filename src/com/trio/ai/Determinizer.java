@@ -0,0 +1,329 @@
+package com.trio.ai;
+
+import com.trio.model.*;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Tire des parties complètes compatibles avec ce que le Bot a vu.
+ *
+ * La table est lue dans une photo de la partie (GameState) plutôt que dans
+ * les joueurs et decks en cours : la partie peut continuer à changer
+ * pendant la recherche.
+ *
+ * Le modèle fixe ce qui est certain (sa main, les cartes visibles, les
+ * valeurs retenues par sa mémoire) ; les autres emplacements reçoivent les
+ * exemplaires restants en respectant les valeurs encore possibles de
+ * chacun, puis chaque suite d'inconnues d'une main est triée entre ses
+ * cartes connues pour garder les mains ordonnées. Lecture seule après
+ * construction : partagé par tous les fils de recherche.
+ */
+final class Determinizer {
+
+    // Attributs
+    private static final int NB_VALUES = 16;
+
+    private final SearchState template; // Emplacements inconnus à 0
+    private final int seat; // Siège du Bot
+    private final int[] unknown; // Par siège : bits des emplacements à tirer
+    private final int[] slotSeat; // Emplacements à tirer, du plus contraint au moins contraint (-1 = centre)
+    private final int[] slotIndex;
+    private final int[] slotMask;
+    private final int[] pool; // Exemplaires à placer, par valeur
+
+    // Constructeurs
+
+    /**
+     * @param state  photo de la table au moment de choisir
+     * @param seat   siège du Bot dans la photo
+     * @param seats  joueurs de la photo, dans l'ordre des sièges (clés de la
+     *               mémoire du Bot)
+     */
+    Determinizer(GameState state, int seat, List<Player> seats, BeliefTracker beliefs) {
+        int nbSeats = state.getSeatCount();
+        this.seat = seat;
+
+        int[] holderOf = new int[nbSeats];
+        for (int s = 0; s < nbSeats; s++) {
+            holderOf[s] = state.getHolderOf(s);
+        }
+        boolean teamMode = state.getHolderCount() < nbSeats; // Un trio compte pour toute l'équipe
+        int maxHand = 1;
+        for (int s = 0; s < nbSeats; s++) {
+            maxHand = Math.max(maxHand, state.getHandSize(s));
+        }
+        int centerSize = state.getCenterSize();
+        this.template = new SearchState(holderOf, state.getHolderCount(), teamMode, maxHand, Math.max(1, centerSize));
+        this.unknown = new int[nbSeats];
+
+        // Composition restante (publique) : tout ce qui n'a pas fini en trio
+        this.pool = new int[NB_VALUES];
+        for (int s = 0; s < nbSeats; s++) {
+            for (int i = 0; i < state.getHandSize(s); i++) {
+                pool[state.getCard(s, i).getValue()]++;
+            }
+        }
+        for (int i = 0; i < centerSize; i++) {
+            pool[state.getCenterCard(i).getValue()]++;
+        }
+
+        int[] seatsTmp = new int[maxHand * nbSeats + centerSize];
+        int[] indexTmp = new int[seatsTmp.length];
+        int[] maskTmp = new int[seatsTmp.length];
+        int nbUnknown = 0;
+        for (int s = 0; s < nbSeats; s++) {
+            Player p = seats.get(s);
+            int size = state.getHandSize(s);
+            boolean tracked = beliefs != null && beliefs.getHandSize(p) == size;
+            template.sizes[s] = size;
+            for (int i = 0; i < size; i++) {
+                int value = state.getCard(s, i).getValue();
+                boolean visible = state.isVisible(s, i);
+                int mask = s == seat || visible ? 1 << value : tracked ? beliefs.getMask(p, i) : allValues(pool);
+                if (visible) {
+                    template.visible[s] |= 1 << i;
+                }
+                if (Integer.bitCount(mask) == 1) {
+                    value = Integer.numberOfTrailingZeros(mask);
+                    template.hands[s][i] = value;
+                    pool[value]--;
+                    if (s != seat || visible) {
+                        template.known[s] |= 1 << i;
+                    }
+                } else {
+                    unknown[s] |= 1 << i;
+                    seatsTmp[nbUnknown] = s;
+                    indexTmp[nbUnknown] = i;
+                    maskTmp[nbUnknown++] = mask;
+                }
+            }
+        }
+        boolean centerTracked = beliefs != null && beliefs.getCenterSize() == centerSize;
+        template.centerSize = centerSize;
+        for (int i = 0; i < centerSize; i++) {
+            boolean visible = state.isCenterVisible(i);
+            int mask = visible ? 1 << state.getCenterCard(i).getValue()
+                    : centerTracked ? beliefs.getCenterMask(i) : allValues(pool);
+            if (visible) {
+                template.centerVisible |= 1 << i;
+            }
+            if (Integer.bitCount(mask) == 1) {
+                int value = Integer.numberOfTrailingZeros(mask);
+                template.center[i] = value;
+                pool[value]--;
+                template.centerKnown |= 1 << i;
+            } else {
+                seatsTmp[nbUnknown] = -1;
+                indexTmp[nbUnknown] = i;
+                maskTmp[nbUnknown++] = mask;
+            }
+        }
+        for (int v = 0; v < NB_VALUES; v++) {
+            pool[v] = Math.max(0, pool[v]);
+        }
+
+        // Les emplacements les plus contraints sont servis en premier
+        Integer[] order = new Integer[nbUnknown];
+        for (int k = 0; k < nbUnknown; k++) {
+            order[k] = k;
+        }
+        Arrays.sort(order, (a, b) -> Integer.bitCount(maskTmp[a]) - Integer.bitCount(maskTmp[b]));
+        this.slotSeat = new int[nbUnknown];
+        this.slotIndex = new int[nbUnknown];
+        this.slotMask = new int[nbUnknown];
+        for (int k = 0; k < nbUnknown; k++) {
+            slotSeat[k] = seatsTmp[order[k]];
+            slotIndex[k] = indexTmp[order[k]];
+            slotMask[k] = maskTmp[order[k]];
+        }
+
+        // Trios déjà gagnés et tour en cours
+        for (int h = 0; h < template.nbHolders; h++) {
+            template.trios[h] = state.getTrioCount(h);
+            if (state.hasSevenTrio(h)) {
+                template.sevenMask |= 1 << h;
+            }
+        }
+        template.current = Math.max(0, seat);
+        template.observer = template.current;
+        template.exchangeUsed = state.isExchangeUsed();
+        for (int k = 0; k < state.getRevealedCount(); k++) {
+            if (template.revealedCount == 0) {
+                template.revealedValue = state.getRevealedCard(k).getValue();
+            }
+            template.revealedSeat[template.revealedCount] = state.getRevealedSeat(k);
+            template.revealedSlot[template.revealedCount++] = state.getRevealedSlot(k);
+        }
+        template.rehash();
+    }
+
+    // Getters
+    int getSeat() {
+        return seat;
+    }
+
+    /**
+     * Position de départ, emplacements inconnus à 0 (lecture seule)
+     */
+    SearchState getTemplate() {
+        return template;
+    }
+
+    SearchState newState() {
+        return new SearchState(template.holderOf, template.nbHolders, template.teamMode,
+                template.hands[0].length, template.center.length);
+    }
+
+    private static int allValues(int[] counts) {
+        int mask = 0;
+        for (int v = 0; v < NB_VALUES; v++) {
+            if (counts[v] > 0) {
+                mask |= 1 << v;
+            }
+        }
+        return mask;
+    }
+
+    // Méthodes Métier
+
+    /**
+     * Écrit dans into une partie tirée au hasard
+     *
+     * @param counts tableau de travail de 16 cases (un par fil)
+     */
+    void sample(SearchState into, SplittableRandom random, int[] counts) {
+        into.copyFrom(template);
+        System.arraycopy(pool, 0, counts, 0, NB_VALUES);
+        int available = allValues(counts);
+
+        for (int k = 0; k < slotMask.length; k++) {
+            int candidates = slotMask[k] & available;
+            if (candidates == 0) {
+                candidates = available; // Mémoire incohérente : on prend ce qui reste
+            }
+            int value;
+            if (candidates == 0) {
+                value = Integer.numberOfTrailingZeros(slotMask[k]);
+            } else {
+                int total = 0;
+                for (int m = candidates; m != 0; m &= m - 1) {
+                    total += counts[Integer.numberOfTrailingZeros(m)];
+                }
+                int pick = random.nextInt(total);
+                value = Integer.numberOfTrailingZeros(candidates);
+                for (int m = candidates; m != 0; m &= m - 1) {
+                    value = Integer.numberOfTrailingZeros(m);
+                    pick -= counts[value];
+                    if (pick < 0) {
+                        break;
+                    }
+                }
+                if (--counts[value] == 0) {
+                    available &= ~(1 << value);
+                }
+            }
+            if (slotSeat[k] < 0) {
+                into.center[slotIndex[k]] = value;
+            } else {
+                into.hands[slotSeat[k]][slotIndex[k]] = value;
+            }
+        }
+
+        // Chaque suite d'inconnues est triée entre ses voisines connues
+        for (int s = 0; s < into.nbSeats; s++) {
+            int mask = unknown[s];
+            while (mask != 0) {
+                int from = Integer.numberOfTrailingZeros(mask);
+                int to = from + Integer.numberOfTrailingZeros(~(mask >>> from));
+                SearchState.sort(into.hands[s], from, to);
+                mask &= ~((1 << to) - 1);
+            }
+        }
+        into.rehash();
+    }
+
+    /**
+     * Énumère toutes les parties compatibles, chacune avec son poids : le
+     * nombre de donnes qui y mènent, à un facteur commun près (une main
+     * étant un ensemble trié, 1 / produit des factorielles des exemplaires
+     * de chaque valeur dans chaque main)
+     *
+     * @return nombre de parties écrites dans states et weights, -1 s'il y en
+     *         a plus que states.length
+     */
+    int enumerate(SearchState[] states, double[] weights) {
+        // Main par main et position par position, le centre en dernier
+        Integer[] order = new Integer[slotMask.length];
+        for (int k = 0; k < order.length; k++) {
+            order[k] = k;
+        }
+        Arrays.sort(order, (a, b) -> slotSeat[a] != slotSeat[b]
+                ? Integer.compareUnsigned(slotSeat[a], slotSeat[b])
+                : slotIndex[a] - slotIndex[b]);
+        SearchState work = newState();
+        work.copyFrom(template);
+        return fill(0, order, work, pool.clone(), states, weights, 0);
+    }
+
+    private int fill(int k, Integer[] order, SearchState work, int[] counts, SearchState[] states, double[] weights,
+            int found) {
+        if (k == order.length) {
+            if (!sorted(work)) {
+                return found;
+            }
+            if (found == states.length) {
+                return -1;
+            }
+            if (states[found] == null) {
+                states[found] = newState();
+            }
+            SearchState state = states[found];
+            state.copyFrom(work);
+            state.rehash();
+            double weight = 1;
+            for (int s = 0; s < state.nbSeats; s++) {
+                for (int v = 0; v < NB_VALUES; v++) {
+                    for (int c = 2; c <= state.counts[s][v]; c++) {
+                        weight /= c;
+                    }
+                }
+            }
+            weights[found] = weight;
+            return found + 1;
+        }
+        int j = order[k];
+        int s = slotSeat[j];
+        int i = slotIndex[j];
+        int min = s >= 0 && i > 0 ? work.hands[s][i - 1] : 0; // Main triée : jamais moins que la voisine
+        for (int m = slotMask[j]; m != 0; m &= m - 1) {
+            int value = Integer.numberOfTrailingZeros(m);
+            if (value < min || counts[value] == 0) {
+                continue;
+            }
+            counts[value]--;
+            if (s < 0) {
+                work.center[i] = value;
+            } else {
+                work.hands[s][i] = value;
+            }
+            found = fill(k + 1, order, work, counts, states, weights, found);
+            counts[value]++;
+            if (found < 0) {
+                return -1;
+            }
+        }
+        return found;
+    }
+
+    private static boolean sorted(SearchState state) {
+        for (int s = 0; s < state.nbSeats; s++) {
+            for (int i = 1; i < state.sizes[s]; i++) {
+                if (state.hands[s][i] < state.hands[s][i - 1]) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
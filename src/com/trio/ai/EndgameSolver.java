@@ -0,0 +1,541 @@
+package com.trio.ai;
+
+import com.trio.model.Move;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Résolution exacte des finales du mode Solo, quand il reste au plus
+ * trio.ai.endgameCards cartes en jeu (15 par défaut ; 21 au plus à 3
+ * joueurs, 18 à 4 ou 5, 15 à 6).
+ *
+ * Le tour du Bot est résolu par expectimax : chaque action est notée sur
+ * toutes les parties compatibles avec ce qu'il sait (Determinizer),
+ * pondérées par le nombre de donnes qui y mènent, et chaque carte montrée
+ * sépare ces parties selon sa valeur. Une fois la main passée, la suite est
+ * lue dans une table de finales à information complète, où chacun joue
+ * pour sa propre victoire (on suppose qu'à ce stade les cartes restantes
+ * sont connues de tous). Ces finales sont mémorisées dans EndgameTable.
+ *
+ * Une finale est décrite à un renommage près : valeurs restantes remplacées
+ * par leur rang (le 7 est repéré à part), places comptées depuis le joueur
+ * au trait, centre vu comme un ensemble (toutes ses cartes sont
+ * accessibles). Chaque valeur restante doit compter trois exemplaires.
+ */
+final class EndgameSolver {
+
+    // Attributs
+    static final int MAX_CARDS = Integer.getInteger("trio.ai.endgameCards", 15);
+    /** Résultat d'une finale où personne ne peut plus gagner */
+    static final int DRAW = 6;
+
+    private static final int KEY_BITS = 60; // La table garde 4 bits pour le résultat
+    private static final int HEADER_BITS = 21;
+    private static final int NO_SEVEN = 7;
+    private static final int MAX_COMPLETIONS = 4096;
+    private static final int MAX_NODES = 500_000; // États visités au-delà desquels on renonce
+
+    private final EndgameTable table;
+    private final SplittableRandom random = new SplittableRandom(0); // Inutilisé hors échange (mode équipe)
+    private Determinizer determinizer;
+    private int me;
+    private int nodes;
+
+    // Constructeurs
+    EndgameSolver(EndgameTable table) {
+        this.table = table;
+    }
+
+    // Méthodes Métier
+
+    /**
+     * Cartes encore en jeu (mains et centre) si la position peut être
+     * résolue par ce solveur, -1 sinon ; ne touche pas à la table
+     */
+    static int cardsLeft(SearchState state) {
+        if (state.teamMode || state.nbSeats > Zobrist.MAX_SEATS) {
+            return -1;
+        }
+        int cards = state.centerSize;
+        for (int s = 0; s < state.nbSeats; s++) {
+            cards += state.sizes[s];
+        }
+        return cards > 0 && cards <= Math.min(MAX_CARDS, 3 * maxRanks(state.nbSeats)) ? cards : -1;
+    }
+
+    /**
+     * Meilleure action du Bot dans une finale
+     *
+     * @return l'action codée (voir SearchState), -1 si la position n'est pas
+     *         une finale que le solveur sait résoudre
+     */
+    int solve(Determinizer determinizer) {
+        SearchState[] states = new SearchState[MAX_COMPLETIONS];
+        double[] weights = new double[MAX_COMPLETIONS];
+        int count = determinizer.enumerate(states, weights);
+        if (count <= 0 || key(states[0]) < 0) {
+            return -1;
+        }
+        this.determinizer = determinizer;
+        this.me = determinizer.getSeat();
+        this.nodes = 0;
+        int[] best = { -1 };
+        decide(states, weights, count, best);
+        return nodes > MAX_NODES ? -1 : best[0];
+    }
+
+    // ===== TOUR DU BOT : EXPECTIMAX SUR LES PARTIES POSSIBLES =====
+
+    /**
+     * Valeur (somme pondérée des chances de gagner) de la meilleure action
+     * pour un ensemble de parties que le Bot ne sait pas distinguer
+     */
+    private double decide(SearchState[] members, double[] weights, int count, int[] best) {
+        int[] legal = new int[SearchState.MAX_ACTIONS];
+        int n = members[0].legalActions(legal);
+        double bestValue = -1;
+        for (int k = 0; k < n && nodes <= MAX_NODES; k++) {
+            SearchState[] children = new SearchState[count];
+            int[] seen = new int[count];
+            for (int i = 0; i < count; i++) {
+                children[i] = determinizer.newState();
+                children[i].copyFrom(members[i]);
+                seen[i] = children[i].apply(legal[k], random);
+            }
+            nodes += count;
+
+            // Les parties se séparent selon la carte montrée
+            double value = 0;
+            for (int v = 0; v <= SearchState.NO_CARD; v++) {
+                int size = 0;
+                for (int i = 0; i < count; i++) {
+                    if (seen[i] == v) {
+                        size++;
+                    }
+                }
+                if (size == 0) {
+                    continue;
+                }
+                SearchState[] group = new SearchState[size];
+                double[] groupWeights = new double[size];
+                size = 0;
+                for (int i = 0; i < count; i++) {
+                    if (seen[i] == v) {
+                        group[size] = children[i];
+                        groupWeights[size++] = weights[i];
+                    }
+                }
+                if (group[0].winner() >= 0 || group[0].current != me) {
+                    for (int i = 0; i < size; i++) {
+                        value += groupWeights[i] * outcome(group[i]);
+                    }
+                } else if (size == 1) {
+                    value += groupWeights[0] * known(group[0]);
+                } else {
+                    value += decide(group, groupWeights, size, null);
+                }
+            }
+            if (value > bestValue) {
+                bestValue = value;
+                if (best != null) {
+                    best[0] = legal[k];
+                }
+            }
+        }
+        return bestValue;
+    }
+
+    /**
+     * Tour du Bot dans une partie qu'il connaît entièrement : finir le trio
+     * commencé si c'est possible, ou passer la main
+     */
+    private double known(SearchState state) {
+        if (state.revealedCount == 0) {
+            return outcome(state);
+        }
+        SearchState pass = determinizer.newState();
+        pass.copyFrom(state);
+        pass.apply(SearchState.STOP, random);
+        double value = outcome(pass);
+
+        SearchState trio = determinizer.newState();
+        trio.copyFrom(state);
+        while (trio.revealedCount > 0 && trio.current == me) {
+            int action = matching(trio);
+            if (action < 0) {
+                return value;
+            }
+            trio.apply(action, random);
+        }
+        return Math.max(value, trio.winner() >= 0 ? outcome(trio) : known(trio));
+    }
+
+    /**
+     * Action qui retourne une carte de la valeur du tour, -1 s'il n'y en a
+     * aucune d'accessible
+     */
+    private static int matching(SearchState state) {
+        int target = state.revealedValue;
+        for (int s = 0; s < state.nbSeats; s++) {
+            int low = state.lowSlot(s);
+            if (low < 0) {
+                continue;
+            }
+            boolean own = s == state.current;
+            if (state.hands[s][low] == target) {
+                return own ? SearchState.OWN_MIN : Move.of(SearchState.OTHER_MIN, s);
+            }
+            if (state.hands[s][state.highSlot(s)] == target) {
+                return own ? SearchState.OWN_MAX : Move.of(SearchState.OTHER_MAX, s);
+            }
+        }
+        for (int i = 0; i < state.centerSize; i++) {
+            if ((state.centerVisible & (1 << i)) == 0 && state.center[i] == target) {
+                return Move.of(SearchState.CENTER, i);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Chance de gagner du Bot en début de tour (ou partie finie), d'après la
+     * table des finales à information complète
+     */
+    private double outcome(SearchState state) {
+        int winner = state.winner();
+        if (winner >= 0) {
+            return winner == state.holderOf[me] ? 1 : 0;
+        }
+        int result = winner(key(state));
+        if (result == DRAW) {
+            return 1.0 / state.nbSeats;
+        }
+        return (result + state.current) % state.nbSeats == me ? 1 : 0;
+    }
+
+    // ===== FINALES À INFORMATION COMPLÈTE =====
+
+    /**
+     * Gagnant d'une finale (place comptée depuis le joueur au trait), DRAW
+     * si personne ne peut gagner
+     */
+    int winner(long key) {
+        int result = table.lookup(key);
+        return result >= 0 ? result : solveRotations(Position.decode(key));
+    }
+
+    /**
+     * Résout une finale pour chaque joueur au trait possible : passer la main
+     * mène à la même finale, le suivant au trait. Un joueur qui peut gagner
+     * par ses trios le fait ; en remontant le tour de table depuis lui,
+     * chacun choisit entre son meilleur trio et passer. Si personne ne peut
+     * gagner, tout le monde passe : partie nulle.
+     *
+     * @return le résultat pour le joueur au trait de position
+     */
+    private int solveRotations(Position position) {
+        int n = position.seats;
+        long[] keys = new long[n];
+        int[] option = new int[n]; // Gagnant (place absolue) du meilleur trio de chacun, -1 sans trio
+        int start = -1;
+        for (int m = 0; m < n; m++) {
+            Position rotated = position.rotate(m);
+            keys[m] = rotated.encode();
+            int result = bestTrio(rotated);
+            option[m] = result < 0 || result == DRAW ? result : (result + m) % n;
+            if (start < 0 && option[m] == m) {
+                start = m;
+            }
+        }
+
+        int[] results = new int[n];
+        if (start < 0) {
+            Arrays.fill(results, DRAW);
+        } else {
+            results[start] = start;
+            for (int j = 1; j < n; j++) {
+                int m = (start - j + n) % n;
+                int pass = results[(m + 1) % n];
+                results[m] = option[m] >= 0 && utility(option[m], m) > utility(pass, m) ? option[m] : pass;
+            }
+        }
+        for (int m = 0; m < n; m++) {
+            table.store(keys[m], results[m] == DRAW ? DRAW : (results[m] - m + n) % n);
+        }
+        return results[0];
+    }
+
+    /**
+     * Meilleur trio du joueur au trait (place 0), -1 s'il n'en a aucun
+     */
+    private int bestTrio(Position position) {
+        int best = -1;
+        for (int r = 0; r < position.ranks; r++) {
+            if (reachable(position, r) < 3) {
+                continue;
+            }
+            if (position.needs[0] == 1 || r == position.seven) {
+                return 0;
+            }
+            int result = winner(position.without(r).encode());
+            if (best < 0 || utility(result, 0) > utility(best, 0)) {
+                best = result;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Exemplaires du rang r que le joueur au trait peut retourner à la
+     * suite : ceux du centre, et ceux des mains dont r est la plus petite ou
+     * la plus grande carte
+     */
+    private static int reachable(Position position, int r) {
+        int count = 0;
+        for (int c = 0; c < 3; c++) {
+            int bin = position.bins[r][c];
+            if (bin == position.seats) {
+                count++;
+                continue;
+            }
+            boolean lowest = true;
+            boolean highest = true;
+            for (int o = 0; o < position.ranks; o++) {
+                for (int d = 0; d < 3; d++) {
+                    if (position.bins[o][d] == bin) {
+                        lowest &= o >= r;
+                        highest &= o <= r;
+                    }
+                }
+            }
+            if (lowest || highest) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static int utility(int result, int seat) {
+        return result == seat ? 2 : result == DRAW ? 1 : 0;
+    }
+
+    /**
+     * Résout toutes les finales de seats joueurs jusqu'à ranks valeurs
+     * restantes
+     *
+     * @return nombre de finales parcourues
+     */
+    int precompute(int seats, int ranks) {
+        int positions = 0;
+        for (int k = 1; k <= Math.min(ranks, maxRanks(seats)); k++) {
+            Position position = new Position(seats, k);
+            positions += enumerate(position, 0);
+        }
+        return positions;
+    }
+
+    private int enumerate(Position position, int r) {
+        if (r == position.ranks) {
+            int positions = 0;
+            int combos = 1;
+            for (int s = 0; s < position.seats; s++) {
+                combos *= 3;
+            }
+            for (int needs = 0; needs < combos; needs++) {
+                for (int s = 0, rest = needs; s < position.seats; s++, rest /= 3) {
+                    position.needs[s] = rest % 3 + 1;
+                }
+                for (int seven = -1; seven < position.ranks; seven++) {
+                    position.seven = seven < 0 ? NO_SEVEN : seven;
+                    winner(position.encode());
+                    positions++;
+                }
+            }
+            return positions;
+        }
+        int positions = 0;
+        int bins = position.seats + 1;
+        for (int a = 0; a < bins; a++) {
+            for (int b = a; b < bins; b++) {
+                for (int c = b; c < bins; c++) {
+                    position.bins[r][0] = a;
+                    position.bins[r][1] = b;
+                    position.bins[r][2] = c;
+                    positions += enumerate(position, r + 1);
+                }
+            }
+        }
+        return positions;
+    }
+
+    // ===== CODAGE DES FINALES =====
+
+    /**
+     * Clé de la finale d'un état (les cartes retournées ce tour comptent à
+     * leur place), -1 si l'état sort du cadre
+     * du solveur (valeur à plus ou moins de trois exemplaires, trop de
+     * valeurs)
+     */
+    static long key(SearchState state) {
+        int n = state.nbSeats;
+        int[][] bins = new int[Zobrist.NB_VALUES][3];
+        int[] copies = new int[Zobrist.NB_VALUES];
+        for (int s = 0; s < n; s++) {
+            for (int i = 0; i < state.sizes[s]; i++) {
+                int v = state.hands[s][i];
+                if (copies[v] == 3) {
+                    return -1;
+                }
+                bins[v][copies[v]++] = (s - state.current + n) % n;
+            }
+        }
+        for (int i = 0; i < state.centerSize; i++) {
+            int v = state.center[i];
+            if (copies[v] == 3) {
+                return -1;
+            }
+            bins[v][copies[v]++] = n;
+        }
+        int ranks = 0;
+        for (int v = 0; v < Zobrist.NB_VALUES; v++) {
+            if (copies[v] != 0 && (copies[v] != 3 || ++ranks > maxRanks(n))) {
+                return -1;
+            }
+        }
+        Position position = new Position(n, ranks);
+        int r = 0;
+        for (int v = 0; v < Zobrist.NB_VALUES; v++) {
+            if (copies[v] == 3) {
+                System.arraycopy(bins[v], 0, position.bins[r], 0, 3);
+                if (v == SearchState.SEVEN) {
+                    position.seven = r;
+                }
+                r++;
+            }
+        }
+        for (int s = 0; s < n; s++) {
+            int trios = state.trios[state.holderOf[(s + state.current) % n]];
+            position.needs[s] = Math.max(1, SearchState.TRIOS_TO_WIN - trios);
+        }
+        return position.encode();
+    }
+
+    /**
+     * Nombre de valeurs restantes que la clé d'une finale peut décrire
+     */
+    static int maxRanks(int seats) {
+        return Math.min(7, (KEY_BITS - HEADER_BITS) / codeBits(seats));
+    }
+
+    /**
+     * Bits du code des trois places d'un rang : il y a C(seats + 3, 3) façons
+     * de répartir trois exemplaires entre les mains et le centre
+     */
+    private static int codeBits(int seats) {
+        int codes = (seats + 3) * (seats + 2) * (seats + 1) / 6;
+        return 32 - Integer.numberOfLeadingZeros(codes - 1);
+    }
+
+    /**
+     * Rang de places a <= b <= c parmi toutes les répartitions (codage
+     * combinatoire de a < b + 1 < c + 2)
+     */
+    private static int code(int a, int b, int c) {
+        return a + (b + 1) * b / 2 + (c + 2) * (c + 1) * c / 6;
+    }
+
+    /**
+     * Finale décodée : pour chaque rang, les trois places de ses exemplaires
+     * (0 = joueur au trait, seats = centre), triées
+     */
+    private static final class Position {
+        final int seats;
+        final int ranks;
+        int seven = NO_SEVEN;
+        final int[] needs; // Trios qui manquent à chacun pour gagner (1 à 3)
+        final int[][] bins;
+
+        Position(int seats, int ranks) {
+            this.seats = seats;
+            this.ranks = ranks;
+            this.needs = new int[seats];
+            this.bins = new int[Math.max(1, ranks)][3];
+        }
+
+        /**
+         * Clé sur 60 bits au plus : joueurs, rangs, rang du 7, trios manquants
+         * (2 bits par joueur), puis le code des trois places de chaque rang
+         */
+        long encode() {
+            long key = seats | ranks << 3 | seven << 6;
+            for (int s = 0; s < seats; s++) {
+                key |= (long) needs[s] << (9 + 2 * s);
+            }
+            int bits = codeBits(seats);
+            for (int r = 0; r < ranks; r++) {
+                int[] b = bins[r];
+                SearchState.sort(b, 3);
+                key |= (long) code(b[0], b[1], b[2]) << (HEADER_BITS + bits * r);
+            }
+            return key;
+        }
+
+        static Position decode(long key) {
+            Position position = new Position((int) (key & 7), (int) (key >>> 3 & 7));
+            position.seven = (int) (key >>> 6 & 7);
+            for (int s = 0; s < position.seats; s++) {
+                position.needs[s] = (int) (key >>> (9 + 2 * s) & 3);
+            }
+            int bits = codeBits(position.seats);
+            for (int r = 0; r < position.ranks; r++) {
+                int code = (int) (key >>> (HEADER_BITS + bits * r) & ((1 << bits) - 1));
+                int c = 0;
+                while (code(0, 0, c + 1) <= code) {
+                    c++;
+                }
+                int b = 0;
+                while (b < c && code(0, b + 1, c) <= code) {
+                    b++;
+                }
+                position.bins[r][0] = code - code(0, b, c);
+                position.bins[r][1] = b;
+                position.bins[r][2] = c;
+            }
+            return position;
+        }
+
+        /**
+         * Même finale, la place m au trait
+         */
+        Position rotate(int m) {
+            Position rotated = new Position(seats, ranks);
+            rotated.seven = seven;
+            for (int s = 0; s < seats; s++) {
+                rotated.needs[s] = needs[(s + m) % seats];
+            }
+            for (int r = 0; r < ranks; r++) {
+                for (int c = 0; c < 3; c++) {
+                    int bin = bins[r][c];
+                    rotated.bins[r][c] = bin == seats ? bin : (bin - m + seats) % seats;
+                }
+            }
+            return rotated;
+        }
+
+        /**
+         * Finale après un trio du rang r par le joueur au trait, qui rejoue
+         */
+        Position without(int r) {
+            Position next = new Position(seats, ranks - 1);
+            next.seven = seven == NO_SEVEN ? NO_SEVEN : seven > r ? seven - 1 : seven;
+            System.arraycopy(needs, 0, next.needs, 0, seats);
+            next.needs[0]--;
+            for (int o = 0, d = 0; o < ranks; o++) {
+                if (o != r) {
+                    System.arraycopy(bins[o], 0, next.bins[d++], 0, 3);
+                }
+            }
+            return next;
+        }
+    }
+}
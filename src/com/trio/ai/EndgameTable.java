@@ -0,0 +1,271 @@
+package com.trio.ai;
+
+import com.trio.model.Logs;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Table des finales déjà résolues (voir EndgameSolver), projetée en mémoire
+ * depuis un fichier : chargée instantanément au démarrage, enrichie au fil
+ * des parties et par le précalcul (main).
+ *
+ * Format : un en-tête de 16 octets (magique, version, bits, nombre
+ * d'entrées) suivi de 2^bits entrées de 8 octets (clé de la position
+ * décalée de 4 bits, résultat + 1), en adressage ouvert linéaire ; une
+ * entrée nulle est libre. Au-delà des trois quarts de remplissage, la
+ * table double de taille (fichier agrandi, entrées rehachées) jusqu'à
+ * MAX_BITS ; au-delà seulement, les nouvelles positions ne sont plus
+ * gardées qu'en mémoire.
+ *
+ * Réglages : trio.ai.endgameFile (logs/Endgame.dat par défaut) et
+ * trio.ai.endgameBits (taille de départ, 20 par défaut, soit 8 Mo ; un
+ * fichier déjà agrandi garde sa taille). Si le fichier ne peut pas être
+ * ouvert, la table reste en mémoire.
+ */
+public final class EndgameTable {
+
+    // Attributs
+    private static EndgameTable instance;
+    private static final String TABLE_PATH = System.getProperty("trio.ai.endgameFile", "logs/Endgame.dat");
+    private static final int TABLE_BITS = Integer.getInteger("trio.ai.endgameBits", 20);
+
+    private static final int MAGIC = 0x5452454E; // "TREN"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int ENTRY_SIZE = 8;
+    private static final int COUNT_OFFSET = 12;
+    private static final int MAX_BITS = 27; // 1 Go : les positions d'un tampon projeté tiennent sur un int
+
+    private final Path path; // null : table en mémoire seulement
+    private final Map<Long, Integer> overflow; // Positions résolues une fois la table à MAX_BITS remplie
+    private ByteBuffer buffer; // MappedByteBuffer, ou tampon en mémoire à défaut de fichier
+    private int bits;
+    private int mask;
+    private int maxCount;
+    private int count;
+
+    // Constructeurs
+    private EndgameTable(Path path, int bits) {
+        this.path = path;
+        this.overflow = new HashMap<>();
+        this.bits = bits;
+        this.buffer = open(bits);
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION || buffer.getInt(8) != bits) {
+            clear(bits);
+            buffer.putInt(0, MAGIC);
+        }
+        this.count = buffer.getInt(COUNT_OFFSET);
+        resize(bits);
+    }
+
+    public static synchronized EndgameTable getInstance() {
+        if (instance == null) {
+            Path path = Paths.get(TABLE_PATH);
+            int bits = Math.max(1, Math.min(TABLE_BITS, MAX_BITS));
+            try {
+                if (path.getParent() != null) {
+                    Files.createDirectories(path.getParent());
+                }
+                bits = Math.max(bits, storedBits(path));
+                instance = new EndgameTable(path, bits);
+            } catch (IOException e) {
+                Logs.getInstance().writeLogs("Table des finales en mémoire seulement : " + e.getMessage());
+                instance = new EndgameTable(null, bits);
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread(instance::force, "trio-endgame-shutdown"));
+        }
+        return instance;
+    }
+
+    /**
+     * Taille d'une table déjà écrite dans le fichier (agrandie lors d'une
+     * partie précédente), 0 si le fichier est absent ou illisible
+     */
+    private static int storedBits(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // Lecture de l'en-tête
+            }
+            int bits = header.getInt(8);
+            return header.getInt(0) == MAGIC && header.getInt(4) == VERSION && bits > 0 && bits <= MAX_BITS
+                    && channel.size() == size(bits) ? bits : 0;
+        }
+    }
+
+    /**
+     * Projette (ou alloue) le tampon d'une table de 2^bits entrées ; le
+     * fichier est agrandi ou tronqué à cette taille
+     */
+    private ByteBuffer open(int bits) {
+        long size = size(bits);
+        if (path != null) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                if (channel.size() > size) {
+                    channel.truncate(size);
+                }
+                return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            } catch (IOException e) {
+                Logs.getInstance().writeLogs("Table des finales en mémoire seulement : " + e.getMessage());
+            }
+        }
+        return ByteBuffer.allocate((int) size);
+    }
+
+    private static long size(int bits) {
+        return HEADER_SIZE + ((long) ENTRY_SIZE << bits);
+    }
+
+    // Getters
+    public synchronized int size() {
+        return count + overflow.size();
+    }
+
+    // Méthodes Métier
+
+    /**
+     * @return le résultat rangé pour la position, -1 si elle n'est pas connue
+     */
+    synchronized int lookup(long key) {
+        for (int slot = slot(key);; slot = (slot + 1) & mask) {
+            long entry = buffer.getLong(offset(slot));
+            if (entry == 0) {
+                Integer result = overflow.get(key);
+                return result == null ? -1 : result;
+            }
+            if (entry >>> 4 == key) {
+                return (int) (entry & 0xF) - 1;
+            }
+        }
+    }
+
+    /**
+     * Range le résultat (0 à 14) d'une position (clé non nulle, sur 60 bits)
+     */
+    synchronized void store(long key, int result) {
+        for (int slot = slot(key);; slot = (slot + 1) & mask) {
+            long entry = buffer.getLong(offset(slot));
+            if (entry == 0) {
+                if (count >= maxCount) {
+                    if (grow()) {
+                        store(key, result); // Nouvelle place dans la table agrandie
+                    } else {
+                        overflow.put(key, result);
+                    }
+                    return;
+                }
+                buffer.putLong(offset(slot), key << 4 | (result + 1));
+                buffer.putInt(COUNT_OFFSET, ++count);
+                return;
+            }
+            if (entry >>> 4 == key) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Double la taille de la table et y range à nouveau toutes les entrées
+     *
+     * @return false si la table est déjà à MAX_BITS
+     */
+    private boolean grow() {
+        if (bits >= MAX_BITS) {
+            return false;
+        }
+        long[] entries = new long[count];
+        int n = 0;
+        for (int slot = 0; slot <= mask; slot++) {
+            long entry = buffer.getLong(offset(slot));
+            if (entry != 0) {
+                entries[n++] = entry;
+            }
+        }
+        force();
+
+        int next = bits + 1;
+        buffer = open(next);
+        clear(next);
+        resize(next);
+        for (int i = 0; i < n; i++) {
+            int slot = slot(entries[i] >>> 4);
+            while (buffer.getLong(offset(slot)) != 0) {
+                slot = (slot + 1) & mask;
+            }
+            buffer.putLong(offset(slot), entries[i]);
+        }
+        buffer.putInt(COUNT_OFFSET, n);
+        buffer.putInt(0, MAGIC);
+        count = n;
+        Logs.getInstance().writeLogs("Table des finales agrandie à 2^" + next + " entrées (" + n + " positions)");
+        return true;
+    }
+
+    /**
+     * Vide le tampon et écrit l'en-tête d'une table de 2^bits entrées, sauf
+     * le nombre magique : à écrire une fois la table remplie, pour qu'une
+     * table à moitié écrite soit rejetée au prochain démarrage
+     */
+    private void clear(int bits) {
+        for (int i = 0; i < buffer.capacity(); i += ENTRY_SIZE) {
+            buffer.putLong(i, 0);
+        }
+        buffer.putInt(4, VERSION);
+        buffer.putInt(8, bits);
+    }
+
+    private void resize(int bits) {
+        this.bits = bits;
+        this.mask = (1 << bits) - 1;
+        this.maxCount = (3 << bits) / 4;
+    }
+
+    /**
+     * Écrit sur le disque les pages modifiées
+     */
+    public synchronized void force() {
+        if (buffer instanceof MappedByteBuffer) {
+            ((MappedByteBuffer) buffer).force();
+        }
+    }
+
+    private int slot(long key) {
+        long z = key * 0x9E3779B97F4A7C15L;
+        return (int) (z ^ (z >>> 32)) & mask;
+    }
+
+    private static int offset(int slot) {
+        return HEADER_SIZE + slot * ENTRY_SIZE;
+    }
+
+    // ===== PRÉCALCUL =====
+
+    /**
+     * Résout à l'avance toutes les finales d'une table de joueurs, jusqu'à
+     * un nombre de cartes restantes (4 joueurs et 6 cartes par défaut)
+     */
+    public static void main(String[] args) {
+        int seats = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int cards = args.length > 1 ? Integer.parseInt(args[1]) : 6;
+        EndgameTable table = getInstance();
+        long start = System.nanoTime();
+        int positions = new EndgameSolver(table).precompute(seats, cards / 3);
+        table.force();
+        System.out.println(positions + " finales à " + seats + " joueurs résolues en "
+                + (System.nanoTime() - start) / 1_000_000 + " ms ; " + table.size() + " positions dans "
+                + TABLE_PATH);
+    }
+}
@@ -0,0 +1,250 @@
+package com.trio.ai;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Recherche arborescente Monte-Carlo sur ensembles d'information (ISMCTS).
+ *
+ * Chaque itération tire une partie compatible avec ce que le Bot sait
+ * (Determinizer), descend l'arbre de ses propres décisions en ne gardant
+ * que les actions légales dans ce tirage (UCB pondéré par la disponibilité
+ * de l'action), puis finit son tour avec la politique rapide de
+ * SearchState, suivi de trio.ai.horizon tours adverses (0 par défaut :
+ * des simulations plus longues, jouées par une politique plus faible que
+ * les vrais adversaires, dégradaient les choix). La position est notée par
+ * la part des trios du Bot, 1 ou 0 si la partie est finie.
+ * Un nœud est propre à ce que le Bot a vu : l'enfant d'une
+ * action dépend de la carte montrée. L'arbre s'arrête quand la main passe :
+ * les adversaires ne jouent qu'en simulation, sans voir les cartes tirées.
+ *
+ * Les statistiques des actions sont rangées dans une table de
+ * transposition, sous la clé de ce que voit le Bot (SearchState.infoHash)
+ * combinée à l'action : deux chemins qui montrent les mêmes cartes dans un
+ * autre ordre partagent leurs statistiques, et tous les fils lisent et
+ * enrichissent la même table. Chaque fil garde son propre arbre (la forme
+ * de l'arbre, et des compteurs locaux si une entrée est évincée).
+ */
+final class Ismcts {
+
+    // Attributs
+    private static final double EXPLORATION = 0.7;
+    private static final int HORIZON = Integer.getInteger("trio.ai.horizon", 0); // Tours simulés après le sien
+    private static final int MAX_DEPTH = 32;
+
+    private final Determinizer determinizer;
+    private final TranspositionTable table;
+
+    // Constructeurs
+    Ismcts(Determinizer determinizer, TranspositionTable table) {
+        this.determinizer = determinizer;
+        this.table = table;
+    }
+
+    // Méthodes Métier
+
+    /**
+     * Cherche la meilleure action du Bot. Le budget est atteint dès que le
+     * temps est écoulé ou que le nombre de simulations est joué (0 : pas de
+     * limite de ce type) ; chaque fil joue au moins une simulation.
+     *
+     * @return l'action la plus visitée, -1 si aucune action n'est possible
+     */
+    int search(long timeMs, int playouts, int threads, SplittableRandom random) {
+        long deadline = timeMs > 0 ? System.nanoTime() + timeMs * 1_000_000 : Long.MAX_VALUE;
+        int quota = playouts > 0 ? (playouts + threads - 1) / threads : Integer.MAX_VALUE;
+        table.newSearch();
+
+        List<Worker> workers = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            workers.add(new Worker(random.split(), deadline, quota));
+        }
+        if (threads == 1) {
+            workers.get(0).compute();
+        } else {
+            ForkJoinTask.invokeAll(workers);
+        }
+
+        Node merged = new Node();
+        for (Worker worker : workers) {
+            Node root = worker.root;
+            for (int e = 0; e < root.size; e++) {
+                int m = merged.edge(root.actions[e]);
+                merged.visits[m] += root.visits[e];
+                merged.wins[m] += root.wins[e];
+            }
+        }
+        int best = -1;
+        for (int e = 0; e < merged.size; e++) {
+            if (best < 0 || merged.visits[e] > merged.visits[best]
+                    || (merged.visits[e] == merged.visits[best] && merged.wins[e] > merged.wins[best])) {
+                best = e;
+            }
+        }
+        return best < 0 ? -1 : merged.actions[best];
+    }
+
+    /**
+     * Un fil de recherche : son arbre, son état de travail, son générateur
+     */
+    private final class Worker extends RecursiveAction {
+        private final SplittableRandom random;
+        private final long deadline;
+        private final int quota;
+        private final Node root = new Node();
+
+        Worker(SplittableRandom random, long deadline, int quota) {
+            this.random = random;
+            this.deadline = deadline;
+            this.quota = quota;
+        }
+
+        @Override
+        protected void compute() {
+            SearchState state = determinizer.newState();
+            int[] counts = new int[16];
+            int[] legal = new int[SearchState.MAX_ACTIONS];
+            Selection selection = new Selection();
+            Node[] pathNodes = new Node[MAX_DEPTH];
+            int[] pathEdges = new int[MAX_DEPTH];
+            long[] pathKeys = new long[MAX_DEPTH];
+
+            for (int done = 0; done < quota && (done == 0 || System.nanoTime() < deadline); done++) {
+                determinizer.sample(state, random, counts);
+                int me = state.current;
+
+                // Sélection et expansion dans l'arbre des décisions du Bot
+                Node node = root;
+                int depth = 0;
+                while (depth < MAX_DEPTH && state.winner() < 0 && state.current == me) {
+                    int n = state.legalActions(legal);
+                    if (n == 0) {
+                        break;
+                    }
+                    int k = node.select(legal, n, state.infoHash, table, selection, random);
+                    int e = selection.edges[k];
+                    pathNodes[depth] = node;
+                    pathEdges[depth] = e;
+                    pathKeys[depth++] = selection.keys[k];
+                    int seen = state.apply(node.actions[e], random);
+                    if (state.winner() >= 0 || state.current != me) {
+                        break;
+                    }
+                    Node child = node.child(e, seen);
+                    if (child == null) {
+                        node.addChild(e, seen, new Node());
+                        break;
+                    }
+                    node = child;
+                }
+
+                // Simulation puis remontée du résultat
+                double reward = state.playout(me, HORIZON, random);
+                for (int d = 0; d < depth; d++) {
+                    pathNodes[d].visits[pathEdges[d]]++;
+                    pathNodes[d].wins[pathEdges[d]] += reward;
+                    table.add(pathKeys[d], reward);
+                }
+            }
+        }
+    }
+
+    /**
+     * Tableaux de travail d'une sélection (un par fil)
+     */
+    private static final class Selection {
+        final int[] edges = new int[SearchState.MAX_ACTIONS];
+        final long[] keys = new long[SearchState.MAX_ACTIONS];
+        final int[] visits = new int[SearchState.MAX_ACTIONS];
+        final double[] wins = new double[SearchState.MAX_ACTIONS];
+    }
+
+    /**
+     * Nœud de l'arbre : actions essayées, compteurs locaux, enfants par carte
+     * montrée
+     */
+    private static final class Node {
+        int size;
+        int[] actions = new int[8];
+        int[] visits = new int[8];
+        double[] wins = new double[8];
+        Node[][] children = new Node[8][];
+
+        int edge(int action) {
+            for (int e = 0; e < size; e++) {
+                if (actions[e] == action) {
+                    return e;
+                }
+            }
+            if (size == actions.length) {
+                int capacity = size * 2;
+                actions = Arrays.copyOf(actions, capacity);
+                visits = Arrays.copyOf(visits, capacity);
+                wins = Arrays.copyOf(wins, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            actions[size] = action;
+            return size++;
+        }
+
+        /**
+         * UCB parmi les actions légales de ce tirage, avec les statistiques
+         * partagées de la table (ou locales si l'entrée a été évincée) ; une
+         * action jamais essayée passe d'abord (la première trouvée à partir
+         * d'un point de départ aléatoire)
+         *
+         * @return l'indice k de l'action choisie dans legal
+         */
+        int select(int[] legal, int n, long infoHash, TranspositionTable table, Selection selection,
+                SplittableRandom random) {
+            long total = 0;
+            for (int k = 0; k < n; k++) {
+                int e = edge(legal[k]);
+                long key = infoHash ^ Zobrist.action(legal[k]);
+                long data = table.probe(key);
+                selection.edges[k] = e;
+                selection.keys[k] = key;
+                if (TranspositionTable.visits(data) >= visits[e]) {
+                    selection.visits[k] = TranspositionTable.visits(data);
+                    selection.wins[k] = TranspositionTable.wins(data);
+                } else {
+                    selection.visits[k] = visits[e];
+                    selection.wins[k] = wins[e];
+                }
+                total += selection.visits[k];
+            }
+            double logTotal = Math.log(Math.max(1, total));
+            int start = random.nextInt(n);
+            int best = -1;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            for (int j = 0; j < n; j++) {
+                int k = (start + j) % n;
+                int v = selection.visits[k];
+                if (v == 0) {
+                    return k;
+                }
+                double score = selection.wins[k] / v + EXPLORATION * Math.sqrt(logTotal / v);
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = k;
+                }
+            }
+            return best;
+        }
+
+        Node child(int edge, int seen) {
+            return children[edge] == null ? null : children[edge][seen];
+        }
+
+        void addChild(int edge, int seen, Node child) {
+            if (children[edge] == null) {
+                children[edge] = new Node[SearchState.NO_CARD + 1];
+            }
+            children[edge][seen] = child;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.trio.ai;
+
+import com.trio.model.*;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Bot qui choisit chaque coup par recherche (ISMCTS) au lieu des règles
+ * fixes de Bot : ouverture, cible, carte du centre, arrêt et échange.
+ *
+ * Budget par coup réglable par propriétés système (ou au constructeur) :
+ * trio.ai.timeMs (100 ms par défaut, 0 = sans limite de temps),
+ * trio.ai.playouts (0 par défaut = sans limite de nombre) et
+ * trio.ai.threads (nombre de cœurs par défaut). La table de transposition
+ * compte 2^trio.ai.ttBits entrées de 16 octets (2^16 par défaut). Avec un
+ * budget en nombre de simulations sur un seul fil, les coups sont
+ * reproductibles à graine égale.
+ *
+ * En fin de partie Solo (trio.ai.endgameCards cartes ou moins), le coup
+ * est calculé exactement par EndgameSolver plutôt que par simulations.
+ */
+public class SearchBot extends Bot {
+
+    // Attributs
+    private static final long DEFAULT_TIME_MS = Long.getLong("trio.ai.timeMs", 100);
+    private static final int DEFAULT_PLAYOUTS = Integer.getInteger("trio.ai.playouts", 0);
+    private static final int DEFAULT_THREADS = Integer.getInteger("trio.ai.threads",
+            Runtime.getRuntime().availableProcessors());
+    private static final int TABLE_BITS = Integer.getInteger("trio.ai.ttBits", 16);
+
+    private final long timeMs;
+    private final int playouts;
+    private final int threads;
+    private TranspositionTable table; // Créée à la première recherche, réutilisée ensuite
+
+    private List<Player> plannedSeats; // Sièges auxquels se réfère l'action retenue
+    private int plannedAction = -1; // Action retenue (cible, index du centre ou échange)
+    private int openingAction = -1; // Premier coup trouvé par wantsToExchange
+
+    // Constructeurs
+    public SearchBot(String pseudo) {
+        this(pseudo, DEFAULT_TIME_MS, DEFAULT_PLAYOUTS, DEFAULT_THREADS);
+    }
+
+    /**
+     * @param timeMs   temps de recherche par coup (0 : sans limite de temps)
+     * @param playouts simulations par coup (0 : sans limite de nombre)
+     * @param threads  fils de recherche en parallèle
+     */
+    public SearchBot(String pseudo, long timeMs, int playouts, int threads) {
+        super(pseudo);
+        if (timeMs <= 0 && playouts <= 0) {
+            throw new IllegalArgumentException("Budget de recherche vide : temps ou nombre de simulations requis");
+        }
+        this.timeMs = timeMs;
+        this.playouts = playouts;
+        this.threads = Math.max(1, threads);
+    }
+
+    // Méthodes Métier
+
+    @Override
+    public int chooseBotAction(List<RevealedCard> revealedThisTurn, List<Player> players, Deck centerDeck) {
+        int action = openingAction;
+        openingAction = -1;
+        if (action < 0 || !revealedThisTurn.isEmpty()) {
+            action = search(revealedThisTurn, players, centerDeck, true);
+        }
+        if (action < 0) {
+            plannedAction = -1;
+            return super.chooseBotAction(revealedThisTurn, players, centerDeck);
+        }
+        plannedAction = action;
+        plannedSeats = players;
+        return SearchState.kind(action);
+    }
+
+    @Override
+    public Player chooseTargetPlayer(List<Player> players) {
+        int action = plannedAction;
+        plannedAction = -1;
+        int kind = SearchState.kind(action);
+        if (action >= 0 && (kind == SearchState.OTHER_MIN || kind == SearchState.OTHER_MAX)) {
+            Player target = plannedSeats.get(SearchState.target(action));
+            if (target != this && players.contains(target) && target.getDeck().hasHiddenCard()) {
+                return target;
+            }
+        }
+        return super.chooseTargetPlayer(players);
+    }
+
+    @Override
+    public int chooseCenterCardIndex(Deck centerDeck) {
+        int action = plannedAction;
+        plannedAction = -1;
+        if (action >= 0 && SearchState.kind(action) == SearchState.CENTER) {
+            int index = SearchState.target(action);
+            if (index < centerDeck.getSize() && !centerDeck.getCard(index).isVisible()) {
+                return index;
+            }
+        }
+        return super.chooseCenterCardIndex(centerDeck);
+    }
+
+    /**
+     * Début de tour en mode équipe : la recherche compare l'échange aux
+     * révélations ; si elle préfère révéler, ce premier coup est gardé pour
+     * l'appel suivant de chooseBotAction
+     */
+    @Override
+    public boolean wantsToExchange() {
+        BeliefTracker beliefs = getBeliefs();
+        if (beliefs == null || getTeams().isEmpty()) {
+            return super.wantsToExchange();
+        }
+        int action = search(Collections.emptyList(), beliefs.getSeats(), beliefs.getCenterDeck(), false);
+        if (action >= 0 && SearchState.kind(action) == SearchState.EXCHANGE) {
+            plannedAction = action;
+            plannedSeats = beliefs.getSeats();
+            return true;
+        }
+        openingAction = action;
+        return false;
+    }
+
+    @Override
+    public Player chooseTeammate(List<Player> mates) {
+        if (plannedAction >= 0 && SearchState.kind(plannedAction) == SearchState.EXCHANGE) {
+            Player mate = plannedSeats.get(SearchState.target(plannedAction));
+            if (mates.contains(mate)) {
+                return mate;
+            }
+        }
+        return super.chooseTeammate(mates);
+    }
+
+    /**
+     * Sa propre carte suit la recherche ; celle du coéquipier est prise à
+     * l'aveugle
+     */
+    @Override
+    public int chooseHandCardIndex(Deck deck) {
+        int action = plannedAction;
+        if (action >= 0 && SearchState.kind(action) == SearchState.EXCHANGE) {
+            if (deck == getDeck() && SearchState.ownIndex(action) < deck.getSize()) {
+                return SearchState.ownIndex(action);
+            }
+            plannedAction = -1;
+        }
+        return super.chooseHandCardIndex(deck);
+    }
+
+    /**
+     * @return l'action codée (voir SearchState), -1 si rien n'est jouable
+     */
+    private int search(List<RevealedCard> revealedThisTurn, List<Player> players, Deck centerDeck,
+            boolean exchangeUsed) {
+        int seat = players.indexOf(this);
+        if (seat < 0) {
+            return -1;
+        }
+        BeliefTracker beliefs = getBeliefs(revealedThisTurn, players, centerDeck);
+        GameState state = GameState.of(players, centerDeck, getTeams(), revealedThisTurn, seat)
+                .withExchangeUsed(exchangeUsed);
+        Determinizer determinizer = new Determinizer(state, seat, players, beliefs);
+        if (EndgameSolver.cardsLeft(determinizer.getTemplate()) > 0) {
+            int action = new EndgameSolver(EndgameTable.getInstance()).solve(determinizer);
+            if (action >= 0) {
+                return action;
+            }
+        }
+        if (table == null) {
+            table = new TranspositionTable(TABLE_BITS);
+        }
+        return new Ismcts(determinizer, table).search(timeMs, playouts, threads, getRandom().split());
+    }
+}
@@ -0,0 +1,629 @@
+package com.trio.ai;
+
+import com.trio.model.Move;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * État compact d'une partie pour la recherche : valeurs des mains (triées)
+ * et du centre dans des tableaux d'entiers, drapeaux de cartes en masques
+ * de bits. Une instance est réutilisée d'une simulation à l'autre
+ * (copyFrom) : aucune allocation pendant une simulation.
+ *
+ * Deux clés de Zobrist sont tenues à jour coup par coup : hash pour la
+ * position complète, infoHash pour ce qu'en voit le joueur observer (sa
+ * main, les tailles des autres mains, les cartes retournées ce tour, les
+ * trios, le joueur au trait). Les cartes retournées ce tour sont décrites
+ * par les drapeaux de visibilité : deux ordres de révélation qui montrent
+ * les mêmes cartes donnent la même clé.
+ *
+ * Les actions suivent le codage de Move (type, siège ou index du centre,
+ * index de sa propre carte pour un échange) ; la carte du coéquipier est
+ * tirée à l'aveugle et n'est pas codée.
+ */
+final class SearchState {
+
+    // Attributs
+    static final int STOP = Move.STOP;
+    static final int OWN_MIN = Move.OWN_MIN;
+    static final int OWN_MAX = Move.OWN_MAX;
+    static final int OTHER_MIN = Move.OTHER_MIN;
+    static final int OTHER_MAX = Move.OTHER_MAX;
+    static final int CENTER = Move.CENTER;
+    static final int EXCHANGE = Move.EXCHANGE;
+
+    /** Observation d'une action qui ne montre aucune carte (arrêt, échec) */
+    static final int NO_CARD = 16;
+    /** Nombre maximal d'actions légales (mains de 12 cartes, centre de 18) */
+    static final int MAX_ACTIONS = 64;
+
+    static final int SEVEN = 7;
+    static final int TRIOS_TO_WIN = 3;
+
+    final int nbSeats;
+    final int nbHolders;
+    final boolean teamMode;
+    final int[] holderOf; // Siège -> joueur (Solo) ou équipe qui marque les trios
+
+    final int[][] hands; // Valeurs, triées, par siège
+    final int[] sizes;
+    final int[] visible; // Bit i : carte i retournée ce tour
+    final int[] known; // Bit i : valeur connue de toute la table
+    final int[] center;
+    int centerSize;
+    int centerVisible;
+    int centerKnown;
+
+    final int[][] counts; // Exemplaires de chaque valeur par main (clés des mains)
+    int observer; // Joueur dont infoHash décrit le point de vue
+    long hash;
+    long infoHash;
+
+    final int[] trios; // Par joueur ou équipe
+    int sevenMask; // Bit h : h a gagné le trio de 7
+    int current;
+    int turns;
+    boolean exchangeUsed;
+
+    // Cartes retournées ce tour : siège (-1 = centre) et position
+    final int[] revealedSeat = new int[3];
+    final int[] revealedSlot = new int[3];
+    int revealedCount;
+    int revealedValue;
+
+    // Constructeurs
+    SearchState(int[] holderOf, int nbHolders, boolean teamMode, int maxHand, int maxCenter) {
+        this.nbSeats = holderOf.length;
+        this.nbHolders = nbHolders;
+        this.teamMode = teamMode;
+        this.holderOf = holderOf;
+        this.hands = new int[nbSeats][maxHand];
+        this.sizes = new int[nbSeats];
+        this.visible = new int[nbSeats];
+        this.known = new int[nbSeats];
+        this.center = new int[maxCenter];
+        this.counts = new int[nbSeats][Zobrist.NB_VALUES];
+        this.trios = new int[nbHolders];
+    }
+
+    /**
+     * Copie un autre état de même table (sans allocation)
+     */
+    void copyFrom(SearchState other) {
+        for (int s = 0; s < nbSeats; s++) {
+            System.arraycopy(other.hands[s], 0, hands[s], 0, other.sizes[s]);
+            sizes[s] = other.sizes[s];
+            visible[s] = other.visible[s];
+            known[s] = other.known[s];
+            System.arraycopy(other.counts[s], 0, counts[s], 0, Zobrist.NB_VALUES);
+        }
+        System.arraycopy(other.center, 0, center, 0, other.centerSize);
+        centerSize = other.centerSize;
+        centerVisible = other.centerVisible;
+        centerKnown = other.centerKnown;
+        System.arraycopy(other.trios, 0, trios, 0, nbHolders);
+        sevenMask = other.sevenMask;
+        current = other.current;
+        turns = other.turns;
+        exchangeUsed = other.exchangeUsed;
+        System.arraycopy(other.revealedSeat, 0, revealedSeat, 0, 3);
+        System.arraycopy(other.revealedSlot, 0, revealedSlot, 0, 3);
+        revealedCount = other.revealedCount;
+        revealedValue = other.revealedValue;
+        observer = other.observer;
+        hash = other.hash;
+        infoHash = other.infoHash;
+    }
+
+    /**
+     * Recalcule les deux clés (et les compteurs des mains) à partir de
+     * l'état, après l'avoir rempli directement
+     */
+    void rehash() {
+        hash = 0;
+        infoHash = 0;
+        for (int s = 0; s < nbSeats; s++) {
+            Arrays.fill(counts[s], 0);
+            for (int i = 0; i < sizes[s]; i++) {
+                int v = hands[s][i];
+                long key = Zobrist.hand(s, v, counts[s][v]++);
+                hash ^= key;
+                if (s == observer) {
+                    infoHash ^= key;
+                }
+            }
+            infoHash ^= Zobrist.handSize(s, sizes[s]);
+            for (int m = visible[s]; m != 0; m &= m - 1) {
+                toggleShown(s, Integer.numberOfTrailingZeros(m));
+            }
+        }
+        for (int i = 0; i < centerSize; i++) {
+            hash ^= Zobrist.center(i, center[i]);
+        }
+        for (int m = centerVisible; m != 0; m &= m - 1) {
+            toggleShown(-1, Integer.numberOfTrailingZeros(m));
+        }
+        infoHash ^= Zobrist.centerSize(centerSize);
+        for (int h = 0; h < nbHolders; h++) {
+            toggleCommon(Zobrist.trios(h, trios[h]));
+            if ((sevenMask & (1 << h)) != 0) {
+                toggleCommon(Zobrist.seven(h));
+            }
+        }
+        toggleCommon(Zobrist.turn(current));
+        if (exchangeUsed) {
+            toggleCommon(Zobrist.EXCHANGE_USED);
+        }
+    }
+
+    /**
+     * Carte retournée (siège -1 : centre) ajoutée ou retirée des clés
+     */
+    private void toggleShown(int seat, int slot) {
+        if (seat < 0) {
+            hash ^= Zobrist.centerVisible(slot);
+            infoHash ^= Zobrist.centerSeen(slot, center[slot]);
+        } else {
+            hash ^= Zobrist.slotVisible(seat, slot);
+            infoHash ^= Zobrist.slotSeen(seat, slot, hands[seat][slot]);
+        }
+    }
+
+    /**
+     * Élément visible de tous : dans les deux clés
+     */
+    private void toggleCommon(long key) {
+        hash ^= key;
+        infoHash ^= key;
+    }
+
+    /**
+     * Carte qui entre dans une main (copy = exemplaires déjà présents) ou
+     * en sort (copy = exemplaires restants)
+     */
+    private void toggleHand(int seat, int value, int copy) {
+        long key = Zobrist.hand(seat, value, copy);
+        hash ^= key;
+        if (seat == observer) {
+            infoHash ^= key;
+        }
+    }
+
+    // Getters
+
+    /**
+     * Joueur ou équipe gagnant, -1 si la partie continue
+     */
+    int winner() {
+        for (int h = 0; h < nbHolders; h++) {
+            if (trios[h] >= TRIOS_TO_WIN || (sevenMask & (1 << h)) != 0) {
+                return h;
+            }
+        }
+        return -1;
+    }
+
+    private int hidden(int seat) {
+        return ~visible[seat] & ((1 << sizes[seat]) - 1);
+    }
+
+    /** Position que révélerait MIN (carte cachée la plus à gauche), -1 si aucune */
+    int lowSlot(int seat) {
+        int hidden = hidden(seat);
+        return hidden == 0 ? -1 : Integer.numberOfTrailingZeros(hidden);
+    }
+
+    /** Position que révélerait MAX (carte cachée la plus à droite), -1 si aucune */
+    int highSlot(int seat) {
+        int hidden = hidden(seat);
+        return hidden == 0 ? -1 : 31 - Integer.numberOfLeadingZeros(hidden);
+    }
+
+    static int kind(int action) {
+        return Move.kind(action);
+    }
+
+    static int target(int action) {
+        return Move.target(action);
+    }
+
+    static int ownIndex(int action) {
+        return Move.ownIndex(action);
+    }
+
+    // Méthodes Métier
+
+    /**
+     * Actions légales du joueur courant
+     *
+     * @return nombre d'actions écrites dans out
+     */
+    int legalActions(int[] out) {
+        int n = 0;
+        int me = current;
+        if (lowSlot(me) >= 0) {
+            out[n++] = OWN_MIN;
+            if (highSlot(me) != lowSlot(me)) {
+                out[n++] = OWN_MAX;
+            }
+        }
+        for (int s = 0; s < nbSeats; s++) {
+            if (s != me && lowSlot(s) >= 0) {
+                out[n++] = Move.of(OTHER_MIN, s);
+                if (highSlot(s) != lowSlot(s)) {
+                    out[n++] = Move.of(OTHER_MAX, s);
+                }
+            }
+        }
+        for (int i = 0; i < centerSize && n < MAX_ACTIONS - 1; i++) {
+            if ((centerVisible & (1 << i)) == 0) {
+                out[n++] = Move.of(CENTER, i);
+            }
+        }
+        if (revealedCount >= 2) {
+            out[n++] = STOP;
+        }
+        if (revealedCount == 0 && teamMode && !exchangeUsed && sizes[me] > 0) {
+            for (int s = 0; s < nbSeats; s++) {
+                if (s == me || holderOf[s] != holderOf[me] || sizes[s] == 0) {
+                    continue;
+                }
+                // Donner l'une ou l'autre de deux cartes égales revient au même
+                for (int i = 0; i < sizes[me] && n < MAX_ACTIONS; i++) {
+                    if (i == 0 || hands[me][i] != hands[me][i - 1]) {
+                        out[n++] = Move.exchange(s, i, 0);
+                    }
+                }
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Joue une action du joueur courant
+     *
+     * @return la valeur de la carte montrée au joueur (retournée, ou reçue
+     *         lors d'un échange), NO_CARD sinon
+     */
+    int apply(int action, SplittableRandom random) {
+        int me = current;
+        switch (kind(action)) {
+            case OWN_MIN:
+                return reveal(me, lowSlot(me));
+            case OWN_MAX:
+                return reveal(me, highSlot(me));
+            case OTHER_MIN:
+                return reveal(target(action), lowSlot(target(action)));
+            case OTHER_MAX:
+                return reveal(target(action), highSlot(target(action)));
+            case CENTER:
+                return revealCenter(target(action));
+            case EXCHANGE:
+                return exchange(me, ownIndex(action), target(action), random);
+            default:
+                endTurn();
+                return NO_CARD;
+        }
+    }
+
+    private int reveal(int seat, int slot) {
+        if (slot < 0 || (visible[seat] & (1 << slot)) != 0) {
+            endTurn();
+            return NO_CARD;
+        }
+        visible[seat] |= 1 << slot;
+        toggleShown(seat, slot);
+        return record(seat, slot, hands[seat][slot]);
+    }
+
+    private int revealCenter(int index) {
+        if (index < 0 || index >= centerSize || (centerVisible & (1 << index)) != 0) {
+            endTurn();
+            return NO_CARD;
+        }
+        centerVisible |= 1 << index;
+        toggleShown(-1, index);
+        return record(-1, index, center[index]);
+    }
+
+    private int record(int seat, int slot, int value) {
+        if (revealedCount == 0) {
+            revealedValue = value;
+        }
+        revealedSeat[revealedCount] = seat;
+        revealedSlot[revealedCount] = slot;
+        revealedCount++;
+        if (value != revealedValue) {
+            endTurn();
+        } else if (revealedCount == 3) {
+            awardTrio();
+        }
+        return value;
+    }
+
+    /**
+     * Échec (ou arrêt) : les cartes se retournent, leur valeur est désormais
+     * connue de tous, et la main passe
+     */
+    private void endTurn() {
+        for (int k = 0; k < revealedCount; k++) {
+            toggleShown(revealedSeat[k], revealedSlot[k]);
+            int bit = 1 << revealedSlot[k];
+            if (revealedSeat[k] < 0) {
+                centerVisible &= ~bit;
+                centerKnown |= bit;
+            } else {
+                visible[revealedSeat[k]] &= ~bit;
+                known[revealedSeat[k]] |= bit;
+            }
+        }
+        revealedCount = 0;
+        if (exchangeUsed) {
+            exchangeUsed = false;
+            toggleCommon(Zobrist.EXCHANGE_USED);
+        }
+        toggleCommon(Zobrist.turn(current));
+        current = (current + 1) % nbSeats;
+        toggleCommon(Zobrist.turn(current));
+        turns++;
+    }
+
+    /**
+     * Trio : les cartes quittent la table (de droite à gauche pour garder
+     * les positions valables) et le joueur rejoue
+     */
+    private void awardTrio() {
+        for (int k = 0; k < 3; k++) {
+            toggleShown(revealedSeat[k], revealedSlot[k]);
+        }
+        for (int done = 0; done < 3; done++) {
+            int pick = -1;
+            for (int k = 0; k < 3; k++) {
+                if (revealedSlot[k] >= 0 && (pick < 0 || revealedSlot[k] > revealedSlot[pick])) {
+                    pick = k;
+                }
+            }
+            int seat = revealedSeat[pick];
+            int slot = revealedSlot[pick];
+            revealedSlot[pick] = -1;
+            if (seat < 0) {
+                // Les cartes suivantes changent de position : leurs clés aussi
+                for (int i = slot; i < centerSize; i++) {
+                    hash ^= Zobrist.center(i, center[i]);
+                }
+                System.arraycopy(center, slot + 1, center, slot, centerSize - slot - 1);
+                infoHash ^= Zobrist.centerSize(centerSize) ^ Zobrist.centerSize(centerSize - 1);
+                centerSize--;
+                for (int i = slot; i < centerSize; i++) {
+                    hash ^= Zobrist.center(i, center[i]);
+                }
+                centerVisible = removeBit(centerVisible, slot);
+                centerKnown = removeBit(centerKnown, slot);
+            } else {
+                int value = hands[seat][slot];
+                toggleHand(seat, value, --counts[seat][value]);
+                System.arraycopy(hands[seat], slot + 1, hands[seat], slot, sizes[seat] - slot - 1);
+                infoHash ^= Zobrist.handSize(seat, sizes[seat]) ^ Zobrist.handSize(seat, sizes[seat] - 1);
+                sizes[seat]--;
+                visible[seat] = removeBit(visible[seat], slot);
+                known[seat] = removeBit(known[seat], slot);
+            }
+        }
+        int holder = holderOf[current];
+        toggleCommon(Zobrist.trios(holder, trios[holder]) ^ Zobrist.trios(holder, trios[holder] + 1));
+        trios[holder]++;
+        if (revealedValue == SEVEN && (sevenMask & (1 << holder)) == 0) {
+            sevenMask |= 1 << holder;
+            toggleCommon(Zobrist.seven(holder));
+        }
+        revealedCount = 0;
+        if (exchangeUsed) {
+            exchangeUsed = false;
+            toggleCommon(Zobrist.EXCHANGE_USED);
+        }
+        turns++;
+    }
+
+    private static int removeBit(int mask, int bit) {
+        return (mask & ((1 << bit) - 1)) | ((mask >>> (bit + 1)) << bit);
+    }
+
+    /**
+     * Échange à l'aveugle : la carte reçue est tirée au hasard dans la main
+     * du coéquipier ; les deux mains sont retriées et plus personne ne sait
+     * où sont leurs cartes
+     */
+    private int exchange(int me, int ownIndex, int mate, SplittableRandom random) {
+        if (exchangeUsed || ownIndex >= sizes[me] || sizes[mate] == 0) {
+            return NO_CARD;
+        }
+        int mateIndex = random.nextInt(sizes[mate]);
+        int received = hands[mate][mateIndex];
+        int given = hands[me][ownIndex];
+        toggleHand(mate, received, --counts[mate][received]);
+        toggleHand(me, given, --counts[me][given]);
+        toggleHand(me, received, counts[me][received]++);
+        toggleHand(mate, given, counts[mate][given]++);
+        hands[mate][mateIndex] = given;
+        hands[me][ownIndex] = received;
+        sort(hands[me], sizes[me]);
+        sort(hands[mate], sizes[mate]);
+        known[me] = 0;
+        known[mate] = 0;
+        exchangeUsed = true;
+        toggleCommon(Zobrist.EXCHANGE_USED);
+        return received;
+    }
+
+    static void sort(int[] values, int size) {
+        sort(values, 0, size);
+    }
+
+    /**
+     * Tri par insertion de values[from, to) (quelques cartes)
+     */
+    static void sort(int[] values, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            int v = values[i];
+            int j = i - 1;
+            while (j >= from && values[j] > v) {
+                values[j + 1] = values[j];
+                j--;
+            }
+            values[j + 1] = v;
+        }
+    }
+
+    // ===== SIMULATION =====
+
+    /**
+     * Poursuit la partie avec une politique rapide : fin du tour du joueur
+     * me (trios enchaînés compris), puis horizon tours de plus
+     *
+     * @return 1 si le joueur ou l'équipe de me gagne, 0 s'il perd, sinon sa
+     *         part des trios à l'horizon
+     */
+    double playout(int me, int horizon, SplittableRandom random) {
+        int holder = holderOf[me];
+        int winner = winner();
+        while (winner < 0 && current == me) {
+            apply(playoutAction(random), random);
+            winner = winner();
+        }
+        int maxTurns = turns + horizon;
+        while (winner < 0 && turns < maxTurns) {
+            apply(playoutAction(random), random);
+            winner = winner();
+        }
+        if (winner >= 0) {
+            return winner == holder ? 1 : 0;
+        }
+        return share(holder);
+    }
+
+    /**
+     * Évaluation d'une partie en cours : part des trios (lissée) du joueur
+     * ou de l'équipe
+     */
+    double share(int holder) {
+        int total = 0;
+        for (int h = 0; h < nbHolders; h++) {
+            total += trios[h] + 1;
+        }
+        return (double) (trios[holder] + 1) / total;
+    }
+
+    /**
+     * Politique de simulation : chaque joueur connaît sa main et les cartes
+     * déjà vues de tous. Il ouvre avec son extrême le plus prometteur, puis
+     * suit une carte connue de la bonne valeur ou tente sa chance au hasard.
+     */
+    int playoutAction(SplittableRandom random) {
+        int me = current;
+        if (revealedCount == 0) {
+            int low = lowSlot(me);
+            if (low >= 0) {
+                int high = highSlot(me);
+                int lowScore = openingScore(hands[me][low], me);
+                int highScore = openingScore(hands[me][high], me);
+                if (lowScore != highScore) {
+                    return lowScore > highScore ? OWN_MIN : OWN_MAX;
+                }
+                return random.nextBoolean() ? OWN_MIN : OWN_MAX;
+            }
+            return randomGuess(me, random);
+        }
+
+        int target = revealedValue;
+        int low = lowSlot(me);
+        if (low >= 0 && hands[me][low] == target) {
+            return OWN_MIN;
+        }
+        int high = highSlot(me);
+        if (high >= 0 && hands[me][high] == target) {
+            return OWN_MAX;
+        }
+        for (int s = 0; s < nbSeats; s++) {
+            if (s == me) {
+                continue;
+            }
+            low = lowSlot(s);
+            if (low >= 0 && (known[s] & (1 << low)) != 0 && hands[s][low] == target) {
+                return Move.of(OTHER_MIN, s);
+            }
+            high = highSlot(s);
+            if (high >= 0 && (known[s] & (1 << high)) != 0 && hands[s][high] == target) {
+                return Move.of(OTHER_MAX, s);
+            }
+        }
+        for (int i = 0; i < centerSize; i++) {
+            if ((centerKnown & ~centerVisible & (1 << i)) != 0 && center[i] == target) {
+                return Move.of(CENTER, i);
+            }
+        }
+        return randomGuess(me, random);
+    }
+
+    /**
+     * Copies de la valeur que le joueur sait pouvoir retourner ensuite
+     */
+    private int openingScore(int value, int me) {
+        int score = -1;
+        for (int i = 0; i < sizes[me]; i++) {
+            if (hands[me][i] == value) {
+                score++;
+            }
+        }
+        for (int s = 0; s < nbSeats; s++) {
+            if (s != me) {
+                int low = lowSlot(s);
+                int high = highSlot(s);
+                if (low >= 0 && (known[s] & (1 << low)) != 0 && hands[s][low] == value) {
+                    score++;
+                }
+                if (high > low && (known[s] & (1 << high)) != 0 && hands[s][high] == value) {
+                    score++;
+                }
+            }
+        }
+        for (int i = 0; i < centerSize; i++) {
+            if ((centerKnown & (1 << i)) != 0 && center[i] == value) {
+                score++;
+            }
+        }
+        return score;
+    }
+
+    /**
+     * Une extrémité cachée d'un autre joueur ou une carte cachée du centre,
+     * au hasard ; arrêt si plus rien n'est caché
+     */
+    private int randomGuess(int me, SplittableRandom random) {
+        int candidates = 0;
+        for (int s = 0; s < nbSeats; s++) {
+            if (s != me && lowSlot(s) >= 0) {
+                candidates += 2;
+            }
+        }
+        int hiddenCenter = ~centerVisible & ((1 << centerSize) - 1);
+        candidates += Integer.bitCount(hiddenCenter);
+        if (candidates == 0) {
+            return STOP;
+        }
+        int pick = random.nextInt(candidates);
+        for (int s = 0; s < nbSeats; s++) {
+            if (s != me && lowSlot(s) >= 0) {
+                if (pick < 2) {
+                    return Move.of(pick == 0 ? OTHER_MIN : OTHER_MAX, s);
+                }
+                pick -= 2;
+            }
+        }
+        for (int i = 0; i < centerSize; i++) {
+            if ((hiddenCenter & (1 << i)) != 0 && pick-- == 0) {
+                return Move.of(CENTER, i);
+            }
+        }
+        return STOP;
+    }
+}
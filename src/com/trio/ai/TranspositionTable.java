@@ -0,0 +1,152 @@
+package com.trio.ai;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Table de transposition bornée, partagée par les fils de recherche : pour
+ * une clé (position vue par le Bot, combinée à une action), le nombre de
+ * simulations passées par là et leur gain cumulé.
+ *
+ * Chaque entrée tient sur deux longs : la clé, puis les données. Une clé
+ * se range dans l'une des deux entrées de son seau ; à défaut, on remplace
+ * la moins visitée. Les entrées d'une recherche précédente (autre
+ * génération) sont libres.
+ *
+ * Écritures : le bit de verrou du mot de données de la première entrée
+ * protège tout le seau, le temps de quelques écritures. Aucune simulation
+ * n'est perdue et une clé ne change que sous ce verrou, avec le bit de
+ * verrou posé sur son entrée. Lectures sans verrou : les données sont lues
+ * avant et après la clé, et une entrée verrouillée ou modifiée entre-temps
+ * passe pour absente.
+ */
+final class TranspositionTable {
+
+    // Attributs
+    private static final int VISIT_BITS = 24;
+    private static final int WIN_BITS = 28;
+    private static final int WIN_SCALE = 16; // Gains en seizièmes
+    private static final long VISIT_MASK = (1L << VISIT_BITS) - 1;
+    private static final long WIN_MASK = (1L << WIN_BITS) - 1;
+    private static final int GENERATION_SHIFT = VISIT_BITS + WIN_BITS;
+    private static final int GENERATION_MASK = (1 << (63 - GENERATION_SHIFT)) - 1;
+    private static final long LOCK = 1L << 63; // Entrée en cours d'écriture
+
+    private final AtomicLongArray table; // [clé, données] par entrée
+    private final int bucketMask;
+    private volatile int generation = 1;
+
+    // Constructeurs
+
+    /**
+     * @param bits la table compte 2^bits entrées (16 octets chacune)
+     */
+    TranspositionTable(int bits) {
+        this.table = new AtomicLongArray(2 << bits);
+        this.bucketMask = (1 << bits) - 2; // Seaux de deux entrées
+    }
+
+    // Getters
+    static int visits(long data) {
+        return (int) (data & VISIT_MASK);
+    }
+
+    static double wins(long data) {
+        return (double) ((data >>> VISIT_BITS) & WIN_MASK) / WIN_SCALE;
+    }
+
+    // Méthodes Métier
+
+    /**
+     * Nouvelle recherche : les entrées existantes deviennent libres (sans
+     * effacer la table)
+     */
+    void newSearch() {
+        int next = (generation + 1) & GENERATION_MASK;
+        generation = next == 0 ? 1 : next;
+    }
+
+    /**
+     * @return les données de la clé (visits, wins), 0 si absente
+     */
+    long probe(long key) {
+        int entry = (int) key & bucketMask;
+        long found = read(entry, key);
+        return found != 0 ? found : read(entry + 1, key);
+    }
+
+    private long read(int entry, long key) {
+        long data = table.get(2 * entry + 1);
+        if ((data & LOCK) != 0 || table.get(2 * entry) != key || table.get(2 * entry + 1) != data
+                || generationOf(data) != generation) {
+            return 0;
+        }
+        return data;
+    }
+
+    /**
+     * Ajoute une simulation de gain reward (entre 0 et 1) à la clé
+     */
+    void add(long key, double reward) {
+        long winsUnits = Math.round(reward * WIN_SCALE);
+        int bucket = (int) key & bucketMask;
+        long first = lock(bucket);
+        long second = table.get(2 * bucket + 3);
+        int gen = generation;
+
+        // Sous le verrou, les clés du seau ne changent pas
+        boolean inFirst = table.get(2 * bucket) == key && generationOf(first) == gen;
+        boolean inSecond = !inFirst && table.get(2 * bucket + 2) == key && generationOf(second) == gen;
+        int entry = inFirst ? bucket : inSecond ? bucket + 1 : victim(bucket, first, second, gen);
+        long data = inFirst ? first : inSecond ? second : 0;
+        long next = data == 0 ? pack(1, winsUnits, gen)
+                : pack(visits(data) + 1, ((data >>> VISIT_BITS) & WIN_MASK) + winsUnits, gen);
+
+        if (entry == bucket) {
+            table.set(2 * bucket, key);
+            table.set(2 * bucket + 1, next); // Déverrouille le seau
+        } else {
+            table.set(2 * bucket + 3, second | LOCK);
+            table.set(2 * bucket + 2, key);
+            table.set(2 * bucket + 3, next);
+            table.set(2 * bucket + 1, first);
+        }
+    }
+
+    /**
+     * Pose le bit de verrou de l'entrée
+     *
+     * @return ses données, sans le bit de verrou
+     */
+    private long lock(int entry) {
+        while (true) {
+            long data = table.get(2 * entry + 1);
+            if ((data & LOCK) == 0 && table.compareAndSet(2 * entry + 1, data, data | LOCK)) {
+                return data;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Entrée du seau à remplacer : libre ou périmée d'abord, sinon la moins
+     * visitée
+     */
+    private static int victim(int bucket, long first, long second, int gen) {
+        if (generationOf(first) != gen) {
+            return bucket;
+        }
+        if (generationOf(second) != gen) {
+            return bucket + 1;
+        }
+        return visits(first) <= visits(second) ? bucket : bucket + 1;
+    }
+
+    private static int generationOf(long data) {
+        return (int) (data >>> GENERATION_SHIFT) & GENERATION_MASK;
+    }
+
+    private static long pack(long visits, long winsUnits, int gen) {
+        return Math.min(visits, VISIT_MASK) | Math.min(winsUnits, WIN_MASK) << VISIT_BITS
+                | (long) gen << GENERATION_SHIFT;
+    }
+}
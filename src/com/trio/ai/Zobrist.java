@@ -0,0 +1,109 @@
+package com.trio.ai;
+
+import java.util.SplittableRandom;
+
+/**
+ * Clés aléatoires de 64 bits pour le hachage incrémental de SearchState :
+ * la clé d'une position est le XOR des clés de ses éléments, et chaque
+ * coup n'ajoute ou ne retire que quelques clés.
+ *
+ * Une main étant toujours triée, elle est hachée comme un multi-ensemble
+ * (siège, valeur, n-ième exemplaire) : retirer ou recevoir une carte ne
+ * touche qu'une clé, sans dépendre des positions qui se décalent. Les clés
+ * sont tirées d'une graine fixe : mêmes clés d'une exécution à l'autre.
+ */
+final class Zobrist {
+
+    // Attributs
+    static final int MAX_SEATS = 6;
+    static final int NB_VALUES = 16;
+    static final int MAX_COPIES = 16;
+    static final int MAX_SLOTS = 32;
+
+    private static final long[] HAND = new long[MAX_SEATS * NB_VALUES * MAX_COPIES];
+    private static final long[] HAND_SIZE = new long[MAX_SEATS * (MAX_SLOTS + 1)];
+    private static final long[] SLOT_VISIBLE = new long[MAX_SEATS * MAX_SLOTS];
+    private static final long[] SLOT_SEEN = new long[MAX_SEATS * MAX_SLOTS * NB_VALUES];
+    private static final long[] CENTER = new long[MAX_SLOTS * NB_VALUES];
+    private static final long[] CENTER_SIZE = new long[MAX_SLOTS + 1];
+    private static final long[] CENTER_VISIBLE = new long[MAX_SLOTS];
+    private static final long[] CENTER_SEEN = new long[MAX_SLOTS * NB_VALUES];
+    private static final long[] TRIOS = new long[MAX_SEATS * MAX_COPIES];
+    private static final long[] SEVEN = new long[MAX_SEATS];
+    private static final long[] TURN = new long[MAX_SEATS];
+    static final long EXCHANGE_USED;
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x7A0B_2157_7210_C0DEL);
+        for (long[] keys : new long[][] { HAND, HAND_SIZE, SLOT_VISIBLE, SLOT_SEEN, CENTER, CENTER_SIZE,
+                CENTER_VISIBLE, CENTER_SEEN, TRIOS, SEVEN, TURN }) {
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = random.nextLong();
+            }
+        }
+        EXCHANGE_USED = random.nextLong();
+    }
+
+    private Zobrist() {
+    }
+
+    // Getters
+
+    /** copy-ième exemplaire (à partir de 0) de la valeur dans la main du siège */
+    static long hand(int seat, int value, int copy) {
+        return HAND[(seat * NB_VALUES + value) * MAX_COPIES + copy];
+    }
+
+    static long handSize(int seat, int size) {
+        return HAND_SIZE[seat * (MAX_SLOTS + 1) + size];
+    }
+
+    /** Carte de la main retournée (position seulement : la valeur suit de la main) */
+    static long slotVisible(int seat, int slot) {
+        return SLOT_VISIBLE[seat * MAX_SLOTS + slot];
+    }
+
+    /** Carte de la main retournée, vue par un joueur qui ne connaît pas la main */
+    static long slotSeen(int seat, int slot, int value) {
+        return SLOT_SEEN[(seat * MAX_SLOTS + slot) * NB_VALUES + value];
+    }
+
+    static long center(int index, int value) {
+        return CENTER[index * NB_VALUES + value];
+    }
+
+    static long centerSize(int size) {
+        return CENTER_SIZE[size];
+    }
+
+    static long centerVisible(int index) {
+        return CENTER_VISIBLE[index];
+    }
+
+    static long centerSeen(int index, int value) {
+        return CENTER_SEEN[index * NB_VALUES + value];
+    }
+
+    static long trios(int holder, int count) {
+        return TRIOS[holder * MAX_COPIES + Math.min(count, MAX_COPIES - 1)];
+    }
+
+    static long seven(int holder) {
+        return SEVEN[holder];
+    }
+
+    static long turn(int seat) {
+        return TURN[seat];
+    }
+
+    /**
+     * Clé d'une action, à combiner avec la clé d'une position (brassage
+     * SplitMix64 du code de l'action)
+     */
+    static long action(int action) {
+        long z = (action + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -3,10 +3,13 @@ package com.trio.controller;
 import com.trio.model.*;
 
 import java.io.*;
+import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service de gestion des données persistantes.
@@ -15,9 +18,9 @@ import java.util.List;
 public class DataService {
 
     private static DataService instance;
-    private static final String USER_LOGS_PATH = "logs/UserLogs.txt";
     private static final String GAME_RESULTS_PATH = "logs/GameResults.txt";
     private final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private final Map<String, RollingLogFile> files = new HashMap<>(); // Fichiers texte ouverts, par chemin
 
     private DataService() {
         // Créer le dossier logs s'il n'existe pas
@@ -27,7 +30,7 @@ public class DataService {
         }
     }
 
-    public static DataService getInstance() {
+    public static synchronized DataService getInstance() {
         if (instance == null) {
             instance = new DataService();
         }
@@ -59,6 +62,14 @@ public class DataService {
         result.append("========================\n");
 
         writeToFile(GAME_RESULTS_PATH, result.toString());
+
+        List<GameResultStore.Participant> participants = new ArrayList<>(players.size());
+        for (Player player : players) {
+            participants.add(participant(player, player == winner));
+        }
+        GameResultStore.getInstance().append(new GameResultStore.GameRecord(System.currentTimeMillis(),
+                GameResultStore.MODE_SOLO, winner.getTrioCount(), participants));
+
         Logs.getInstance().writeLogs("Résultat de partie enregistré pour " + winner.getPseudo());
     }
 
@@ -91,9 +102,45 @@ public class DataService {
         result.append("=================================\n");
 
         writeToFile(GAME_RESULTS_PATH, result.toString());
+
+        List<GameResultStore.Participant> participants = new ArrayList<>();
+        for (Team team : teams) {
+            for (Player player : team.getPlayers()) {
+                participants.add(participant(player, team == winningTeam));
+            }
+        }
+        GameResultStore.getInstance().append(new GameResultStore.GameRecord(System.currentTimeMillis(),
+                GameResultStore.MODE_TEAM, winningTeam.getTrioCount(), participants));
+
         Logs.getInstance().writeLogs("Résultat de partie équipe enregistré pour " + winningTeam.getName());
     }
 
+    /**
+     * Participant d'une partie pour l'historique (ID 0 si ce n'est pas un User)
+     */
+    private GameResultStore.Participant participant(Player player, boolean winner) {
+        int userId = player instanceof User ? ((User) player).getId() : 0;
+        return new GameResultStore.Participant(userId, player.getPseudo(), winner);
+    }
+
+    // ===== HISTORIQUE DES PARTIES =====
+
+    /**
+     * Les n dernières parties d'un utilisateur, de la plus récente à la plus
+     * ancienne
+     */
+    public List<GameResultStore.GameRecord> getLastGames(User user, int n) {
+        return GameResultStore.getInstance().getLastGames(user.getId(), n);
+    }
+
+    /**
+     * Taux de victoire (entre 0 et 1) d'un utilisateur dans un mode
+     * (GameResultStore.MODE_SOLO ou GameResultStore.MODE_TEAM)
+     */
+    public double getWinRate(User user, int mode) {
+        return GameResultStore.getInstance().getWinRate(user.getId(), mode);
+    }
+
     // ===== GESTION DES VICTOIRES =====
 
     /**
@@ -111,8 +158,9 @@ public class DataService {
         Logs.getInstance()
                 .writeLogs("Victoire ajoutée pour " + user.getName() + " (Total: " + user.getNBVictoire() + ")");
 
-        // Mettre à jour le fichier UserLogs.txt
+        // Mettre à jour l'enregistrement de l'utilisateur
         updateUserInFile(user);
+        LeaderboardService.getInstance().update(user);
     }
 
     /**
@@ -128,114 +176,56 @@ public class DataService {
                 Logs.getInstance().writeLogs(
                         "Victoire ajoutée pour " + user.getName() + " (Total: " + user.getNBVictoire() + ")");
                 updateUserInFile(user);
+                LeaderboardService.getInstance().update(user);
             }
         }
     }
 
     /**
-     * Met à jour les informations d'un User dans le fichier UserLogs.txt
+     * Met à jour les informations d'un User (écriture différée)
      */
     private void updateUserInFile(User user) {
-        File file = new File(USER_LOGS_PATH);
-        if (!file.exists()) {
-            // Si le fichier n'existe pas, créer une nouvelle entrée
-            saveNewUser(user);
-            return;
-        }
-
-        List<String> lines = new ArrayList<>();
-        boolean found = false;
-
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                if (line.contains("ID: " + user.getId() + " |")) {
-                    // Mettre à jour cette ligne
-                    line = String.format("ID: %d | Name: %s | Age: %d | Victories: %d",
-                            user.getId(), user.getName(), user.getAge(), user.getNBVictoire());
-                    found = true;
-                }
-                lines.add(line);
-            }
-        } catch (IOException e) {
-            Logs.getInstance().writeLogs("Erreur lecture UserLogs: " + e.getMessage());
-            return;
-        }
-
-        if (!found) {
-            // L'utilisateur n'existe pas dans le fichier, l'ajouter
-            lines.add(String.format("ID: %d | Name: %s | Age: %d | Victories: %d",
-                    user.getId(), user.getName(), user.getAge(), user.getNBVictoire()));
-        }
-
-        // Réécrire le fichier
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
-            for (String l : lines) {
-                writer.write(l);
-                writer.newLine();
-            }
-        } catch (IOException e) {
-            Logs.getInstance().writeLogs("Erreur écriture UserLogs: " + e.getMessage());
-        }
+        UserRepository.getInstance().update(user);
     }
 
+    // ===== GESTION DES UTILISATEURS =====
+
     /**
      * Sauvegarde un nouvel utilisateur
+     * Vérifie que l'ID n'existe pas déjà, sinon attribue un nouvel ID unique
      */
     public void saveNewUser(User user) {
-        String logLine = String.format("ID: %d | Name: %s | Age: %d | Victories: %d",
-                user.getId(), user.getName(), user.getAge(), user.getNBVictoire());
-        writeToFile(USER_LOGS_PATH, logLine);
+        UserRepository.getInstance().add(user);
+        LeaderboardService.getInstance().update(user);
         Logs.getInstance().writeLogs("Nouvel utilisateur enregistré: " + user.getName());
     }
 
     /**
-     * Charge tous les utilisateurs depuis le fichier
+     * Retourne l'utilisateur d'ID donné, ou null s'il n'existe pas
      */
-    public List<User> loadAllUsers() {
-        List<User> users = new ArrayList<>();
-        File file = new File(USER_LOGS_PATH);
-
-        if (!file.exists()) {
-            return users;
-        }
-
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                if (line.trim().isEmpty())
-                    continue;
+    public User findUser(int userId) {
+        return UserRepository.getInstance().findById(userId);
+    }
 
-                User user = parseUserFromLog(line);
-                if (user != null) {
-                    users.add(user);
-                }
-            }
-        } catch (IOException e) {
-            Logs.getInstance().writeLogs("Erreur chargement utilisateurs: " + e.getMessage());
-        }
+    /**
+     * Retourne l'utilisateur portant ce nom, ou null s'il n'existe pas
+     */
+    public User findUserByName(String name) {
+        return UserRepository.getInstance().findByName(name);
+    }
 
-        return users;
+    /**
+     * Vérifie si au moins un utilisateur est enregistré
+     */
+    public boolean hasUsers() {
+        return !UserRepository.getInstance().isEmpty();
     }
 
     /**
-     * Parse une ligne de log pour créer un User
+     * Charge tous les utilisateurs, triés par ID
      */
-    private User parseUserFromLog(String line) {
-        try {
-            String[] parts = line.split("\\|");
-            if (parts.length < 4)
-                return null;
-
-            int id = Integer.parseInt(parts[0].replace("ID:", "").trim());
-            String name = parts[1].replace("Name:", "").trim();
-            int age = Integer.parseInt(parts[2].replace("Age:", "").trim());
-            int victories = Integer.parseInt(parts[3].replace("Victories:", "").trim());
-
-            return new User(id, name, age, victories);
-        } catch (Exception e) {
-            return null;
-        }
+    public List<User> loadAllUsers() {
+        return UserRepository.getInstance().findAll();
     }
 
     // ===== MÉTHODES LEGACY =====
@@ -250,11 +240,15 @@ public class DataService {
 
     // ===== UTILITAIRES =====
 
-    private void writeToFile(String filePath, String content) {
-        try (FileWriter fw = new FileWriter(filePath, true);
-                BufferedWriter bw = new BufferedWriter(fw)) {
-            bw.write(content);
-            bw.newLine();
+    /**
+     * Ajoute le contenu au fichier, découpé en segments (voir RollingLogFile)
+     */
+    private synchronized void writeToFile(String filePath, String content) {
+        try {
+            RollingLogFile file = files.computeIfAbsent(filePath,
+                    p -> RollingLogFile.fromSystemProperties(Paths.get(p)));
+            file.writeLine(content);
+            file.flush();
         } catch (IOException e) {
             Logs.getInstance().writeLogs("Erreur écriture fichier " + filePath + ": " + e.getMessage());
         }
@@ -0,0 +1,420 @@
+package com.trio.controller;
+
+import com.trio.model.*;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Historique des parties, en ajout seul.
+ *
+ * GameResults.dat : en-tête de fichier (magique, version) puis une suite
+ * d'enregistrements. Chaque enregistrement a un en-tête fixe de 13 octets
+ * (taille du corps, mode, date en millisecondes) suivi d'un corps en varints
+ * (trios du vainqueur, puis pour chaque participant : ID utilisateur et
+ * drapeau de victoire, pseudo en UTF-8).
+ *
+ * GameResults.idx : index secondaire par utilisateur, une entrée de 13 octets
+ * (ID, mode et victoire, position dans le .dat) par utilisateur enregistré
+ * et par partie. L'index est chargé en mémoire à l'ouverture : les
+ * dernières parties d'un joueur se lisent sans parcourir le fichier et le
+ * taux de victoire par mode ne lit pas le disque.
+ */
+public class GameResultStore {
+
+    // Attributs
+    private static GameResultStore instance;
+    private static final String DATA_PATH = "logs/GameResults.dat";
+    private static final String INDEX_PATH = "logs/GameResults.idx";
+
+    public static final int MODE_SOLO = 0;
+    public static final int MODE_TEAM = 1;
+    private static final int MODE_COUNT = 2;
+
+    private static final int DATA_MAGIC = 0x54524947; // "TRIG"
+    private static final int INDEX_MAGIC = 0x54524958; // "TRIX"
+    private static final int VERSION = 1;
+    private static final int FILE_HEADER_SIZE = 8;
+    private static final int RECORD_HEADER_SIZE = 13;
+    private static final int INDEX_ENTRY_SIZE = 13;
+
+    private final FileChannel data;
+    private final FileChannel index;
+    private final Map<Integer, History> histories;
+    private ByteBuffer buffer; // Tampon d'écriture réutilisé
+
+    /**
+     * Participant d'une partie enregistrée (userId = 0 pour un bot)
+     */
+    public static final class Participant {
+        private final int userId;
+        private final String name;
+        private final boolean winner;
+
+        public Participant(int userId, String name, boolean winner) {
+            this.userId = userId;
+            this.name = name;
+            this.winner = winner;
+        }
+
+        public int getUserId() {
+            return userId;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean isWinner() {
+            return winner;
+        }
+    }
+
+    /**
+     * Partie enregistrée
+     */
+    public static final class GameRecord {
+        private final long timeMillis;
+        private final int mode;
+        private final int winnerTrios;
+        private final List<Participant> participants;
+
+        public GameRecord(long timeMillis, int mode, int winnerTrios, List<Participant> participants) {
+            this.timeMillis = timeMillis;
+            this.mode = mode;
+            this.winnerTrios = winnerTrios;
+            this.participants = Collections.unmodifiableList(new ArrayList<>(participants));
+        }
+
+        public long getTimeMillis() {
+            return timeMillis;
+        }
+
+        public int getMode() {
+            return mode;
+        }
+
+        public int getWinnerTrios() {
+            return winnerTrios;
+        }
+
+        public List<Participant> getParticipants() {
+            return participants;
+        }
+
+        /**
+         * Vrai si l'utilisateur d'ID donné fait partie des vainqueurs
+         */
+        public boolean isWonBy(int userId) {
+            for (Participant p : participants) {
+                if (p.userId == userId && p.winner) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Historique en mémoire d'un utilisateur : positions de ses parties dans
+     * le .dat et compteurs par mode
+     */
+    private static final class History {
+        long[] offsets = new long[8];
+        int size;
+        final int[] games = new int[MODE_COUNT];
+        final int[] wins = new int[MODE_COUNT];
+
+        void add(long offset, int mode, boolean won) {
+            if (size == offsets.length) {
+                offsets = Arrays.copyOf(offsets, size * 2);
+            }
+            offsets[size++] = offset;
+            games[mode]++;
+            if (won) {
+                wins[mode]++;
+            }
+        }
+    }
+
+    // Constructeurs
+    private GameResultStore(Path dataPath, Path indexPath) throws IOException {
+        this.histories = new HashMap<>();
+        this.buffer = ByteBuffer.allocate(256);
+        this.data = openWithHeader(dataPath, DATA_MAGIC);
+        this.index = openWithHeader(indexPath, INDEX_MAGIC);
+        loadIndex();
+    }
+
+    public static synchronized GameResultStore getInstance() {
+        if (instance == null) {
+            try {
+                Files.createDirectories(Paths.get(DATA_PATH).getParent());
+                instance = new GameResultStore(Paths.get(DATA_PATH), Paths.get(INDEX_PATH));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Impossible d'ouvrir " + DATA_PATH, e);
+            }
+        }
+        return instance;
+    }
+
+    // Méthodes Métier
+
+    /**
+     * Ajoute une partie à la fin de l'historique
+     */
+    public synchronized void append(GameRecord record) {
+        try {
+            long offset = data.size();
+            writeRecord(record, offset);
+
+            // Index : une entrée par utilisateur enregistré
+            buffer.clear();
+            for (Participant p : record.participants) {
+                if (p.userId > 0) {
+                    ensureCapacity(INDEX_ENTRY_SIZE);
+                    buffer.putInt(p.userId);
+                    buffer.put((byte) (record.mode << 1 | (p.winner ? 1 : 0)));
+                    buffer.putLong(offset);
+                    history(p.userId).add(offset, record.mode, p.winner);
+                }
+            }
+            buffer.flip();
+            writeFully(index, buffer, index.size());
+        } catch (IOException e) {
+            Logs.getInstance().writeLogs("Erreur écriture historique des parties: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Les n dernières parties d'un utilisateur, de la plus récente à la plus
+     * ancienne
+     */
+    public synchronized List<GameRecord> getLastGames(int userId, int n) {
+        History history = histories.get(userId);
+        List<GameRecord> records = new ArrayList<>();
+        if (history == null) {
+            return records;
+        }
+        for (int i = history.size - 1; i >= 0 && records.size() < n; i--) {
+            try {
+                records.add(readRecord(history.offsets[i]));
+            } catch (IOException | RuntimeException e) {
+                // Enregistrement illisible : on passe aux parties plus anciennes
+                Logs.getInstance().writeLogs("Erreur lecture historique des parties: " + e.getMessage());
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Nombre de parties d'un utilisateur dans un mode
+     */
+    public synchronized int getGamesPlayed(int userId, int mode) {
+        History history = histories.get(userId);
+        return history == null ? 0 : history.games[mode];
+    }
+
+    /**
+     * Nombre de victoires d'un utilisateur dans un mode
+     */
+    public synchronized int getWins(int userId, int mode) {
+        History history = histories.get(userId);
+        return history == null ? 0 : history.wins[mode];
+    }
+
+    /**
+     * Taux de victoire (entre 0 et 1) d'un utilisateur dans un mode
+     */
+    public synchronized double getWinRate(int userId, int mode) {
+        int games = getGamesPlayed(userId, mode);
+        return games == 0 ? 0.0 : (double) getWins(userId, mode) / games;
+    }
+
+    // ===== ENREGISTREMENTS =====
+
+    private void writeRecord(GameRecord record, long offset) throws IOException {
+        buffer.clear();
+        buffer.position(RECORD_HEADER_SIZE);
+        putVarint(record.winnerTrios);
+        putVarint(record.participants.size());
+        for (Participant p : record.participants) {
+            byte[] name = p.name.getBytes(StandardCharsets.UTF_8);
+            putVarint((long) p.userId << 1 | (p.winner ? 1 : 0));
+            putVarint(name.length);
+            ensureCapacity(name.length);
+            buffer.put(name);
+        }
+
+        int bodyLength = buffer.position() - RECORD_HEADER_SIZE;
+        buffer.putInt(0, bodyLength);
+        buffer.put(4, (byte) record.mode);
+        buffer.putLong(5, record.timeMillis);
+        buffer.flip();
+        writeFully(data, buffer, offset);
+    }
+
+    private GameRecord readRecord(long offset) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+        readFully(header, offset);
+        int bodyLength = header.getInt(0);
+        int mode = header.get(4);
+        long timeMillis = header.getLong(5);
+
+        ByteBuffer body = ByteBuffer.allocate(bodyLength);
+        readFully(body, offset + RECORD_HEADER_SIZE);
+        int winnerTrios = (int) getVarint(body);
+        int count = (int) getVarint(body);
+        List<Participant> participants = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long idAndWinner = getVarint(body);
+            byte[] name = new byte[(int) getVarint(body)];
+            body.get(name);
+            participants.add(new Participant((int) (idAndWinner >>> 1), new String(name, StandardCharsets.UTF_8),
+                    (idAndWinner & 1) != 0));
+        }
+        return new GameRecord(timeMillis, mode, winnerTrios, participants);
+    }
+
+    private History history(int userId) {
+        return histories.computeIfAbsent(userId, id -> new History());
+    }
+
+    /**
+     * Charge l'index en mémoire. Les entrées qui pointent vers un
+     * enregistrement incomplet du .dat (écriture interrompue) sont ignorées
+     * et retirées de l'index, avec toutes celles qui les suivent.
+     */
+    private void loadIndex() throws IOException {
+        long dataSize = data.size();
+        long size = index.size();
+        long valid = FILE_HEADER_SIZE;
+        boolean corrupted = false;
+        ByteBuffer chunk = ByteBuffer.allocate(INDEX_ENTRY_SIZE * 4096);
+        ByteBuffer header = ByteBuffer.allocate(4);
+        long checked = -1; // Dernier enregistrement vérifié (ses entrées se suivent)
+
+        while (!corrupted && valid < size) {
+            chunk.clear();
+            if (index.read(chunk, valid) <= 0) {
+                break;
+            }
+            chunk.flip();
+            if (chunk.remaining() < INDEX_ENTRY_SIZE) {
+                break; // Dernière entrée incomplète
+            }
+            while (chunk.remaining() >= INDEX_ENTRY_SIZE) {
+                int userId = chunk.getInt();
+                int flags = chunk.get();
+                long offset = chunk.getLong();
+                if (offset != checked) {
+                    if (!isComplete(offset, dataSize, header)) {
+                        corrupted = true;
+                        break;
+                    }
+                    checked = offset;
+                }
+                history(userId).add(offset, flags >> 1, (flags & 1) != 0);
+                valid += INDEX_ENTRY_SIZE;
+            }
+        }
+
+        if (valid < size) {
+            Logs.getInstance().writeLogs("Index des parties : " + (size - valid) / INDEX_ENTRY_SIZE
+                    + " entrées vers des parties incomplètes retirées");
+            index.truncate(valid);
+        }
+    }
+
+    /**
+     * Vrai si l'enregistrement commençant à offset (en-tête et corps) tient
+     * entièrement dans le .dat
+     */
+    private boolean isComplete(long offset, long dataSize, ByteBuffer header) throws IOException {
+        if (offset < FILE_HEADER_SIZE || offset + RECORD_HEADER_SIZE > dataSize) {
+            return false;
+        }
+        header.clear();
+        readFully(header, offset);
+        int bodyLength = header.getInt(0);
+        return bodyLength >= 0 && offset + RECORD_HEADER_SIZE + bodyLength <= dataSize;
+    }
+
+    // ===== UTILITAIRES =====
+
+    private static FileChannel openWithHeader(Path path, int magic) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE);
+        if (channel.size() < FILE_HEADER_SIZE) {
+            header.putInt(magic).putInt(VERSION).flip();
+            channel.truncate(0);
+            writeFully(channel, header, 0);
+        } else {
+            channel.read(header, 0);
+            if (header.getInt(0) != magic || header.getInt(4) != VERSION) {
+                channel.close();
+                throw new IOException("Fichier d'historique invalide : " + path);
+            }
+        }
+        return channel;
+    }
+
+    private void readFully(ByteBuffer target, long position) throws IOException {
+        while (target.hasRemaining()) {
+            int read = data.read(target, position + target.position());
+            if (read < 0) {
+                throw new EOFException("Enregistrement incomplet à la position " + position);
+            }
+        }
+        target.flip();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer source, long position) throws IOException {
+        while (source.hasRemaining()) {
+            position += channel.write(source, position);
+        }
+    }
+
+    private void putVarint(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static long getVarint(ByteBuffer source) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = source.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Varint trop long");
+    }
+
+    private void ensureCapacity(int extra) {
+        if (buffer.remaining() < extra) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + extra));
+            buffer.flip();
+            larger.put(buffer);
+            buffer = larger;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.trio.controller;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool de threads partagé par les contrôleurs de partie.
+ * Une partie n'occupe un thread que pendant qu'elle calcule : en attente
+ * d'un clic ou d'une pause d'affichage, elle n'a qu'une continuation
+ * enregistrée. Quelques threads suffisent donc pour beaucoup de parties.
+ */
+public final class GameScheduler {
+
+    // Attributs
+    private static final ScheduledExecutorService SHARED = create();
+
+    // Constructeurs
+    private GameScheduler() {
+    }
+
+    // Getters
+    public static ScheduledExecutorService shared() {
+        return SHARED;
+    }
+
+    // Méthodes Métier
+    private static ScheduledExecutorService create() {
+        AtomicInteger counter = new AtomicInteger();
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(
+                Math.max(2, Runtime.getRuntime().availableProcessors()), r -> {
+                    Thread thread = new Thread(r, "trio-game-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
+}
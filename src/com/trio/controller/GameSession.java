@@ -0,0 +1,84 @@
+package com.trio.controller;
+
+import com.trio.model.TrioHolder;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Partie hébergée par le GameSessionManager.
+ * Le statut se déduit du résultat de la partie : une session ne retient
+ * qu'un identifiant, son résultat et le moyen de l'annuler.
+ */
+public class GameSession {
+
+    /**
+     * Cycle de vie d'une session
+     */
+    public enum Status {
+        RUNNING, // Partie en cours (ou en attente d'un choix)
+        FINISHED, // Partie terminée avec un vainqueur
+        CANCELLED, // Fenêtre fermée ou arrêt demandé
+        FAILED // Erreur pendant la partie
+    }
+
+    // Attributs
+    private final long id;
+    private final int mode; // GameResultStore.MODE_SOLO ou MODE_TEAM
+    private final long startedAt;
+    private final CompletableFuture<TrioHolder> result;
+    private final Runnable canceller;
+
+    // Constructeurs
+    GameSession(long id, int mode, CompletableFuture<TrioHolder> result, Runnable canceller) {
+        this.id = id;
+        this.mode = mode;
+        this.startedAt = System.currentTimeMillis();
+        this.result = result;
+        this.canceller = canceller;
+    }
+
+    // Getters
+    public long getId() {
+        return id;
+    }
+
+    public int getMode() {
+        return mode;
+    }
+
+    public long getStartedAt() {
+        return startedAt;
+    }
+
+    /**
+     * Vainqueur de la partie ; se termine par une CancellationException si la
+     * session est annulée
+     */
+    public CompletableFuture<TrioHolder> getResult() {
+        return result;
+    }
+
+    public Status getStatus() {
+        if (!result.isDone()) {
+            return Status.RUNNING;
+        }
+        if (result.isCancelled()) {
+            return Status.CANCELLED;
+        }
+        return result.isCompletedExceptionally() ? Status.FAILED : Status.FINISHED;
+    }
+
+    // Méthodes Métier
+
+    /**
+     * Annule la partie si elle est encore en cours
+     */
+    public void cancel() {
+        canceller.run();
+    }
+
+    @Override
+    public String toString() {
+        return "Session #" + id + " (" + (mode == GameResultStore.MODE_SOLO ? "Solo" : "Équipe") + ", "
+                + getStatus() + ")";
+    }
+}
@@ -0,0 +1,108 @@
+package com.trio.controller;
+
+import com.trio.model.*;
+import com.trio.view.GameView;
+import com.trio.view.TeamGameView;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hôte des parties en cours.
+ * Chaque partie est une session enregistrée ici jusqu'à sa fin ; les
+ * contrôleurs tournent tous sur le pool partagé (GameScheduler), une
+ * session en attente d'un joueur ne coûte donc qu'un peu de mémoire.
+ * Fermer la fenêtre d'une partie annule sa session.
+ */
+public class GameSessionManager {
+
+    // Attributs
+    private static GameSessionManager instance;
+
+    private final ScheduledExecutorService scheduler;
+    private final Map<Long, GameSession> sessions;
+    private final AtomicLong nextId;
+
+    // Constructeurs
+    GameSessionManager(ScheduledExecutorService scheduler) {
+        this.scheduler = scheduler;
+        this.sessions = new ConcurrentHashMap<>();
+        this.nextId = new AtomicLong(1);
+    }
+
+    public static synchronized GameSessionManager getInstance() {
+        if (instance == null) {
+            instance = new GameSessionManager(GameScheduler.shared());
+        }
+        return instance;
+    }
+
+    // Getters
+    public int getActiveCount() {
+        return sessions.size();
+    }
+
+    public GameSession find(long id) {
+        return sessions.get(id);
+    }
+
+    /**
+     * Sessions en cours, par ordre d'ouverture
+     */
+    public List<GameSession> getActiveSessions() {
+        List<GameSession> active = new ArrayList<>(sessions.values());
+        active.sort(Comparator.comparingLong(GameSession::getId));
+        return active;
+    }
+
+    // Méthodes Métier
+
+    /**
+     * Ouvre une session pour une partie Solo et la lance
+     */
+    public GameSession startSolo(SoloGame game, GameView view) {
+        return open(GameResultStore.MODE_SOLO, view, new GameController(game, view, scheduler));
+    }
+
+    /**
+     * Ouvre une session pour une partie Équipe et la lance
+     */
+    public GameSession startTeam(TeamGame game, TeamGameView view) {
+        return open(GameResultStore.MODE_TEAM, view, new TeamGameController(game, view, scheduler));
+    }
+
+    /**
+     * Annule toutes les sessions en cours
+     */
+    public void cancelAll() {
+        for (GameSession session : getActiveSessions()) {
+            session.cancel();
+        }
+    }
+
+    /**
+     * Enregistre la session et branche la fermeture de la fenêtre avant de
+     * lancer la partie : une partie qui finit ou échoue aussitôt est quand
+     * même nettoyée, et une fenêtre fermée tout de suite l'annule
+     */
+    private GameSession open(int mode, GameView view, TurnController<?> controller) {
+        CompletableFuture<TrioHolder> result = controller.getResult();
+        GameSession session = new GameSession(nextId.getAndIncrement(), mode, result, controller::cancel);
+        sessions.put(session.getId(), session);
+        view.onClose(session::cancel);
+        Logs.getInstance().writeLogs(session + " ouverte (" + sessions.size() + " en cours)");
+
+        // Nettoyage quelle que soit l'issue : fin normale, annulation ou erreur
+        result.whenComplete((winner, error) -> {
+            sessions.remove(session.getId());
+            Logs.getInstance().writeLogs(session + " fermée");
+        });
+        controller.startGame();
+        return session;
+    }
+}
@@ -0,0 +1,181 @@
+package com.trio.controller;
+
+import com.trio.model.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Classement des utilisateurs par nombre de victoires, tenu à jour à chaque
+ * victoire plutôt que recalculé.
+ * Une skip list triée (victoires décroissantes, puis ID) donne le top K en
+ * O(k), et un arbre de Fenwick indexé par nombre de victoires donne le rang
+ * d'un utilisateur en O(log n). Une mise à jour coûte O(log n).
+ */
+public class LeaderboardService {
+
+    // Attributs
+    private static LeaderboardService instance;
+
+    private final ConcurrentSkipListSet<Entry> ranking;
+    private final Map<Integer, Entry> entries; // ID -> entrée courante
+    private long[] tree; // Fenwick : nombre d'utilisateurs par nombre de victoires
+
+    /**
+     * Ligne du classement (instantané immuable d'un utilisateur)
+     */
+    public static final class Entry implements Comparable<Entry> {
+        private final int userId;
+        private final String name;
+        private final int victories;
+
+        Entry(int userId, String name, int victories) {
+            this.userId = userId;
+            this.name = name;
+            this.victories = victories;
+        }
+
+        public int getUserId() {
+            return userId;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getVictories() {
+            return victories;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            int cmp = Integer.compare(other.victories, victories);
+            return cmp != 0 ? cmp : Integer.compare(userId, other.userId);
+        }
+
+        @Override
+        public String toString() {
+            return name + " (" + victories + ")";
+        }
+    }
+
+    // Constructeurs
+    private LeaderboardService(List<User> users) {
+        this.ranking = new ConcurrentSkipListSet<>();
+        this.entries = new HashMap<>();
+        this.tree = new long[64];
+
+        for (User user : users) {
+            update(user);
+        }
+    }
+
+    public static synchronized LeaderboardService getInstance() {
+        if (instance == null) {
+            instance = new LeaderboardService(UserRepository.getInstance().findAll());
+        }
+        return instance;
+    }
+
+    // Getters
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    // Méthodes Métier
+
+    /**
+     * Enregistre le nombre de victoires courant d'un utilisateur
+     */
+    public synchronized void update(User user) {
+        Entry previous = entries.get(user.getId());
+        if (previous != null) {
+            if (previous.victories == user.getNBVictoire() && previous.name.equals(user.getName())) {
+                return;
+            }
+            ranking.remove(previous);
+            add(previous.victories, -1);
+        }
+
+        Entry entry = new Entry(user.getId(), user.getName(), user.getNBVictoire());
+        add(entry.victories, 1);
+        entries.put(entry.userId, entry);
+        ranking.add(entry);
+    }
+
+    /**
+     * Les k meilleurs utilisateurs, du premier au k-ième
+     */
+    public List<Entry> getTop(int k) {
+        List<Entry> top = new ArrayList<>(Math.max(0, Math.min(k, 100)));
+        Iterator<Entry> it = ranking.iterator();
+        while (top.size() < k && it.hasNext()) {
+            top.add(it.next());
+        }
+        return top;
+    }
+
+    /**
+     * Rang d'un utilisateur (1 = premier, ex aequo au même rang),
+     * ou -1 s'il n'est pas classé
+     */
+    public synchronized int getRank(int userId) {
+        Entry entry = entries.get(userId);
+        if (entry == null) {
+            return -1;
+        }
+        // Rang = 1 + nombre d'utilisateurs ayant strictement plus de victoires
+        return (int) (1 + entries.size() - prefixCount(entry.victories));
+    }
+
+    // ===== ARBRE DE FENWICK =====
+
+    /**
+     * Ajoute delta au compteur du nombre de victoires donné
+     */
+    private void add(int victories, long delta) {
+        if (victories + 1 >= tree.length) {
+            grow(victories + 2);
+        }
+        for (int i = victories + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * Nombre d'utilisateurs ayant au plus ce nombre de victoires
+     */
+    private long prefixCount(int victories) {
+        long sum = 0;
+        for (int i = Math.min(victories + 1, tree.length - 1); i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Agrandit l'arbre (taille doublée) en le reconstruisant
+     */
+    private void grow(int minLength) {
+        int length = tree.length;
+        while (length < minLength) {
+            length *= 2;
+        }
+        long[] counts = new long[length];
+        // Le classement contient exactement les entrées comptées dans l'arbre
+        for (Entry entry : ranking) {
+            counts[entry.victories + 1]++;
+        }
+        for (int i = 1; i < length; i++) {
+            int parent = i + (i & -i);
+            if (parent < length) {
+                counts[parent] += counts[i];
+            }
+        }
+        tree = counts;
+    }
+}
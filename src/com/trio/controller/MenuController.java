@@ -2,7 +2,7 @@ package com.trio.controller;
 
 import com.trio.model.*;
 
-import java.io.*;
+import java.util.List;
 
 /**
  * Contrôleur du menu GUI.
@@ -54,89 +54,57 @@ public class MenuController {
     }
 
     /**
-     * Vérifie si le fichier UserLogs.txt est vide ou n'existe pas
+     * Vérifie si aucun utilisateur n'est enregistré
      */
     public boolean isUserLogsEmpty() {
-        File file = new File("logs/UserLogs.txt");
-        if (!file.exists()) {
-            return true;
-        }
-
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                if (!line.trim().isEmpty()) {
-                    return false;
-                }
-            }
-        } catch (IOException e) {
-            return true;
-        }
-
-        return true;
+        return !DataService.getInstance().hasUsers();
     }
 
     /**
      * Sélectionne un utilisateur existant par son ID
      */
     public User selectExistingUser(int userId) {
-        File file = new File("logs/UserLogs.txt");
-        if (!file.exists()) {
-            return null;
+        User user = DataService.getInstance().findUser(userId);
+        if (user != null) {
+            menu.setCurrentUser(user);
+            Logs.getInstance().writeLogs("User selected: " + user.getName());
         }
+        return user;
+    }
 
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                if (line.trim().isEmpty()) {
-                    continue;
-                }
-
-                // Parse format: "ID: X | Name: Y | Age: Z | Victories: W"
-                User user = parseUserFromLog(line);
-                if (user != null && user.getId() == userId) {
-                    menu.setCurrentUser(user);
-                    Logs.getInstance().writeLogs("User selected: " + user.getName());
-                    return user;
-                }
-            }
-        } catch (IOException e) {
-            Logs.getInstance().writeLogs("Error reading user logs: " + e.getMessage());
-        }
+    /**
+     * Liste des utilisateurs enregistrés
+     */
+    public List<User> getAllUsers() {
+        return DataService.getInstance().loadAllUsers();
+    }
 
-        return null;
+    /**
+     * Les k meilleurs utilisateurs du classement
+     */
+    public List<LeaderboardService.Entry> getLeaderboard(int k) {
+        return LeaderboardService.getInstance().getTop(k);
     }
 
     /**
-     * Parse une ligne de log pour créer un User
+     * Rang de l'utilisateur courant, ou -1 s'il n'y en a pas
      */
-    private User parseUserFromLog(String line) {
-        try {
-            // Format attendu: "ID: X | Name: Y | Age: Z | Victories: W"
-            String[] parts = line.split("\\|");
-            if (parts.length < 4) {
-                return null;
-            }
-
-            int id = Integer.parseInt(parts[0].replace("ID:", "").trim());
-            String name = parts[1].replace("Name:", "").trim();
-            int age = Integer.parseInt(parts[2].replace("Age:", "").trim());
-            int victories = Integer.parseInt(parts[3].replace("Victories:", "").trim());
-
-            return new User(id, name, age, victories);
-        } catch (Exception e) {
-            return null;
-        }
+    public int getCurrentUserRank() {
+        User user = menu.getCurrentUser();
+        return user == null ? -1 : LeaderboardService.getInstance().getRank(user.getId());
     }
 
     /**
      * Crée un nouvel utilisateur et le sauvegarde
+     *
+     * @throws IllegalArgumentException si le nom est trop long pour être
+     *                                  enregistré
      */
     public User createNewUser(String name, int age, String avatarPath) {
         User user = new User(name, age, avatarPath);
 
-        // Sauvegarder dans le fichier logs
-        saveUserToLogs(user);
+        // Sauvegarder dans le stockage des utilisateurs
+        DataService.getInstance().saveNewUser(user);
 
         // Définir comme utilisateur courant
         menu.setCurrentUser(user);
@@ -145,66 +113,6 @@ public class MenuController {
         return user;
     }
 
-    /**
-     * Sauvegarde un utilisateur dans le fichier de logs
-     * Vérifie que l'ID n'existe pas déjà, sinon attribue un nouvel ID unique
-     */
-    private void saveUserToLogs(User user) {
-        // Créer le dossier logs s'il n'existe pas
-        File logsDir = new File("logs");
-        if (!logsDir.exists()) {
-            logsDir.mkdirs();
-        }
-
-        File logFile = new File("logs/UserLogs.txt");
-        int maxId = 0;
-        boolean idExists = false;
-
-        // Lire le fichier pour trouver l'ID max et vérifier les doublons
-        if (logFile.exists()) {
-            try (BufferedReader reader = new BufferedReader(new FileReader(logFile))) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    if (line.trim().isEmpty()) {
-                        continue;
-                    }
-                    User existingUser = parseUserFromLog(line);
-                    if (existingUser != null) {
-                        int existingId = existingUser.getId();
-                        if (existingId > maxId) {
-                            maxId = existingId;
-                        }
-                        if (existingId == user.getId()) {
-                            idExists = true;
-                        }
-                    }
-                }
-            } catch (IOException e) {
-                Logs.getInstance().writeLogs("Error reading user logs: " + e.getMessage());
-            }
-        }
-
-        // Si l'ID existe déjà, attribuer un nouvel ID unique
-        if (idExists) {
-            int newId = maxId + 1;
-            user.setId(newId);
-            Logs.getInstance().writeLogs("User ID conflict detected. Assigned new ID: " + newId);
-        }
-
-        // Écrire l'utilisateur dans le fichier
-        try (FileWriter fw = new FileWriter(logFile, true);
-                BufferedWriter bw = new BufferedWriter(fw)) {
-
-            String logLine = String.format("ID: %d | Name: %s | Age: %d | Victories: %d",
-                    user.getId(), user.getName(), user.getAge(), user.getNBVictoire());
-            bw.write(logLine);
-            bw.newLine();
-
-        } catch (IOException e) {
-            Logs.getInstance().writeLogs("Error saving user: " + e.getMessage());
-        }
-    }
-
     /**
      * Quitte l'application
      */
@@ -0,0 +1,602 @@
+package com.trio.controller;
+
+import com.trio.model.*;
+import com.trio.view.GameView;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Boucle de tour commune aux contrôleurs Solo et équipe.
+ * Les règles viennent du noyau de la partie (Rules) ; le mode ne fournit
+ * que ses affichages (début de tour, trio, scores, vainqueur) et, en
+ * équipe, la saisie de l'échange.
+ *
+ * La partie est une machine à états : chaque étape s'exécute sur le pool
+ * partagé puis rend la main. En attente d'un choix du joueur ou d'une pause
+ * d'affichage, aucun thread n'est bloqué ; la réponse de la vue relance
+ * la machine.
+ */
+public abstract class TurnController<V extends GameView> {
+
+    /**
+     * États de la partie
+     */
+    private enum State {
+        START, // Distribution et affichage initial
+        TURN_START, // Début du tour du joueur courant
+        CHOOSE_ACTION, // Choix de la prochaine action du tour
+        END_TURN, // Trio validé ou échec du tour
+        GAME_OVER, // Affichage du vainqueur et sauvegarde
+        WAITING, // En attente d'un choix du joueur ou d'une pause
+        FINISHED
+    }
+
+    // Attributs
+    // Pause après chaque carte révélée : 1.2 secondes par défaut, réglable par
+    // la propriété système trio.game.pauseMs
+    private static final int PAUSE_MS = Integer.getInteger("trio.game.pauseMs", 1200);
+    private static final int MAX_UNDO = 100; // Coups du joueur humain gardés pour l'annulation
+
+    protected final Rules rules;
+    protected final V view;
+    private final ScheduledExecutorService scheduler;
+    private final CompletableFuture<TrioHolder> result;
+
+    // État de la machine (modifié uniquement par l'étape en cours)
+    private State state;
+    private Runnable suspension; // Reprise à programmer quand l'étape rend la main
+    private volatile Future<?> pending; // Attente en cours (choix ou pause)
+    private volatile boolean cancelled;
+    protected Player currentPlayer;
+    private boolean turnSuccess;
+    // Photos avant les derniers échanges ou arrêts du joueur humain (annulation),
+    // vidée à chaque carte révélée
+    private final Deque<GameState> history;
+
+    // Constructeurs
+    protected TurnController(Rules rules, V view, ScheduledExecutorService scheduler) {
+        this.rules = rules;
+        this.view = view;
+        this.scheduler = scheduler;
+        this.result = new CompletableFuture<>();
+        this.history = new ArrayDeque<>();
+        this.state = State.START;
+    }
+
+    // ===== ÉTAPES PROPRES AU MODE =====
+
+    /**
+     * Accueil, distribution et affichage initial
+     */
+    protected abstract void start();
+
+    /**
+     * Joueurs affichés et proposés comme cibles
+     */
+    protected abstract List<Player> getPlayers();
+
+    /**
+     * Affiche le début du tour de currentPlayer
+     */
+    protected abstract void displayTurnStart();
+
+    /**
+     * Affiche le trio que vient de marquer le joueur ou son équipe
+     */
+    protected abstract void displayTrio(TrioHolder holder);
+
+    /**
+     * Affiche le vainqueur et sauvegarde le résultat
+     */
+    protected abstract void announceWinner(TrioHolder winner);
+
+    /**
+     * Nom du joueur courant dans les logs
+     */
+    protected String describeCurrentPlayer() {
+        return currentPlayer.getPseudo();
+    }
+
+    /**
+     * Scores après chaque tour (aucun affichage par défaut)
+     */
+    protected void displayScores() {
+    }
+
+    /**
+     * Échange avec un coéquipier, appelé seulement si les règles le
+     * permettent ; doit finir par continueTurn
+     */
+    protected void exchange() {
+    }
+
+    // ===== MACHINE À ÉTATS =====
+
+    /**
+     * @return le vainqueur, disponible à la fin de la partie (la partie
+     *         n'est pas lancée)
+     */
+    public CompletableFuture<TrioHolder> getResult() {
+        return result;
+    }
+
+    /**
+     * Lance la partie sans bloquer l'appelant
+     *
+     * @return le vainqueur, disponible à la fin de la partie
+     */
+    public CompletableFuture<TrioHolder> startGame() {
+        scheduler.execute(this::run);
+        return result;
+    }
+
+    /**
+     * Abandonne la partie (fenêtre fermée) : l'attente en cours est annulée
+     * et le résultat se termine par une CancellationException
+     */
+    public void cancel() {
+        if (result.isDone()) {
+            return;
+        }
+        cancelled = true;
+        Future<?> waiting = pending;
+        if (waiting != null) {
+            waiting.cancel(false);
+        }
+        result.cancel(false);
+        Logs.getInstance().writeLogs("Partie annulée.");
+    }
+
+    /**
+     * Fait avancer la machine jusqu'à la prochaine attente
+     */
+    private void run() {
+        try {
+            while (true) {
+                if (cancelled) {
+                    state = State.FINISHED;
+                }
+                switch (state) {
+                    case START:
+                        start();
+                        state = State.TURN_START;
+                        break;
+                    case TURN_START:
+                        startTurn();
+                        break;
+                    case CHOOSE_ACTION:
+                        chooseAction();
+                        break;
+                    case END_TURN:
+                        endTurn();
+                        break;
+                    case GAME_OVER:
+                        gameOver();
+                        break;
+                    case WAITING:
+                        // La reprise n'est programmée qu'ici, une fois l'étape
+                        // terminée : deux threads ne font jamais avancer la
+                        // même partie
+                        Runnable resume = suspension;
+                        suspension = null;
+                        resume.run();
+                        return;
+                    default: // FINISHED
+                        return;
+                }
+            }
+        } catch (RuntimeException e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * Arrête la partie sur une erreur
+     */
+    private void fail(Throwable error) {
+        state = State.FINISHED;
+        if (cancelled) {
+            return;
+        }
+        Logs.getInstance().writeLogs("Erreur pendant la partie : " + error);
+        result.completeExceptionally(error);
+    }
+
+    /**
+     * Attend un choix du joueur ; le handler s'exécute sur le pool puis la
+     * machine reprend
+     */
+    protected <T> void await(CompletableFuture<T> input, Consumer<T> handler) {
+        state = State.WAITING;
+        suspension = () -> {
+            pending = input;
+            input.whenCompleteAsync((value, error) -> onInput(value, error, handler), scheduler);
+        };
+    }
+
+    private <T> void onInput(T value, Throwable error, Consumer<T> handler) {
+        if (cancelled) {
+            return;
+        }
+        if (error != null) {
+            fail(error);
+            return;
+        }
+        try {
+            handler.accept(value);
+        } catch (RuntimeException e) {
+            fail(e);
+            return;
+        }
+        run();
+    }
+
+    /**
+     * Pause pour permettre de voir les cartes révélées, puis passe à l'état
+     * suivant
+     */
+    private void pause(State next) {
+        state = State.WAITING;
+        suspension = () -> pending = scheduler.schedule(() -> {
+            state = next;
+            run();
+        }, PAUSE_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Le tour reprend au choix de la prochaine action
+     */
+    protected void continueTurn() {
+        state = State.CHOOSE_ACTION;
+    }
+
+    // ===== TOUR =====
+
+    private void startTurn() {
+        if (rules.isFinished()) {
+            state = State.GAME_OVER;
+            return;
+        }
+        currentPlayer = rules.getCurrentPlayer();
+        turnSuccess = true;
+        Logs.getInstance().writeLogs("Début du tour de : " + describeCurrentPlayer());
+        displayTurnStart();
+
+        // Afficher les cartes visibles au début du tour
+        displayTable();
+        state = State.CHOOSE_ACTION;
+    }
+
+    /**
+     * Choisit une action selon le type de joueur
+     */
+    private void chooseAction() {
+        if (!turnSuccess || rules.getRevealedCards().size() >= 3) {
+            state = State.END_TURN;
+            return;
+        }
+
+        // Afficher les cartes révélées ce tour
+        view.displayRevealedCards(rules.getRevealedCards());
+
+        if (currentPlayer instanceof Bot) {
+            Bot bot = (Bot) currentPlayer;
+            if (rules.exchangeAllowed() && bot.wantsToExchange()) {
+                onAction(Move.EXCHANGE);
+                return;
+            }
+            onAction(bot.chooseBotAction(rules.getRevealedCards(), getPlayers(), rules.getCenterDeck()));
+            return;
+        }
+
+        // Joueur humain: afficher l'état et demander l'action
+        view.displayPlayerHand(currentPlayer);
+        displayTable();
+        await(view.promptAction(), this::onAction);
+    }
+
+    private void onAction(int action) {
+        // Par défaut, on redemande une action
+        state = State.CHOOSE_ACTION;
+
+        // Log de l'action brute (sauf si c'est un bot qui gère ses propres logs
+        // d'intention)
+        if (!(currentPlayer instanceof Bot)) {
+            Logs.getInstance().writeLogs(currentPlayer.getPseudo() + " a choisi l'action n°" + action);
+        }
+
+        if (action == GameView.ACTION_UNDO) {
+            undo();
+            return;
+        }
+
+        if (action == Move.EXCHANGE) {
+            if (rules.isExchangeUsed()) {
+                view.displayError("Vous avez déjà échangé ce tour !");
+            } else if (!rules.getRevealedCards().isEmpty()) {
+                view.displayError("Impossible d'échanger après avoir révélé des cartes !");
+            } else if (!rules.exchangeAllowed()) {
+                view.displayError("Échange impossible dans ce mode !");
+            } else {
+                Logs.getInstance().writeLogs(currentPlayer.getPseudo() + " tente un échange avec son coéquipier.");
+                exchange();
+            }
+            return;
+        }
+
+        if (action == Move.STOP) {
+            // Arrêter le tour
+            if (rules.getRevealedCards().size() < 2) {
+                view.displayError("Vous devez révéler au moins 2 cartes avant d'arrêter!");
+                return;
+            }
+            remember(undoPoint());
+            Logs.getInstance().writeLogs(currentPlayer.getPseudo() + " décide d'arrêter son tour.");
+            turnSuccess = false;
+            return;
+        }
+
+        executeAction(action);
+    }
+
+    /**
+     * Joue un coup (voir Move). Seul un échange du joueur humain peut
+     * ensuite être annulé : une carte révélée, par n'importe qui, vide
+     * l'historique, sans quoi l'annulation retournerait face cachée une
+     * carte déjà vue et la révélerait sans risque.
+     *
+     * @return comme Rules.play : null si le coup est invalide
+     */
+    protected Card playMove(int move) {
+        boolean reveal = Move.kind(move) != Move.EXCHANGE;
+        GameState before = reveal ? null : undoPoint();
+        Card card = rules.play(move);
+        if (card != null) {
+            if (reveal) {
+                history.clear();
+            } else {
+                remember(before);
+            }
+        }
+        return card;
+    }
+
+    /**
+     * Photo de la partie avant un coup du joueur humain, null si c'est un
+     * Bot ou si la vue ne propose pas l'annulation
+     */
+    private GameState undoPoint() {
+        return !(currentPlayer instanceof Bot) && view.supportsUndo() ? rules.snapshot() : null;
+    }
+
+    /**
+     * Garde la photo prise avant un coup joué ; au-delà de MAX_UNDO coups,
+     * les plus anciens ne sont plus annulables
+     */
+    private void remember(GameState before) {
+        if (before == null) {
+            return;
+        }
+        history.push(before);
+        if (history.size() > MAX_UNDO) {
+            history.removeLast();
+        }
+    }
+
+    /**
+     * Annule le dernier échange ou arrêt du joueur humain : la partie revient
+     * à la photo prise juste avant. Aucune carte n'a été révélée depuis, la
+     * photo ne cache donc rien que le joueur n'ait déjà vu.
+     */
+    private void undo() {
+        if (!view.supportsUndo() || history.isEmpty()) {
+            view.displayError("Aucun coup à annuler !");
+            return;
+        }
+        rules.restore(history.pop());
+        currentPlayer = rules.getCurrentPlayer();
+        turnSuccess = true;
+        Logs.getInstance().writeLogs("Coup annulé : retour au tour de " + currentPlayer.getPseudo());
+        displayTurnStart();
+        displayTable();
+    }
+
+    /**
+     * Complète l'action choisie en coup (cible, carte du centre) puis le joue
+     */
+    private void executeAction(int action) {
+        boolean isBot = currentPlayer instanceof Bot;
+        Bot bot = isBot ? (Bot) currentPlayer : null;
+
+        switch (action) {
+            case Move.OWN_MIN:
+            case Move.OWN_MAX:
+                play(Move.of(action, rules.getCurrentSeat()));
+                return;
+
+            case Move.OTHER_MIN:
+            case Move.OTHER_MAX:
+                if (isBot) {
+                    play(targetMove(action, bot.chooseTargetPlayer(getPlayers())));
+                    return;
+                }
+                List<Player> others = otherPlayers();
+                if (others.isEmpty()) {
+                    view.displayError("Aucun autre joueur disponible!");
+                    onCardRevealed(null);
+                    return;
+                }
+                await(view.promptSelectPlayer(others), target -> play(targetMove(action, target)));
+                return;
+
+            case Move.CENTER:
+                if (isBot) {
+                    int centerIndex = bot.chooseCenterCardIndex(rules.getCenterDeck());
+                    if (centerIndex >= 0) {
+                        view.displayBotAction(bot, "révèle une carte du centre", null);
+                    }
+                    play(centerIndex < 0 ? -1 : Move.of(Move.CENTER, centerIndex));
+                    return;
+                }
+                await(view.promptSelectCenterCard(rules.getCenterDeck()),
+                        centerIndex -> play(centerIndex < 0 ? -1 : Move.of(Move.CENTER, centerIndex)));
+                return;
+
+            default:
+                Logs.getInstance().writeLogs("Action inconnue : " + action);
+                onCardRevealed(null);
+        }
+    }
+
+    /**
+     * Coup MIN ou MAX sur le joueur ciblé, -1 si aucun joueur n'est ciblé
+     */
+    private int targetMove(int action, Player target) {
+        if (target == null) {
+            return -1;
+        }
+        if (currentPlayer instanceof Bot) {
+            view.displayBotAction((Bot) currentPlayer,
+                    action == Move.OTHER_MIN ? "révèle MIN de" : "révèle MAX de", target);
+        }
+        return Move.of(action, rules.getSeats().indexOf(target));
+    }
+
+    /**
+     * Joue un coup de révélation (voir Move) ; -1 : aucun coup, l'action est
+     * invalide ou annulée
+     */
+    private void play(int move) {
+        if (move < 0) {
+            onCardRevealed(null);
+            return;
+        }
+        Logs.getInstance().writeLogs(currentPlayer.getPseudo() + " révèle " + Move.describe(move, rules.getSeats()));
+        onCardRevealed(playMove(move));
+    }
+
+    /**
+     * Affiche la carte révélée et vérifie si la série continue
+     */
+    private void onCardRevealed(Card revealedCard) {
+        if (revealedCard == null) {
+            if (currentPlayer instanceof Bot) {
+                // Un bot rejouerait la même action sans fin sur le pool partagé
+                turnSuccess = false;
+            } else {
+                view.displayError("Action invalide!");
+            }
+            Logs.getInstance().writeLogs("Erreur : Action invalide ou annulée par " + currentPlayer.getPseudo());
+            state = State.CHOOSE_ACTION;
+            return;
+        }
+
+        Logs.getInstance().writeLogs(
+                "Carte révélée : " + revealedCard.getValue() + " (" + revealedCard.getCoordinate() + ")");
+
+        // Récupérer l'owner et l'index de la carte révélée (dernière ajoutée)
+        List<RevealedCard> revealed = rules.getRevealedCards();
+        RevealedCard lastRevealed = revealed.get(revealed.size() - 1);
+        Player cardOwner = lastRevealed.getOwner();
+        int cardIndex = lastRevealed.getCardIndex();
+
+        // Vérifier si la carte correspond
+        if (revealed.size() > 1) {
+            int expectedValue = revealed.get(0).getValue();
+            if (revealedCard.getValue() != expectedValue) {
+                Logs.getInstance().writeLogs(
+                        ">> Mauvaise carte ! Attendu: " + expectedValue + ", Reçu: " + revealedCard.getValue());
+                view.displayCardRevealed(revealedCard, cardOwner, cardIndex, false, false, expectedValue);
+                turnSuccess = false;
+            } else {
+                Logs.getInstance().writeLogs(">> Bonne carte ! La série continue.");
+                view.displayCardRevealed(revealedCard, cardOwner, cardIndex, false, true, expectedValue);
+            }
+        } else {
+            Logs.getInstance().writeLogs(">> Première carte de la série.");
+            view.displayCardRevealed(revealedCard, cardOwner, cardIndex, true, true, 0);
+        }
+        displayTable();
+        pause(State.CHOOSE_ACTION); // Pause pour voir la carte
+    }
+
+    /**
+     * Fin du tour : trio validé (le joueur rejoue) ou échec
+     */
+    private void endTurn() {
+        TrioHolder holder = rules.getCurrentHolder();
+        boolean failed = !turnSuccess || !rules.getRevealedCards().isEmpty();
+        if (rules.endTurn()) {
+            Logs.getInstance().writeLogs("SUCCÈS ! Trio validé pour " + describeCurrentPlayer());
+            displayTrio(holder);
+        } else if (failed) {
+            Logs.getInstance().writeLogs("Échec du tour. Les cartes sont remises face cachée.");
+            view.displayTurnFailed();
+
+            // Réafficher l'état après échec
+            refreshHumanView();
+            displayTable();
+        }
+        displayScores();
+        state = State.TURN_START;
+    }
+
+    private void gameOver() {
+        state = State.FINISHED;
+        TrioHolder winner = rules.getWinner();
+        announceWinner(winner);
+        result.complete(winner);
+    }
+
+    // ===== AFFICHAGE =====
+
+    /**
+     * Cartes visibles des joueurs et du centre
+     */
+    protected void displayTable() {
+        view.displayVisibleCards(getPlayers(), rules.getCenterDeck());
+    }
+
+    /**
+     * Rafraîchit la main du joueur humain s'il existe
+     */
+    protected void refreshHumanView() {
+        Player humanPlayer = findHumanPlayer();
+        if (humanPlayer != null) {
+            view.displayPlayerHand(humanPlayer);
+        }
+    }
+
+    /**
+     * Joueurs autres que le joueur courant ayant encore des cartes
+     */
+    private List<Player> otherPlayers() {
+        List<Player> others = new ArrayList<>();
+        for (Player p : getPlayers()) {
+            if (!p.equals(currentPlayer) && !p.getDeck().isEmpty()) {
+                others.add(p);
+            }
+        }
+        return others;
+    }
+
+    /**
+     * Trouve le joueur humain (User)
+     */
+    private Player findHumanPlayer() {
+        for (Player p : getPlayers()) {
+            if (p instanceof User) {
+                return p;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,177 @@
+package com.trio.controller;
+
+import com.trio.model.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Cache des utilisateurs partagé par le menu et le service de données.
+ * Les utilisateurs sont chargés une seule fois depuis le UserStore puis
+ * servis depuis la mémoire (index par ID et par nom). Les modifications
+ * sont écrites en différé, par lots, sur un thread dédié : ni la navigation
+ * dans le menu ni la fin de partie n'attendent le disque.
+ */
+public class UserRepository {
+
+    // Attributs
+    private static UserRepository instance;
+    private static final long WRITE_DELAY_MS = 500; // Délai de regroupement des écritures
+
+    private final UserStore store;
+    private final Map<Integer, User> byId;
+    private final Map<String, User> byName;
+    private final Map<Integer, User> pending; // Copies en attente d'écriture, par ID
+    private final AtomicBoolean flushScheduled;
+    private final ScheduledExecutorService writer;
+
+    // Constructeurs
+    private UserRepository(UserStore store) {
+        this.store = store;
+        this.byId = new ConcurrentHashMap<>();
+        this.byName = new ConcurrentHashMap<>();
+        this.pending = new ConcurrentHashMap<>();
+        this.flushScheduled = new AtomicBoolean();
+        this.writer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "trio-users-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        for (User user : store.loadAll()) {
+            index(user);
+        }
+    }
+
+    public static synchronized UserRepository getInstance() {
+        if (instance == null) {
+            instance = new UserRepository(UserStore.getInstance());
+            UserRepository repository = instance;
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                repository.flush();
+                repository.store.force();
+            }, "trio-users-flush"));
+        }
+        return instance;
+    }
+
+    // Getters
+    public boolean isEmpty() {
+        return byId.isEmpty();
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    // Méthodes Métier
+
+    /**
+     * Retourne l'utilisateur d'ID donné, ou null s'il n'existe pas
+     */
+    public User findById(int id) {
+        return byId.get(id);
+    }
+
+    /**
+     * Retourne l'utilisateur portant ce nom (sans tenir compte de la casse),
+     * ou null s'il n'existe pas
+     */
+    public User findByName(String name) {
+        return byName.get(key(name));
+    }
+
+    /**
+     * Retourne tous les utilisateurs triés par ID
+     */
+    public List<User> findAll() {
+        List<User> users = new ArrayList<>(byId.values());
+        users.sort(Comparator.comparingInt(User::getId));
+        return users;
+    }
+
+    /**
+     * Ajoute un nouvel utilisateur.
+     * Si son ID est déjà pris, un nouvel ID unique lui est attribué.
+     *
+     * @throws IllegalArgumentException si son nom est trop long pour le
+     *                                  stockage (voir UserStore.checkName)
+     */
+    public synchronized void add(User user) {
+        UserStore.checkName(user.getName());
+        if (byId.containsKey(user.getId())) {
+            int newId = maxId() + 1;
+            user.setId(newId);
+            Logs.getInstance().writeLogs("User ID conflict detected. Assigned new ID: " + newId);
+        }
+        index(user);
+        markDirty(user);
+    }
+
+    /**
+     * Signale qu'un utilisateur a été modifié ; il sera écrit en différé
+     */
+    public void update(User user) {
+        User cached = byId.get(user.getId());
+        if (cached == null) {
+            add(user);
+            return;
+        }
+        if (cached != user) {
+            // Instance créée hors du cache : elle devient la référence
+            index(user);
+        }
+        markDirty(user);
+    }
+
+    /**
+     * Écrit immédiatement toutes les modifications en attente. Synchronisée :
+     * le thread d'écriture et le hook d'arrêt ne doivent pas s'intercaler,
+     * sans quoi une copie plus ancienne d'un utilisateur pourrait être
+     * écrite après la plus récente.
+     */
+    public synchronized void flush() {
+        flushScheduled.set(false);
+        for (Integer id : pending.keySet()) {
+            User snapshot = pending.remove(id);
+            if (snapshot != null) {
+                store.save(snapshot);
+            }
+        }
+    }
+
+    private void markDirty(User user) {
+        // Copie prise sur le thread appelant : le thread d'écriture ne lit
+        // jamais un User en cours de modification
+        pending.put(user.getId(), new User(user.getId(), user.getName(), user.getAge(), user.getNBVictoire()));
+        if (flushScheduled.compareAndSet(false, true)) {
+            writer.schedule(this::flush, WRITE_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void index(User user) {
+        byId.put(user.getId(), user);
+        // En cas d'homonymes, le premier utilisateur enregistré garde le nom
+        byName.merge(key(user.getName()), user, (old, added) -> old.getId() == added.getId() ? added : old);
+    }
+
+    private int maxId() {
+        int max = 0;
+        for (int id : byId.keySet()) {
+            max = Math.max(max, id);
+        }
+        return max;
+    }
+
+    private static String key(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,265 @@
+package com.trio.controller;
+
+import com.trio.model.*;
+
+import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stockage des utilisateurs dans un fichier d'enregistrements de taille fixe.
+ * Le fichier est projeté en mémoire et un index ID -> emplacement est gardé
+ * en mémoire : lire ou mettre à jour un utilisateur ne touche qu'un seul
+ * enregistrement, quel que soit le nombre d'utilisateurs.
+ *
+ * Format : un en-tête de 16 octets (magique, version, nombre d'enregistrements)
+ * suivi d'enregistrements de 64 octets (id, âge, victoires, nom en UTF-8).
+ * Un nom qui ne tient pas dans son enregistrement (50 octets) est refusé,
+ * jamais tronqué : voir checkName.
+ * Au premier lancement, l'ancien fichier texte UserLogs.txt est importé.
+ */
+public class UserStore {
+
+    // Attributs
+    private static UserStore instance;
+    private static final String STORE_PATH = "logs/Users.dat";
+    private static final String LEGACY_PATH = "logs/UserLogs.txt";
+
+    private static final int MAGIC = 0x54524955; // "TRIU"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int RECORD_SIZE = 64;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    // Position des champs dans un enregistrement
+    private static final int ID_OFFSET = 0;
+    private static final int AGE_OFFSET = 4;
+    private static final int VICTORIES_OFFSET = 8;
+    private static final int NAME_LENGTH_OFFSET = 12;
+    private static final int NAME_OFFSET = 14;
+    public static final int MAX_NAME_BYTES = RECORD_SIZE - NAME_OFFSET;
+
+    private final FileChannel channel;
+    private final Map<Integer, Integer> slots; // ID -> numéro d'enregistrement
+    private MappedByteBuffer buffer;
+    private int capacity;
+    private int count;
+
+    // Constructeurs
+    private UserStore(Path path) throws IOException {
+        this.slots = new HashMap<>();
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+
+        boolean created = channel.size() < HEADER_SIZE;
+        if (created) {
+            map(INITIAL_CAPACITY);
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.putInt(8, 0);
+        } else {
+            map(Math.max(INITIAL_CAPACITY, (int) ((channel.size() - HEADER_SIZE) / RECORD_SIZE)));
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new IOException("Fichier utilisateurs invalide : " + path);
+            }
+            readIndex();
+        }
+
+        if (created) {
+            importLegacy(Paths.get(LEGACY_PATH));
+        }
+    }
+
+    public static synchronized UserStore getInstance() {
+        if (instance == null) {
+            try {
+                Files.createDirectories(Paths.get(STORE_PATH).getParent());
+                instance = new UserStore(Paths.get(STORE_PATH));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Impossible d'ouvrir " + STORE_PATH, e);
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread(instance::force, "trio-users-shutdown"));
+        }
+        return instance;
+    }
+
+    /**
+     * Vérifie qu'un nom tient dans un enregistrement
+     *
+     * @throws IllegalArgumentException si son encodage UTF-8 dépasse
+     *                                  MAX_NAME_BYTES octets
+     */
+    public static void checkName(String name) {
+        int length = name.getBytes(StandardCharsets.UTF_8).length;
+        if (length > MAX_NAME_BYTES) {
+            throw new IllegalArgumentException(
+                    "Nom trop long : " + length + " octets en UTF-8, " + MAX_NAME_BYTES + " au plus");
+        }
+    }
+
+    // Méthodes Métier
+
+    /**
+     * Retourne tous les utilisateurs dans l'ordre d'enregistrement
+     */
+    public synchronized List<User> loadAll() {
+        List<User> users = new ArrayList<>(count);
+        for (int slot = 0; slot < count; slot++) {
+            users.add(readUser(slot));
+        }
+        return users;
+    }
+
+    /**
+     * Ajoute l'utilisateur ou met à jour son enregistrement existant, en
+     * place : une victoire ne réécrit que les 64 octets de son joueur
+     */
+    public synchronized void save(User user) {
+        checkName(user.getName());
+        Integer slot = slots.get(user.getId());
+        if (slot == null) {
+            slot = append(user.getId());
+        }
+        writeUser(slot, user);
+    }
+
+    /**
+     * Force l'écriture des pages modifiées sur le disque
+     */
+    public synchronized void force() {
+        buffer.force();
+    }
+
+    // ===== ENREGISTREMENTS =====
+
+    private int append(int id) {
+        if (count == capacity) {
+            try {
+                map(capacity * 2);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Impossible d'agrandir " + STORE_PATH, e);
+            }
+        }
+        int slot = count++;
+        buffer.putInt(8, count);
+        slots.put(id, slot);
+        return slot;
+    }
+
+    private void writeUser(int slot, User user) {
+        int base = offset(slot);
+        byte[] name = user.getName().getBytes(StandardCharsets.UTF_8); // Longueur vérifiée par save
+
+        buffer.putInt(base + ID_OFFSET, user.getId());
+        buffer.putInt(base + AGE_OFFSET, user.getAge());
+        buffer.putInt(base + VICTORIES_OFFSET, user.getNBVictoire());
+        buffer.putShort(base + NAME_LENGTH_OFFSET, (short) name.length);
+        buffer.put(base + NAME_OFFSET, name);
+    }
+
+    private User readUser(int slot) {
+        int base = offset(slot);
+        int length = buffer.getShort(base + NAME_LENGTH_OFFSET);
+        byte[] name = new byte[length];
+        buffer.get(base + NAME_OFFSET, name);
+
+        return new User(buffer.getInt(base + ID_OFFSET), new String(name, StandardCharsets.UTF_8),
+                buffer.getInt(base + AGE_OFFSET), buffer.getInt(base + VICTORIES_OFFSET));
+    }
+
+    private static int offset(int slot) {
+        return HEADER_SIZE + slot * RECORD_SIZE;
+    }
+
+    /**
+     * Projette le fichier en mémoire pour le nombre d'enregistrements donné
+     */
+    private void map(int newCapacity) throws IOException {
+        if (buffer != null) {
+            buffer.force();
+        }
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) newCapacity * RECORD_SIZE);
+        capacity = newCapacity;
+    }
+
+    private void readIndex() {
+        count = buffer.getInt(8);
+        if (count < 0 || count > capacity) {
+            // En-tête écrit à moitié ou abîmé : on garde les enregistrements
+            // que le fichier contient réellement
+            int stored = count;
+            count = count < 0 ? 0 : capacity;
+            buffer.putInt(8, count);
+            Logs.getInstance().writeLogs("Fichier utilisateurs abîmé : l'en-tête annonce " + stored
+                    + " enregistrements pour " + capacity + " places, seuls " + count + " sont lus");
+        }
+        for (int slot = 0; slot < count; slot++) {
+            int id = buffer.getInt(offset(slot) + ID_OFFSET);
+            slots.put(id, slot);
+        }
+    }
+
+    // ===== IMPORT DE L'ANCIEN FORMAT =====
+
+    /**
+     * Importe les utilisateurs de l'ancien fichier texte UserLogs.txt
+     */
+    private void importLegacy(Path legacy) {
+        if (!Files.exists(legacy)) {
+            return;
+        }
+
+        int imported = 0;
+        try (BufferedReader reader = Files.newBufferedReader(legacy, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                User user = parseUserFromLog(line);
+                if (user == null) {
+                    continue;
+                }
+                try {
+                    save(user);
+                    imported++;
+                } catch (IllegalArgumentException e) {
+                    Logs.getInstance().writeLogs("Utilisateur " + user.getId() + " non importé : " + e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            Logs.getInstance().writeLogs("Erreur import UserLogs: " + e.getMessage());
+        }
+        force();
+        Logs.getInstance().writeLogs(imported + " utilisateurs importés depuis " + legacy);
+    }
+
+    /**
+     * Parse une ligne "ID: X | Name: Y | Age: Z | Victories: W"
+     */
+    private static User parseUserFromLog(String line) {
+        try {
+            String[] parts = line.split("\\|");
+            if (parts.length < 4)
+                return null;
+
+            int id = Integer.parseInt(parts[0].replace("ID:", "").trim());
+            String name = parts[1].replace("Name:", "").trim();
+            int age = Integer.parseInt(parts[2].replace("Age:", "").trim());
+            int victories = Integer.parseInt(parts[3].replace("Victories:", "").trim());
+
+            return new User(id, name, age, victories);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,464 @@
+package com.trio.model;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Mémoire d'un Bot : ce qu'il sait des cartes cachées de la partie.
+ *
+ * Chaque emplacement (carte d'une main, dans l'ordre de la main, ou carte
+ * du centre) porte un masque des valeurs encore possibles, sur 16 bits.
+ * Une carte retournée fixe la valeur de son emplacement, et cette
+ * information survit au retournement face cachée de fin de tour. Deux
+ * règles resserrent ensuite les masques :
+ * - les mains sont triées : une valeur connue borne ses voisines ;
+ * - chaque valeur a un nombre fini d'exemplaires : quand tous sont
+ *   localisés, elle disparaît des autres emplacements.
+ *
+ * Chaque événement ne touche que quelques mots, sans allocation : les
+ * emplacements des cartes concernées et une passe sur leur main (16 cartes
+ * au plus) ; une passe sur la table (36 emplacements) seulement quand une
+ * valeur vient d'être entièrement localisée.
+ */
+public class BeliefTracker implements GameListener {
+
+    // Attributs
+    private static final int NB_VALUES = 16;
+    private static final int VALUES = 0xFFFF; // Bits des valeurs possibles
+    private static final int KNOWN = 1 << 16; // Valeur connue (décomptée de unseen)
+    private static final int VISIBLE = 1 << 17; // Face visible pendant le tour en cours
+
+    private final Player self;
+    private final List<Player> players; // Sièges de la partie
+    private final Deck centerDeck;
+    private boolean started;
+
+    private int[][] hands; // Par siège : un mot par carte, dans l'ordre de la main
+    private int[] handSizes;
+    private int[] center;
+    private int centerSize;
+    private final int[] unseen; // Exemplaires de chaque valeur non localisés
+    private int exhausted; // Valeurs entièrement localisées, pas encore retirées de la table
+    private final int[] trioSeats = new int[3]; // Travail de onTrioAwarded
+    private final int[] trioSlots = new int[3];
+
+    // Constructeurs
+    public BeliefTracker(Player self, List<Player> players, Deck centerDeck) {
+        this.self = self;
+        this.players = players;
+        this.centerDeck = centerDeck;
+        this.unseen = new int[NB_VALUES];
+    }
+
+    // Getters
+    public List<Player> getSeats() {
+        return players;
+    }
+
+    public Deck getCenterDeck() {
+        return centerDeck;
+    }
+
+    public int seatOf(Player player) {
+        for (int i = 0; i < players.size(); i++) {
+            if (players.get(i) == player) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public int getHandSize(Player player) {
+        ensureStarted();
+        int seat = seatOf(player);
+        return seat < 0 ? 0 : handSizes[seat];
+    }
+
+    public int getCenterSize() {
+        ensureStarted();
+        return centerSize;
+    }
+
+    /**
+     * Valeurs encore possibles pour une carte d'une main (bit v = valeur v)
+     */
+    public int getMask(Player player, int slot) {
+        ensureStarted();
+        return hands[seatOf(player)][slot] & VALUES;
+    }
+
+    public int getCenterMask(int index) {
+        ensureStarted();
+        return center[index] & VALUES;
+    }
+
+    public boolean isCenterVisible(int index) {
+        ensureStarted();
+        return (center[index] & VISIBLE) != 0;
+    }
+
+    /**
+     * Exemplaires de la valeur dont l'emplacement n'est pas connu
+     */
+    public int getUnseen(int value) {
+        ensureStarted();
+        return unseen[value];
+    }
+
+    /**
+     * Emplacement de la carte que révélerait MIN : la plus à gauche encore
+     * face cachée, -1 si aucune
+     */
+    public int lowSlot(Player player) {
+        ensureStarted();
+        int seat = seatOf(player);
+        for (int i = 0; seat >= 0 && i < handSizes[seat]; i++) {
+            if ((hands[seat][i] & VISIBLE) == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Emplacement dont la valeur est celle que révélerait MAX : le plus à
+     * droite encore face caché, -1 si aucun
+     */
+    public int highSlot(Player player) {
+        ensureStarted();
+        int seat = seatOf(player);
+        for (int i = seat < 0 ? -1 : handSizes[seat] - 1; i >= 0; i--) {
+            if ((hands[seat][i] & VISIBLE) == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Probabilité que la carte révélée par MIN (low) ou MAX d'un joueur ait
+     * cette valeur
+     */
+    public double chanceAtEdge(Player player, boolean low, int value) {
+        int slot = low ? lowSlot(player) : highSlot(player);
+        return slot < 0 ? 0 : chance(hands[seatOf(player)][slot], value);
+    }
+
+    /**
+     * Probabilité qu'une carte cachée du centre ait cette valeur
+     */
+    public double chanceAtCenter(int index, int value) {
+        ensureStarted();
+        return (center[index] & VISIBLE) != 0 ? 0 : chance(center[index], value);
+    }
+
+    /**
+     * Chance qu'un emplacement porte la valeur : certaine si elle est connue,
+     * sinon au prorata des exemplaires non localisés
+     */
+    private double chance(int word, int value) {
+        if ((word & (1 << value)) == 0) {
+            return 0;
+        }
+        if ((word & KNOWN) != 0) {
+            return 1;
+        }
+        int total = 0;
+        for (int mask = word & VALUES; mask != 0; mask &= mask - 1) {
+            total += unseen[Integer.numberOfTrailingZeros(mask)];
+        }
+        return total == 0 ? 0 : (double) unseen[value] / total;
+    }
+
+    // ===== ÉVÉNEMENTS =====
+
+    @Override
+    public void onCardRevealed(RevealedCard revealed) {
+        ensureStarted();
+        int value = revealed.getValue();
+        if (revealed.getOwner() == null) {
+            int index = revealed.getCardIndex();
+            if (index >= 0 && index < centerSize) {
+                center[index] = fix(center[index], value) | VISIBLE;
+            }
+        } else {
+            int seat = seatOf(revealed.getOwner());
+            int slot = slotOf(revealed.getOwner(), revealed.getCard());
+            if (seat < 0 || slot < 0) {
+                return;
+            }
+            hands[seat][slot] = fix(hands[seat][slot], value) | VISIBLE;
+            sortBounds(seat);
+        }
+        settle();
+    }
+
+    @Override
+    public void onTurnFailed(List<RevealedCard> revealed) {
+        ensureStarted();
+        // Les cartes se retournent, leur valeur reste connue
+        for (int k = 0; k < revealed.size(); k++) {
+            RevealedCard rc = revealed.get(k);
+            if (rc.getOwner() == null) {
+                int index = rc.getCardIndex();
+                if (index >= 0 && index < centerSize) {
+                    center[index] &= ~VISIBLE;
+                }
+            } else {
+                int seat = seatOf(rc.getOwner());
+                int slot = slotOf(rc.getOwner(), rc.getCard());
+                if (seat >= 0 && slot >= 0 && slot < handSizes[seat]) {
+                    hands[seat][slot] &= ~VISIBLE;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void onTrioAwarded(List<RevealedCard> revealed) {
+        ensureStarted();
+        // Positions relevées avant tout retrait, puis retraits de droite à
+        // gauche pour que les positions restantes restent valables
+        int[] seats = trioSeats;
+        int[] slots = trioSlots;
+        int n = Math.min(revealed.size(), seats.length);
+        for (int k = 0; k < n; k++) {
+            RevealedCard rc = revealed.get(k);
+            seats[k] = rc.getOwner() == null ? -1 : seatOf(rc.getOwner());
+            slots[k] = rc.getOwner() == null ? rc.getCardIndex() : slotOf(rc.getOwner(), rc.getCard());
+        }
+        for (int done = 0; done < n; done++) {
+            int pick = -1;
+            for (int k = 0; k < n; k++) {
+                if (slots[k] >= 0 && (pick < 0 || slots[k] > slots[pick])) {
+                    pick = k;
+                }
+            }
+            if (pick < 0) {
+                break;
+            }
+            if (seats[pick] < 0) {
+                centerSize = remove(center, centerSize, slots[pick]);
+            } else {
+                handSizes[seats[pick]] = remove(hands[seats[pick]], handSizes[seats[pick]], slots[pick]);
+            }
+            slots[pick] = -1;
+        }
+    }
+
+    @Override
+    public void onExchange(Player playerA, Player playerB) {
+        ensureStarted();
+        int seatA = seatOf(playerA);
+        int seatB = seatOf(playerB);
+        if (seatA < 0 || seatB < 0) {
+            return;
+        }
+        // On ne sait pas quelles cartes ont changé de main : chaque carte des
+        // deux mains peut désormais être n'importe laquelle des deux
+        int union = forget(seatA) | forget(seatB);
+        Arrays.fill(hands[seatA], 0, handSizes[seatA], union);
+        Arrays.fill(hands[seatB], 0, handSizes[seatB], union);
+        if (playerA == self || playerB == self) {
+            readOwnHand();
+        }
+        sortBounds(seatA);
+        sortBounds(seatB);
+        settle();
+    }
+
+    /**
+     * Oublie l'emplacement des cartes connues d'une main
+     *
+     * @return les valeurs possibles de la main
+     */
+    private int forget(int seat) {
+        int union = 0;
+        for (int i = 0; i < handSizes[seat]; i++) {
+            int word = hands[seat][i];
+            union |= word & VALUES;
+            if ((word & KNOWN) != 0) {
+                unseen[Integer.numberOfTrailingZeros(word & VALUES)]++;
+            }
+        }
+        return union;
+    }
+
+    // ===== INFÉRENCE =====
+
+    private void ensureStarted() {
+        if (started) {
+            return;
+        }
+        started = true;
+        int[] total = new int[NB_VALUES];
+        hands = new int[players.size()][];
+        handSizes = new int[players.size()];
+        for (int seat = 0; seat < players.size(); seat++) {
+            Deck deck = players.get(seat).getDeck();
+            handSizes[seat] = deck.getSize();
+            hands[seat] = new int[deck.getSize()];
+            countValues(deck, total);
+        }
+        centerSize = centerDeck == null ? 0 : centerDeck.getSize();
+        center = new int[centerSize];
+        if (centerDeck != null) {
+            countValues(centerDeck, total);
+        }
+
+        // Composition du paquet (publique) : toutes les valeurs présentes
+        int possible = 0;
+        for (int v = 0; v < NB_VALUES; v++) {
+            unseen[v] = total[v];
+            if (total[v] > 0) {
+                possible |= 1 << v;
+            }
+        }
+        for (int[] hand : hands) {
+            Arrays.fill(hand, possible);
+        }
+        Arrays.fill(center, possible);
+        readOwnHand();
+        for (int seat = 0; seat < hands.length; seat++) {
+            sortBounds(seat);
+        }
+        settle();
+    }
+
+    private static void countValues(Deck deck, int[] total) {
+        for (int v = 0; v < NB_VALUES; v++) {
+            total[v] += deck.countHidden(v) + deck.countVisible(v);
+        }
+    }
+
+    /**
+     * Le Bot connaît sa propre main
+     */
+    private void readOwnHand() {
+        int seat = seatOf(self);
+        if (seat < 0) {
+            return;
+        }
+        Deck deck = self.getDeck();
+        for (int i = 0; i < handSizes[seat] && i < deck.getSize(); i++) {
+            hands[seat][i] = fix(hands[seat][i], deck.getCard(i).getValue());
+        }
+    }
+
+    /**
+     * Fixe la valeur d'un emplacement en la décomptant des exemplaires non
+     * localisés (une seule fois)
+     */
+    private int fix(int word, int value) {
+        if ((word & KNOWN) != 0) {
+            return word;
+        }
+        if (unseen[value] > 0 && --unseen[value] == 0) {
+            exhausted |= 1 << value;
+        }
+        return KNOWN | (word & VISIBLE) | (1 << value);
+    }
+
+    /**
+     * Main triée : chaque carte est au moins la plus petite valeur possible
+     * de sa voisine de gauche, au plus la plus grande de sa voisine de droite.
+     * Un emplacement réduit à une valeur devient connu.
+     */
+    private void sortBounds(int seat) {
+        int[] hand = hands[seat];
+        int size = handSizes[seat];
+        int floor = 0;
+        for (int i = 0; i < size; i++) {
+            int values = hand[i] & VALUES & ~((1 << floor) - 1);
+            if (values != 0) {
+                hand[i] = (hand[i] & ~VALUES) | values;
+                floor = Integer.numberOfTrailingZeros(values);
+            }
+        }
+        int ceiling = NB_VALUES - 1;
+        for (int i = size - 1; i >= 0; i--) {
+            int values = hand[i] & VALUES & ((2 << ceiling) - 1);
+            if (values != 0) {
+                hand[i] = Integer.bitCount(values) == 1 ? fix(hand[i], Integer.numberOfTrailingZeros(values))
+                        : (hand[i] & ~VALUES) | values;
+                ceiling = 31 - Integer.numberOfLeadingZeros(values);
+            }
+        }
+    }
+
+    /**
+     * Propage jusqu'à stabilité : une valeur entièrement localisée disparaît
+     * des emplacements inconnus, ce qui peut en localiser d'autres. Rien à
+     * faire (aucune passe) si aucune valeur ne vient d'être épuisée.
+     */
+    private void settle() {
+        while (exhausted != 0) {
+            int values = 0;
+            for (int m = exhausted; m != 0; m &= m - 1) {
+                int v = Integer.numberOfTrailingZeros(m);
+                if (unseen[v] == 0) {
+                    values |= 1 << v; // Encore épuisée (un échange peut la remettre en jeu)
+                }
+            }
+            exhausted = 0;
+            if (values == 0) {
+                return;
+            }
+            for (int seat = 0; seat < hands.length; seat++) {
+                boolean touched = false;
+                for (int i = 0; i < handSizes[seat]; i++) {
+                    int word = narrow(hands[seat][i], values);
+                    if (word != hands[seat][i]) {
+                        hands[seat][i] = word;
+                        touched = true;
+                    }
+                }
+                if (touched) {
+                    sortBounds(seat);
+                }
+            }
+            for (int i = 0; i < centerSize; i++) {
+                center[i] = narrow(center[i], values);
+            }
+        }
+    }
+
+    /**
+     * Retire les valeurs épuisées d'un emplacement inconnu ; le fixe s'il
+     * ne reste qu'une valeur encore disponible
+     */
+    private int narrow(int word, int exhausted) {
+        if ((word & KNOWN) != 0) {
+            return word;
+        }
+        int values = word & VALUES & ~exhausted;
+        if (values == 0) {
+            return word; // Incohérent (carte inconnue du paquet) : on garde le masque
+        }
+        if (Integer.bitCount(values) == 1) {
+            return fix(word, Integer.numberOfTrailingZeros(values));
+        }
+        return (word & ~VALUES) | values;
+    }
+
+    /**
+     * Position d'une carte dans la main de son propriétaire (visible de tous)
+     */
+    private static int slotOf(Player owner, Card card) {
+        List<Card> cards = owner.getDeck().getCards();
+        for (int i = 0; i < cards.size(); i++) {
+            if (cards.get(i) == card) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int remove(int[] slots, int size, int index) {
+        if (index < 0 || index >= size) {
+            return size;
+        }
+        System.arraycopy(slots, index + 1, slots, index, size - index - 1);
+        return size - 1;
+    }
+}
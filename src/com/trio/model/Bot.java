@@ -1,10 +1,17 @@
 package com.trio.model;
 
+import java.util.Collections;
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 public class Bot extends Player {
-    private Random random = new Random();
+    private static final double EXCHANGE_PROBABILITY = 0.20;
+
+    private SplittableRandom random = new SplittableRandom();
+    private BeliefTracker beliefs; // Mémoire de la partie en cours
+    private List<Team> teams = Collections.emptyList(); // Équipes de la partie (mode équipe)
+    private Player plannedTarget; // Cible retenue par chooseBotAction
+    private int plannedCenterIndex = -1;
 
     public Bot(String pseudo) {
         super(pseudo);
@@ -16,7 +23,64 @@ public class Bot extends Player {
     }
 
     /**
-     * IA intelligente pour choisir l'action du Bot
+     * Remplace le générateur du Bot (flux dérivé de la graine de la partie)
+     */
+    void setRandom(SplittableRandom random) {
+        this.random = random;
+    }
+
+    protected SplittableRandom getRandom() {
+        return random;
+    }
+
+    /**
+     * Équipes de la partie en cours (vide en mode Solo)
+     */
+    protected List<Team> getTeams() {
+        return teams;
+    }
+
+    /**
+     * Mémoire de la partie en cours, null hors d'une partie
+     */
+    protected BeliefTracker getBeliefs() {
+        return beliefs;
+    }
+
+    /**
+     * Prépare la mémoire du Bot pour une nouvelle partie ; la partie l'abonne
+     * à ses événements
+     */
+    GameListener watch(List<Player> players, Deck centerDeck, List<Team> teams) {
+        this.beliefs = new BeliefTracker(this, players, centerDeck);
+        this.teams = teams;
+        return beliefs;
+    }
+
+    /**
+     * Mémoire de la partie ; un Bot utilisé hors d'une partie (bancs d'essai)
+     * part de ce qui est visible sur la table
+     */
+    protected BeliefTracker getBeliefs(List<RevealedCard> revealedThisTurn, List<Player> players, Deck centerDeck) {
+        if (beliefs == null) {
+            beliefs = new BeliefTracker(this, players, centerDeck);
+            for (RevealedCard rc : revealedThisTurn) {
+                beliefs.onCardRevealed(rc);
+            }
+        }
+        return beliefs;
+    }
+
+    /**
+     * Nom de la stratégie du Bot (utilisé pour les statistiques de tournoi)
+     */
+    public String getStrategyName() {
+        return getClass().getSimpleName();
+    }
+
+    /**
+     * IA du Bot : s'appuie sur sa mémoire des cartes déjà vues (voir
+     * BeliefTracker) pour viser la carte la plus probable
      * 
      * @param revealedThisTurn Cartes déjà révélées ce tour
      * @param players          Liste de tous les joueurs
@@ -24,54 +88,72 @@ public class Bot extends Player {
      * @return int représentant l'action (1-5)
      */
     public int chooseBotAction(List<RevealedCard> revealedThisTurn, List<Player> players, Deck centerDeck) {
-        // Si aucune carte révélée, commencer par sa propre carte MIN ou MAX
+        BeliefTracker beliefs = getBeliefs(revealedThisTurn, players, centerDeck);
+        plannedTarget = null;
+        plannedCenterIndex = -1;
+
+        // Si aucune carte révélée, commencer par sa propre carte MIN ou MAX :
+        // celle dont les autres exemplaires semblent les plus accessibles
         if (revealedThisTurn.isEmpty()) {
-            return random.nextBoolean() ? 1 : 2; // MIN ou MAX aléatoire
+            if (this.getDeck().hasHiddenCard()) {
+                double low = reachable(beliefs, players, centerDeck, this.getDeck().getLowValue(), true);
+                double high = reachable(beliefs, players, centerDeck, this.getDeck().getHighValue(), false);
+                if (low != high) {
+                    return low > high ? 1 : 2;
+                }
+                return random.nextBoolean() ? 1 : 2; // MIN ou MAX aléatoire
+            }
+            // Main vide : commencer par le centre, sinon par un autre joueur
+            if (!centerDeck.isEmpty()) {
+                return 5;
+            }
+            return random.nextBoolean() ? 3 : 4;
         }
 
         // Valeur cible à trouver
         int targetValue = revealedThisTurn.get(0).getValue();
 
         // 1. Vérifier sa propre main
-        Card myLow = this.getDeck().getLowCard();
-        Card myHigh = this.getDeck().getHighCard();
-
-        if (myLow != null && myLow.getValue() == targetValue) {
+        if (this.getDeck().getLowValue() == targetValue) {
             return 1; // Révéler ma carte MIN
         }
-        if (myHigh != null && myHigh.getValue() == targetValue) {
+        if (this.getDeck().getHighValue() == targetValue) {
             return 2; // Révéler ma carte MAX
         }
 
-        // 2. Analyser les cartes visibles des autres joueurs
+        // 2. La carte la plus probable chez les autres ou au centre
+        int action = 0;
+        double best = 0;
         for (Player p : players) {
-            if (!p.equals(this)) {
-                // Chercher si ce joueur a une carte visible avec la bonne valeur
-                for (Card c : p.getDeck().getCards()) {
-                    if (c.isVisible() && c.getValue() == targetValue) {
-                        // Il pourrait avoir d'autres cartes identiques
-                        Card pLow = p.getDeck().getLowCard();
-                        Card pHigh = p.getDeck().getHighCard();
-
-                        if (pLow != null && !pLow.isVisible()) {
-                            return 3; // Tenter la MIN d'un autre
-                        }
-                        if (pHigh != null && !pHigh.isVisible()) {
-                            return 4; // Tenter la MAX d'un autre
-                        }
-                    }
-                }
+            if (p == this || !p.getDeck().hasHiddenCard()) {
+                continue;
+            }
+            double low = beliefs.chanceAtEdge(p, true, targetValue);
+            if (low > best) {
+                best = low;
+                action = 3;
+                plannedTarget = p;
+            }
+            double high = beliefs.chanceAtEdge(p, false, targetValue);
+            if (high > best) {
+                best = high;
+                action = 4;
+                plannedTarget = p;
             }
         }
-
-        // 3. Vérifier le centre
-        for (Card c : centerDeck.getCards()) {
-            if (c.isVisible() && c.getValue() == targetValue) {
-                return 5; // Tenter une autre carte du centre
+        for (int i = 0; i < beliefs.getCenterSize(); i++) {
+            double chance = beliefs.chanceAtCenter(i, targetValue);
+            if (chance > best) {
+                best = chance;
+                action = 5;
+                plannedCenterIndex = i;
             }
         }
+        if (action != 0) {
+            return action;
+        }
 
-        // 4. Fallback: action aléatoire avec préférence pour le centre
+        // 3. Fallback: action aléatoire avec préférence pour le centre
         double rand = random.nextDouble();
         if (rand < 0.3)
             return 3; // MIN autre joueur
@@ -81,10 +163,34 @@ public class Bot extends Player {
             return 5; // Centre
     }
 
+    /**
+     * Nombre attendu d'autres exemplaires de la valeur qu'on pourra retourner
+     * après avoir ouvert sa carte MIN (low) ou MAX
+     */
+    private double reachable(BeliefTracker beliefs, List<Player> players, Deck centerDeck, int value, boolean low) {
+        // Doublon dans sa propre main, retourné ensuite par la même action
+        double expected = this.getDeck().countHidden(value) - 1;
+        for (Player p : players) {
+            if (p != this && p.getDeck().hasHiddenCard()) {
+                expected += Math.max(beliefs.chanceAtEdge(p, true, value), beliefs.chanceAtEdge(p, false, value));
+            }
+        }
+        for (int i = 0; i < beliefs.getCenterSize(); i++) {
+            expected += beliefs.chanceAtCenter(i, value);
+        }
+        return expected;
+    }
+
     /**
      * Choisir un joueur cible parmi les autres
      */
     public Player chooseTargetPlayer(List<Player> players) {
+        Player planned = plannedTarget;
+        plannedTarget = null;
+        if (planned != null && planned != this && players.contains(planned) && planned.getDeck().hasHiddenCard()) {
+            return planned;
+        }
+
         List<Player> others = players.stream()
                 .filter(p -> !p.equals(this) && !p.getDeck().isEmpty())
                 .toList();
@@ -94,10 +200,41 @@ public class Bot extends Player {
         return others.get(random.nextInt(others.size()));
     }
 
+    /**
+     * Décide si le Bot tente un échange avec un coéquipier (mode équipe).
+     * Appelé uniquement en début de tour, avant toute révélation.
+     */
+    public boolean wantsToExchange() {
+        return random.nextDouble() < EXCHANGE_PROBABILITY;
+    }
+
+    /**
+     * Choisir un coéquipier pour l'échange
+     */
+    public Player chooseTeammate(List<Player> mates) {
+        if (mates.isEmpty())
+            return null;
+        return mates.get(random.nextInt(mates.size()));
+    }
+
+    /**
+     * Choisir l'index d'une carte à échanger dans un deck
+     */
+    public int chooseHandCardIndex(Deck deck) {
+        if (deck.isEmpty())
+            return -1;
+        return random.nextInt(deck.getSize());
+    }
+
     /**
      * Choisir un index de carte au centre
      */
     public int chooseCenterCardIndex(Deck centerDeck) {
+        int planned = plannedCenterIndex;
+        plannedCenterIndex = -1;
+        if (planned >= 0 && planned < centerDeck.getSize() && !centerDeck.getCard(planned).isVisible()) {
+            return planned;
+        }
         if (centerDeck.isEmpty())
             return -1;
         return random.nextInt(centerDeck.getSize());
@@ -7,6 +7,7 @@ public class Card {
     private String coordinate;
     private String pathImage;
     private boolean isVisible;
+    private Deck deck; // Deck qui contient la carte (notifié des changements)
 
     // Constructeurs
     public Card(int value, String coordinate, String pathImage) {
@@ -33,9 +34,17 @@ public class Card {
         return isVisible;
     }
 
+    Deck getDeck() {
+        return deck;
+    }
+
     // Setters
     public void setValue(int value) {
+        int oldValue = this.value;
         this.value = value;
+        if (deck != null && oldValue != value) {
+            deck.onValueChanged(this, oldValue);
+        }
     }
 
     public void setCoordinate(String coordinate) {
@@ -46,13 +55,27 @@ public class Card {
         this.pathImage = pathImage;
     }
 
+    void setDeck(Deck deck) {
+        this.deck = deck;
+    }
+
     // Méthodes Métier
     public void setVisible() {
-        this.isVisible = true;
+        if (!isVisible) {
+            this.isVisible = true;
+            if (deck != null) {
+                deck.onVisibilityChanged(this);
+            }
+        }
     }
 
     public void setInvisible() {
-        this.isVisible = false;
+        if (isVisible) {
+            this.isVisible = false;
+            if (deck != null) {
+                deck.onVisibilityChanged(this);
+            }
+        }
     }
 
     // toString
@@ -0,0 +1,189 @@
+package com.trio.model;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+/**
+ * Catalogue immuable des cartes du jeu (valeur, coordonnée, image).
+ * Le fichier cards.json est lu et analysé une seule fois par JVM (en flux,
+ * par CardJsonReader) ; chaque partie crée ensuite ses propres cartes à
+ * partir de ce modèle partagé, sans relire le fichier.
+ */
+public final class CardCatalog {
+
+    // Attributs
+    private final int[] values;
+    private final String[] coordinates;
+    private final String[] imagePaths;
+    private final String source; // Origine du catalogue (pour les messages)
+
+    // Constructeurs
+    private CardCatalog(int[] values, String[] coordinates, String[] imagePaths, String source) {
+        this.values = values;
+        this.coordinates = coordinates;
+        this.imagePaths = imagePaths;
+        this.source = source;
+    }
+
+    /**
+     * Catalogue par défaut, chargé au premier appel puis partagé.
+     *
+     * @throws CardFormatException si cards.json existe mais est invalide
+     */
+    public static CardCatalog getDefault() {
+        if (Holder.ERROR != null) {
+            throw Holder.ERROR;
+        }
+        return Holder.DEFAULT;
+    }
+
+    // Chargement paresseux et thread-safe (idiome du holder). L'échec est
+    // gardé et relancé tel quel, plutôt qu'un ExceptionInInitializerError
+    // puis des NoClassDefFoundError aux appels suivants.
+    private static class Holder {
+        private static final CardCatalog DEFAULT;
+        private static final RuntimeException ERROR;
+
+        static {
+            CardCatalog catalog = null;
+            RuntimeException error = null;
+            try {
+                catalog = loadDefault();
+            } catch (RuntimeException e) {
+                error = e;
+            }
+            DEFAULT = catalog;
+            ERROR = error;
+        }
+    }
+
+    /**
+     * Lit un catalogue depuis un flux JSON (un seul passage, sans regex)
+     *
+     * @throws CardFormatException en cas d'erreur de syntaxe ou de carte invalide
+     */
+    public static CardCatalog load(InputStream in, String source) throws IOException {
+        Builder builder = new Builder();
+        new CardJsonReader(in, source).read(builder);
+        return builder.build(source);
+    }
+
+    // Getters
+    public int size() {
+        return values.length;
+    }
+
+    public int getValue(int index) {
+        return values[index];
+    }
+
+    public String getCoordinate(int index) {
+        return coordinates[index];
+    }
+
+    public String getImagePath(int index) {
+        return imagePaths[index];
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    // Méthodes Métier
+
+    /**
+     * Crée une nouvelle carte (face cachée) à partir du modèle
+     */
+    public Card newCard(int index) {
+        return new Card(values[index], coordinates[index], imagePaths[index]);
+    }
+
+    /**
+     * Cherche cards.json dans les ressources puis sur le disque et l'analyse.
+     * Génère les cartes par défaut uniquement si le fichier est absent :
+     * un fichier invalide est signalé, pas remplacé en silence.
+     */
+    private static CardCatalog loadDefault() {
+        String source = "cards.json";
+        try {
+            // Essayer plusieurs chemins possibles (resources)
+            InputStream is = CardCatalog.class.getResourceAsStream("/resources/cards.json");
+
+            if (is == null) {
+                is = CardCatalog.class.getClassLoader().getResourceAsStream("resources/cards.json");
+            }
+            if (is == null) {
+                is = CardCatalog.class.getResourceAsStream("/cards.json");
+            }
+            if (is == null) {
+                is = CardCatalog.class.getClassLoader().getResourceAsStream("cards.json");
+            }
+
+            // Essayer depuis le système de fichiers
+            if (is == null) {
+                File file = new File("src/resources/cards.json");
+                if (file.exists()) {
+                    is = new FileInputStream(file);
+                    source = file.getAbsolutePath();
+                }
+            }
+
+            if (is == null) {
+                return generated("cards.json non trouvé");
+            }
+
+            try (InputStream in = is) {
+                return load(in, source);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erreur de lecture de " + source, e);
+        }
+    }
+
+    /**
+     * Génère les 36 cartes par défaut en mémoire (fallback)
+     * Valeurs de 1 à 12, 3 cartes par valeur
+     */
+    private static CardCatalog generated(String reason) {
+        Builder builder = new Builder();
+        for (int value = 1; value <= 12; value++) {
+            for (int copy = 0; copy < 3; copy++) {
+                builder.card(value, value + "-" + (char) ('A' + copy), "cards/" + value + ".png");
+            }
+        }
+        return builder.build("cartes par défaut (" + reason + ")");
+    }
+
+    /**
+     * Accumule les cartes lues dans des tableaux qui grandissent au besoin
+     */
+    private static class Builder implements CardJsonReader.CardHandler {
+        private int[] values = new int[64];
+        private String[] coordinates = new String[64];
+        private String[] imagePaths = new String[64];
+        private int size;
+
+        @Override
+        public void card(int value, String coordinate, String imagePath) {
+            if (size == values.length) {
+                int capacity = size * 2;
+                values = Arrays.copyOf(values, capacity);
+                coordinates = Arrays.copyOf(coordinates, capacity);
+                imagePaths = Arrays.copyOf(imagePaths, capacity);
+            }
+            values[size] = value;
+            coordinates[size] = coordinate;
+            imagePaths[size] = imagePath;
+            size++;
+        }
+
+        CardCatalog build(String source) {
+            return new CardCatalog(Arrays.copyOf(values, size), Arrays.copyOf(coordinates, size),
+                    Arrays.copyOf(imagePaths, size), source);
+        }
+    }
+}
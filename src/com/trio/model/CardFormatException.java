@@ -0,0 +1,33 @@
+package com.trio.model;
+
+/**
+ * Erreur de format dans un fichier de cartes JSON, avec sa position exacte.
+ */
+public class CardFormatException extends RuntimeException {
+
+    // Attributs
+    private final String source;
+    private final int line;
+    private final int column;
+
+    // Constructeurs
+    public CardFormatException(String message, String source, int line, int column) {
+        super(source + " (ligne " + line + ", colonne " + column + "): " + message);
+        this.source = source;
+        this.line = line;
+        this.column = column;
+    }
+
+    // Getters
+    public String getSource() {
+        return source;
+    }
+
+    public int getLine() {
+        return line;
+    }
+
+    public int getColumn() {
+        return column;
+    }
+}
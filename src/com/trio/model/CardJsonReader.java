@@ -0,0 +1,361 @@
+package com.trio.model;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Lecteur JSON en flux pour les fichiers de cartes.
+ * Lit directement l'InputStream en une seule passe (tampon fixe, sans
+ * charger le fichier en mémoire ni découper de chaînes) et transmet chaque
+ * carte au fur et à mesure. Accepte un tableau de cartes à la racine ou un
+ * objet contenant la clé "cards" ; les clés inconnues sont ignorées.
+ * Toute erreur de syntaxe est signalée avec sa ligne et sa colonne.
+ */
+final class CardJsonReader {
+
+    /**
+     * Reçoit les cartes lues, dans l'ordre du fichier
+     */
+    interface CardHandler {
+        void card(int value, String coordinate, String imagePath);
+    }
+
+    private static final int EOF = -1;
+
+    // Attributs
+    private final Reader reader;
+    private final String source;
+    private final char[] buffer;
+    private final StringBuilder text; // Réutilisé pour chaque chaîne lue
+    private int position;
+    private int limit;
+    private int line;
+    private int column;
+    private int cardCount;
+
+    // Constructeurs
+    CardJsonReader(InputStream in, String source) {
+        this.reader = new InputStreamReader(in, StandardCharsets.UTF_8);
+        this.source = source;
+        this.buffer = new char[8192];
+        this.text = new StringBuilder(64);
+        this.line = 1;
+    }
+
+    // Méthodes Métier
+
+    /**
+     * Lit tout le fichier et transmet les cartes au handler
+     *
+     * @return le nombre de cartes lues
+     */
+    int read(CardHandler handler) throws IOException {
+        skipWhitespace();
+        int c = peek();
+        if (c == '[') {
+            readCardArray(handler);
+        } else if (c == '{') {
+            readRootObject(handler);
+        } else {
+            throw error("objet ou tableau de cartes attendu");
+        }
+
+        skipWhitespace();
+        if (peek() != EOF) {
+            throw error("contenu inattendu après la fin du JSON");
+        }
+        if (cardCount == 0) {
+            throw error("aucune carte dans le fichier");
+        }
+        return cardCount;
+    }
+
+    private void readRootObject(CardHandler handler) throws IOException {
+        boolean cardsFound = false;
+        expect('{');
+        skipWhitespace();
+        if (peek() == '}') {
+            next();
+        } else {
+            do {
+                skipWhitespace();
+                String key = readString();
+                skipWhitespace();
+                expect(':');
+                skipWhitespace();
+                if (key.equals("cards")) {
+                    readCardArray(handler);
+                    cardsFound = true;
+                } else {
+                    skipValue();
+                }
+                skipWhitespace();
+            } while (nextSeparator('}'));
+        }
+        if (!cardsFound) {
+            throw error("clé \"cards\" absente");
+        }
+    }
+
+    private void readCardArray(CardHandler handler) throws IOException {
+        expect('[');
+        skipWhitespace();
+        if (peek() == ']') {
+            next();
+            return;
+        }
+        do {
+            skipWhitespace();
+            readCard(handler);
+            skipWhitespace();
+        } while (nextSeparator(']'));
+    }
+
+    private void readCard(CardHandler handler) throws IOException {
+        int startLine = line;
+        int startColumn = column + 1;
+        int value = -1;
+        String coordinate = "";
+        String imagePath = "";
+
+        expect('{');
+        skipWhitespace();
+        if (peek() == '}') {
+            next();
+        } else {
+            do {
+                skipWhitespace();
+                String key = readString();
+                skipWhitespace();
+                expect(':');
+                skipWhitespace();
+                switch (key) {
+                    case "value":
+                        value = readCardValue();
+                        break;
+                    case "coordinate":
+                        coordinate = readString();
+                        break;
+                    case "imagePath":
+                        imagePath = readString();
+                        break;
+                    default:
+                        skipValue();
+                        break;
+                }
+                skipWhitespace();
+            } while (nextSeparator('}'));
+        }
+
+        if (value < 0) {
+            throw new CardFormatException("carte sans \"value\"", source, startLine, startColumn);
+        }
+        handler.card(value, coordinate, imagePath);
+        cardCount++;
+    }
+
+    /**
+     * Valeur de carte : entier de 1 à 15 (limite du Deck)
+     */
+    private int readCardValue() throws IOException {
+        int c = peek();
+        if (c < '0' || c > '9') {
+            throw error("valeur entière attendue");
+        }
+        int value = 0;
+        while ((c = peek()) >= '0' && c <= '9') {
+            next();
+            value = value * 10 + (c - '0');
+            if (value > 15) {
+                throw error("valeur de carte hors limites (1-15)");
+            }
+        }
+        if (c == '.' || c == 'e' || c == 'E') {
+            throw error("valeur entière attendue");
+        }
+        if (value == 0) {
+            throw error("valeur de carte hors limites (1-15)");
+        }
+        return value;
+    }
+
+    private String readString() throws IOException {
+        expect('"');
+        text.setLength(0);
+        while (true) {
+            int c = next();
+            if (c == '"') {
+                return text.toString();
+            }
+            if (c == EOF) {
+                throw error("chaîne non terminée");
+            }
+            if (c < 0x20) {
+                throw errorAtLast("caractère de contrôle dans une chaîne");
+            }
+            if (c == '\\') {
+                text.append(readEscape());
+            } else {
+                text.append((char) c);
+            }
+        }
+    }
+
+    private char readEscape() throws IOException {
+        int c = next();
+        switch (c) {
+            case '"':
+            case '\\':
+            case '/':
+                return (char) c;
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'u':
+                int code = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(next(), 16);
+                    if (digit < 0) {
+                        throw errorAtLast("séquence \\u invalide");
+                    }
+                    code = (code << 4) | digit;
+                }
+                return (char) code;
+            default:
+                throw errorAtLast("séquence d'échappement invalide");
+        }
+    }
+
+    /**
+     * Ignore une valeur JSON quelconque (clé inconnue)
+     */
+    private void skipValue() throws IOException {
+        int c = peek();
+        if (c == '"') {
+            readString();
+        } else if (c == '{' || c == '[') {
+            int close = c == '{' ? '}' : ']';
+            next();
+            skipWhitespace();
+            if (peek() == close) {
+                next();
+                return;
+            }
+            do {
+                skipWhitespace();
+                if (close == '}') {
+                    readString();
+                    skipWhitespace();
+                    expect(':');
+                    skipWhitespace();
+                }
+                skipValue();
+                skipWhitespace();
+            } while (nextSeparator(close));
+        } else if (c == '-' || (c >= '0' && c <= '9')) {
+            while ((c = peek()) == '-' || c == '+' || c == '.' || c == 'e' || c == 'E' || (c >= '0' && c <= '9')) {
+                next();
+            }
+        } else if (c == 't') {
+            expectWord("true");
+        } else if (c == 'f') {
+            expectWord("false");
+        } else if (c == 'n') {
+            expectWord("null");
+        } else {
+            throw error("valeur JSON attendue");
+        }
+    }
+
+    /**
+     * Lit ',' (retourne true) ou le caractère fermant (retourne false)
+     */
+    private boolean nextSeparator(int close) throws IOException {
+        int c = next();
+        if (c == ',') {
+            return true;
+        }
+        if (c == close) {
+            return false;
+        }
+        throw errorAtLast("',' ou '" + (char) close + "' attendu");
+    }
+
+    private void expectWord(String word) throws IOException {
+        for (int i = 0; i < word.length(); i++) {
+            if (next() != word.charAt(i)) {
+                throw errorAtLast("'" + word + "' attendu");
+            }
+        }
+    }
+
+    private void expect(char expected) throws IOException {
+        if (next() != expected) {
+            throw errorAtLast("'" + expected + "' attendu");
+        }
+    }
+
+    private void skipWhitespace() throws IOException {
+        int c;
+        while ((c = peek()) == ' ' || c == '\n' || c == '\r' || c == '\t' || c == '\uFEFF') {
+            next();
+        }
+    }
+
+    // === Lecture bas niveau ===
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return EOF;
+        }
+        return buffer[position];
+    }
+
+    private int next() throws IOException {
+        if (position == limit && !fill()) {
+            return EOF;
+        }
+        char c = buffer[position++];
+        if (c == '\n') {
+            line++;
+            column = 0;
+        } else {
+            column++;
+        }
+        return c;
+    }
+
+    private boolean fill() throws IOException {
+        int n = reader.read(buffer, 0, buffer.length);
+        if (n <= 0) {
+            return false;
+        }
+        position = 0;
+        limit = n;
+        return true;
+    }
+
+    /**
+     * Erreur sur le prochain caractère (pas encore lu)
+     */
+    private CardFormatException error(String message) {
+        return new CardFormatException(message, source, line, column + 1);
+    }
+
+    /**
+     * Erreur sur le dernier caractère lu
+     */
+    private CardFormatException errorAtLast(String message) {
+        return new CardFormatException(message, source, line, Math.max(column, 1));
+    }
+}
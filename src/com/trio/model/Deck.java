@@ -1,32 +1,91 @@
 package com.trio.model;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.RandomAccess;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
+/**
+ * Paquet de cartes (main d'un joueur, centre, pioche ou trio gagné).
+ *
+ * En plus de la liste des cartes, le deck maintient un index compact :
+ * le nombre de cartes cachées et visibles par valeur, sur 4 bits par valeur
+ * (valeurs 0 à 15) dans deux long. Les requêtes de valeur MIN/MAX cachée et
+ * de comptage sont ainsi en O(1) et sans allocation. L'index est mis à jour
+ * par la liste elle-même et par les cartes (setVisible, setInvisible,
+ * setValue) : une carte ne doit appartenir qu'à un seul deck à la fois.
+ */
 public class Deck {
+
+    private static final int MAX_VALUE = 15;
+    private static final int MAX_COPIES = 15; // par valeur, pour tenir sur 4 bits
+    private static final long NIBBLE_LOW_BITS = 0x1111111111111111L;
+
     // Attributs
-    private List<Card> cards;
+    private final CardList cards;
+    private long hiddenCounts; // 4 bits par valeur : cartes face cachée
+    private long visibleCounts; // 4 bits par valeur : cartes face visible
+    private int version; // Change à chaque modification (voir GameState)
 
     // Constructeurs
     public Deck() {
-        this.cards = new ArrayList<>();
+        this.cards = new CardList();
     }
 
     // Getters
     public Card getLowCard() {
-        return this.cards.stream()
-                .filter(card -> !card.isVisible())
-                .min(Comparator.comparingInt(Card::getValue))
-                .orElse(null);
+        int value = getLowValue();
+        return value < 0 ? null : findHiddenCard(value);
     }
 
     public Card getHighCard() {
-        return this.cards.stream()
-                .filter(card -> !card.isVisible())
-                .max(Comparator.comparingInt(Card::getValue))
-                .orElse(null);
+        int value = getHighValue();
+        return value < 0 ? null : findHiddenCard(value);
+    }
+
+    /**
+     * Valeur de la plus petite carte cachée, -1 si aucune (O(1))
+     */
+    public int getLowValue() {
+        long present = presence(hiddenCounts);
+        return present == 0 ? -1 : Long.numberOfTrailingZeros(present) >>> 2;
+    }
+
+    /**
+     * Valeur de la plus grande carte cachée, -1 si aucune (O(1))
+     */
+    public int getHighValue() {
+        long present = presence(hiddenCounts);
+        return present == 0 ? -1 : (63 - Long.numberOfLeadingZeros(present)) >>> 2;
+    }
+
+    /**
+     * Nombre de cartes cachées de cette valeur (O(1))
+     */
+    public int countHidden(int value) {
+        return value < 0 || value > MAX_VALUE ? 0 : (int) (hiddenCounts >>> (value << 2)) & 0xF;
+    }
+
+    /**
+     * Nombre de cartes visibles de cette valeur (O(1))
+     */
+    public int countVisible(int value) {
+        return value < 0 || value > MAX_VALUE ? 0 : (int) (visibleCounts >>> (value << 2)) & 0xF;
+    }
+
+    /**
+     * Numéro de version : deux lectures égales encadrent un deck inchangé
+     */
+    int getVersion() {
+        return version;
+    }
+
+    public boolean hasHiddenCard() {
+        return hiddenCounts != 0;
     }
 
     public Card getCard(int index) {
@@ -64,7 +123,19 @@ public class Deck {
     }
 
     public void shuffle() {
-        Collections.shuffle(cards);
+        shuffle(new SplittableRandom());
+    }
+
+    /**
+     * Mélange avec le générateur donné (Fisher-Yates). Mélange direct de la
+     * liste : les compteurs ne changent pas.
+     */
+    public void shuffle(RandomGenerator random) {
+        List<Card> list = cards.backing;
+        for (int i = list.size() - 1; i > 0; i--) {
+            Collections.swap(list, i, random.nextInt(i + 1));
+        }
+        version++;
     }
 
     public void sort() {
@@ -75,6 +146,70 @@ public class Deck {
         return cards.isEmpty();
     }
 
+    // Index compact (appelé par Card et CardList)
+
+    void onVisibilityChanged(Card card) {
+        version++;
+        long unit = unit(card.getValue());
+        if (card.isVisible()) {
+            hiddenCounts -= unit;
+            visibleCounts += unit;
+        } else {
+            visibleCounts -= unit;
+            hiddenCounts += unit;
+        }
+    }
+
+    void onValueChanged(Card card, int oldValue) {
+        count(card.isVisible(), oldValue, -1);
+        count(card.isVisible(), card.getValue(), 1);
+    }
+
+    private void count(boolean visible, int value, int delta) {
+        version++;
+        long unit = unit(value);
+        if (delta > 0 && countHidden(value) + countVisible(value) >= MAX_COPIES) {
+            throw new IllegalStateException(
+                    "Trop de cartes de valeur " + value + " dans un même deck (max " + MAX_COPIES + ")");
+        }
+        if (visible) {
+            visibleCounts += delta * unit;
+        } else {
+            hiddenCounts += delta * unit;
+        }
+    }
+
+    /**
+     * Première carte cachée de la valeur donnée (même ordre que l'ancien
+     * parcours par stream : la première rencontrée en cas d'égalité)
+     */
+    private Card findHiddenCard(int value) {
+        List<Card> list = cards.backing;
+        for (int i = 0, n = list.size(); i < n; i++) {
+            Card card = list.get(i);
+            if (card.getValue() == value && !card.isVisible()) {
+                return card;
+            }
+        }
+        return null;
+    }
+
+    private static long unit(int value) {
+        if (value < 0 || value > MAX_VALUE) {
+            throw new IllegalArgumentException("Valeur de carte hors limites (0-" + MAX_VALUE + "): " + value);
+        }
+        return 1L << (value << 2);
+    }
+
+    /**
+     * Réduit chaque quartet non nul au bit de poids faible du quartet
+     */
+    private static long presence(long counts) {
+        long x = counts | (counts >>> 1);
+        x |= x >>> 2;
+        return x & NIBBLE_LOW_BITS;
+    }
+
     // toString
     @Override
     public String toString() {
@@ -86,4 +221,67 @@ public class Deck {
         }
         return sb.toString();
     }
-}
\ No newline at end of file
+
+    /**
+     * Liste des cartes qui tient l'index compact à jour.
+     * Toutes les modifications (y compris via itérateur, sort, clear...)
+     * passent par set, add et remove ; une carte null est refusée.
+     */
+    private final class CardList extends AbstractList<Card> implements RandomAccess {
+        private final ArrayList<Card> backing = new ArrayList<>();
+
+        @Override
+        public Card get(int index) {
+            return backing.get(index);
+        }
+
+        @Override
+        public int size() {
+            return backing.size();
+        }
+
+        @Override
+        public Card set(int index, Card card) {
+            Card old = backing.get(index);
+            if (old == card) {
+                return old;
+            }
+            count(card.isVisible(), card.getValue(), 1);
+            backing.set(index, card);
+            card.setDeck(Deck.this);
+            detach(old);
+            return old;
+        }
+
+        @Override
+        public void add(int index, Card card) {
+            count(card.isVisible(), card.getValue(), 1);
+            backing.add(index, card);
+            card.setDeck(Deck.this);
+            modCount++;
+        }
+
+        @Override
+        public Card remove(int index) {
+            Card old = backing.remove(index);
+            detach(old);
+            modCount++;
+            return old;
+        }
+
+        @Override
+        public void sort(Comparator<? super Card> comparator) {
+            backing.sort(comparator);
+            version++;
+            modCount++;
+        }
+
+        private void detach(Card card) {
+            count(card.isVisible(), card.getValue(), -1);
+            // La carte peut encore être présente ailleurs dans la liste (échange)
+            if (card.getDeck() == Deck.this && !backing.contains(card)) {
+                card.setDeck(null);
+            }
+        }
+    }
+}
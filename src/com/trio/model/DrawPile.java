@@ -1,12 +1,12 @@
 package com.trio.model;
 
-import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
-import java.util.Scanner;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * Classe pour créer et initialiser la pioche à partir d'un fichier JSON
@@ -15,10 +15,14 @@ public class DrawPile {
 
     // Attributs
     private Deck deck;
+    private boolean verbose; // Affiche les messages de chargement/distribution
+    private RandomGenerator random; // Mélange de la distribution
 
     // Constructeurs
     public DrawPile() {
         this.deck = new Deck();
+        this.verbose = true;
+        this.random = new SplittableRandom();
     }
 
     // Getters
@@ -26,165 +30,67 @@ public class DrawPile {
         return deck;
     }
 
-    // Méthodes Métier
+    // Setters
 
     /**
-     * Charge les cartes depuis le fichier JSON
+     * Active ou désactive les messages console (désactivé pour les simulations)
      */
-    public void loadFromJson(String resourcePath) {
-        try {
-            InputStream is = getClass().getClassLoader().getResourceAsStream(resourcePath);
-            if (is == null) {
-                throw new RuntimeException("Fichier JSON non trouvé: " + resourcePath);
-            }
-
-            BufferedReader reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8));
-            StringBuilder json = new StringBuilder();
-            String line;
-            while ((line = reader.readLine()) != null) {
-                json.append(line);
-            }
-            reader.close();
-
-            parseJson(json.toString());
-
-        } catch (Exception e) {
-            System.err.println("Erreur lors du chargement des cartes: " + e.getMessage());
-            createDefaultCards();
-        }
+    public void setVerbose(boolean verbose) {
+        this.verbose = verbose;
     }
 
     /**
-     * Parse le JSON et crée les cartes avec value, coordinate, imagePath
+     * Générateur utilisé pour mélanger lors de la distribution (permet une
+     * distribution reproductible)
      */
-    private void parseJson(String json) {
-        String cardsArray = json.substring(json.indexOf("[") + 1, json.lastIndexOf("]"));
-        String[] cardObjects = cardsArray.split("\\},");
-
-        for (String cardObj : cardObjects) {
-            cardObj = cardObj.replace("{", "").replace("}", "").trim();
-
-            int value = 0;
-            String coordinate = "";
-            String imagePath = "";
-
-            String[] properties = cardObj.split(",");
-            for (String prop : properties) {
-                String[] keyValue = prop.split(":");
-                if (keyValue.length == 2) {
-                    String key = keyValue[0].trim().replace("\"", "");
-                    String val = keyValue[1].trim().replace("\"", "");
-
-                    switch (key) {
-                        case "value":
-                            value = Integer.parseInt(val);
-                            break;
-                        case "coordinate":
-                            coordinate = val;
-                            break;
-                        case "imagePath":
-                            imagePath = val;
-                            break;
-                    }
-                }
-            }
-
-            if (value > 0) {
-                Card card = new Card(value, coordinate, imagePath);
-                deck.addCard(card);
-            }
-        }
+    public void setRandom(RandomGenerator random) {
+        this.random = random;
     }
 
+    // Méthodes Métier
+
     /**
-     * Crée les 36 cartes par défaut avec coordonnées génériques
+     * Charge les cartes depuis un fichier JSON des ressources
+     *
+     * @throws IllegalArgumentException si la ressource est introuvable
+     * @throws CardFormatException      si le fichier est invalide
      */
-    public void createDefaultCards() {
-        deck = new Deck();
-
-        try {
-            // Essayer plusieurs chemins possibles (resources)
-            InputStream is = getClass().getResourceAsStream("/resources/cards.json");
-
-            if (is == null) {
-                is = getClass().getClassLoader().getResourceAsStream("resources/cards.json");
-            }
-            if (is == null) {
-                is = getClass().getResourceAsStream("/cards.json");
-            }
-            if (is == null) {
-                is = getClass().getClassLoader().getResourceAsStream("cards.json");
-            }
-
-            // Essayer depuis le système de fichiers
-            if (is == null) {
-                java.io.File file = new java.io.File("src/resources/cards.json");
-                if (file.exists()) {
-                    is = new java.io.FileInputStream(file);
-                    System.out.println("✓ cards.json chargé depuis: " + file.getAbsolutePath());
-                }
-            }
-
-            if (is == null) {
-                System.out.println("Info: cards.json non trouvé, génération des cartes par défaut...");
-                generateDefaultCards();
-                return;
-            }
-
-            // Astuce "One-liner" pour lire tout le stream dans une String (Scanner avec
-            // délimiteur \A)
-            Scanner scanner = new Scanner(is, "UTF-8");
-            String jsonContent = scanner.useDelimiter("\\A").hasNext() ? scanner.next() : "";
-            scanner.close();
-            is.close();
-
-            // Parser manuellement avec Regex
-            String regex = "\"value\"\\s*:\\s*(\\d+).*?\"coordinate\"\\s*:\\s*\"(.*?)\".*?\"imagePath\"\\s*:\\s*\"(.*?)\"";
-            Pattern pattern = Pattern.compile(regex, Pattern.DOTALL);
-            Matcher matcher = pattern.matcher(jsonContent);
-
-            while (matcher.find()) {
-                int value = Integer.parseInt(matcher.group(1));
-                String coord = matcher.group(2);
-                String imagePath = matcher.group(3);
-                deck.addCard(new Card(value, coord, imagePath));
-            }
+    public void loadFromJson(String resourcePath) {
+        InputStream is = getClass().getClassLoader().getResourceAsStream(resourcePath);
+        if (is == null) {
+            throw new IllegalArgumentException("Fichier JSON non trouvé: " + resourcePath);
+        }
 
-            // Vérifier si des cartes ont été chargées
-            if (deck.isEmpty()) {
-                System.out.println("Info: Aucune carte trouvée dans le JSON, génération par défaut...");
-                generateDefaultCards();
-            } else {
-                System.out.println("✓ " + deck.getSize() + " cartes chargées depuis cards.json");
-            }
+        CardCatalog catalog;
+        try (InputStream in = is) {
+            catalog = CardCatalog.load(in, resourcePath);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erreur lors du chargement des cartes: " + resourcePath, e);
+        }
 
-        } catch (Exception e) {
-            System.out.println("Info: Erreur lors du chargement: " + e.getMessage());
-            generateDefaultCards();
+        for (int i = 0; i < catalog.size(); i++) {
+            deck.addCard(catalog.newCard(i));
         }
     }
 
     /**
-     * Génère les 36 cartes par défaut en mémoire (fallback)
-     * Valeurs de 1 à 12, 3 cartes par valeur
+     * Crée les cartes du jeu à partir du catalogue partagé (cards.json lu une
+     * seule fois par JVM, cartes par défaut en cas d'absence)
      */
-    private void generateDefaultCards() {
+    public void createDefaultCards() {
+        CardCatalog catalog = CardCatalog.getDefault();
         deck = new Deck();
-        for (int value = 1; value <= 12; value++) {
-            for (int copy = 0; copy < 3; copy++) {
-                String coord = value + "-" + (char) ('A' + copy);
-                String imagePath = "cards/" + value + ".png";
-                deck.addCard(new Card(value, coord, imagePath));
-            }
+        for (int i = 0; i < catalog.size(); i++) {
+            deck.addCard(catalog.newCard(i));
         }
-        System.out.println("✓ " + deck.getSize() + " cartes générées par défaut");
+        info("✓ " + deck.getSize() + " cartes chargées depuis " + catalog.getSource());
     }
 
     /**
      * Mélange la pioche
      */
     public void shuffle() {
-        deck.shuffle();
+        deck.shuffle(random);
     }
 
     /**
@@ -193,9 +99,7 @@ public class DrawPile {
      * @param players    liste des joueurs
      * @param centerDeck le deck central
      */
-    public void distributeToPlayers(java.util.List<Player> players, Deck centerDeck) {
-        shuffle();
-
+    public void distributeToPlayers(List<Player> players, Deck centerDeck) {
         int nbPlayers = players.size();
         int cardsPerPlayer;
         int cardsAtCenter;
@@ -225,25 +129,87 @@ public class DrawPile {
                 break;
         }
 
-        // Distribuer aux joueurs
+        deal(players, cardsPerPlayer, centerDeck, cardsAtCenter);
+
+        info("📋 Distribution: " + cardsPerPlayer + " cartes/joueur, " + cardsAtCenter + " au centre");
+    }
+
+    /**
+     * Distribue la pioche en une seule passe : une permutation d'index est
+     * mélangée une fois, puis découpée en mains (déjà triées) et en centre.
+     * Les cartes restantes forment la nouvelle pioche. Coût O(n log k) pour
+     * n cartes et des mains de k cartes, sans décalage de liste.
+     *
+     * @param players        joueurs servis dans l'ordre
+     * @param cardsPerPlayer cartes par joueur (moins si la pioche s'épuise)
+     * @param centerDeck     deck central (ignoré si cardsAtCenter vaut 0)
+     * @param cardsAtCenter  cartes placées au centre
+     */
+    public void deal(List<Player> players, int cardsPerPlayer, Deck centerDeck, int cardsAtCenter) {
+        List<Card> pile = deck.getCards();
+        int size = pile.size();
+        int[] order = shuffledOrder(size);
+        long[] hand = new long[cardsPerPlayer];
+        int next = 0;
+
+        // Mains : chaque tranche est triée par valeur (position en cas d'égalité)
         for (Player player : players) {
-            for (int i = 0; i < cardsPerPlayer; i++) {
-                if (!deck.isEmpty()) {
-                    Card card = deck.removeCard(0);
-                    player.getDeck().addCard(card);
-                }
+            int count = Math.min(cardsPerPlayer, size - next);
+            for (int i = 0; i < count; i++) {
+                int index = order[next + i];
+                hand[i] = ((long) pile.get(index).getValue() << 32) | index;
             }
-            player.getDeck().sort();
-        }
+            Arrays.sort(hand, 0, count);
 
-        // Distribuer au centre
-        for (int i = 0; i < cardsAtCenter; i++) {
-            if (!deck.isEmpty()) {
-                Card card = deck.removeCard(0);
-                centerDeck.addCard(card);
+            Deck playerDeck = player.getDeck();
+            boolean wasEmpty = playerDeck.isEmpty();
+            for (int i = 0; i < count; i++) {
+                playerDeck.addCard(pile.get((int) hand[i]));
+            }
+            if (!wasEmpty) {
+                playerDeck.sort();
             }
+            next += count;
         }
 
-        System.out.println("📋 Distribution: " + cardsPerPlayer + " cartes/joueur, " + cardsAtCenter + " au centre");
+        // Centre : ordre du mélange
+        int centerCount = Math.min(cardsAtCenter, size - next);
+        for (int i = 0; i < centerCount; i++) {
+            centerDeck.addCard(pile.get(order[next + i]));
+        }
+        next += centerCount;
+
+        // Le reste devient la nouvelle pioche
+        Deck rest = new Deck();
+        for (int i = next; i < size; i++) {
+            rest.addCard(pile.get(order[i]));
+        }
+        deck = rest;
+    }
+
+    /**
+     * Permutation aléatoire des index 0..size-1 (Fisher-Yates)
+     */
+    private int[] shuffledOrder(int size) {
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
+        return order;
+    }
+
+    /**
+     * Affiche un message d'information si le mode verbeux est actif
+     */
+    private void info(String message) {
+        if (verbose) {
+            System.out.println(message);
+        }
     }
 }
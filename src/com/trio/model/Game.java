@@ -9,4 +9,9 @@ public interface Game {
     boolean isFinished();
 
     TrioHolder getWinner();
+
+    /**
+     * Noyau des règles auquel la partie délègue (tour, coups, photos)
+     */
+    Rules getRules();
 }
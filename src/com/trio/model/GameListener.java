@@ -0,0 +1,36 @@
+package com.trio.model;
+
+import java.util.List;
+
+/**
+ * Observateur des événements publics d'une partie (Solo ou équipe).
+ * Ne reçoit que ce que tous les joueurs voient autour de la table : les
+ * cartes retournées et leur place, les échecs, les trios et les échanges.
+ * Les Bots d'une partie sont abonnés automatiquement.
+ */
+public interface GameListener {
+
+    /**
+     * Une carte vient d'être retournée (elle est déjà face visible)
+     */
+    default void onCardRevealed(RevealedCard revealed) {
+    }
+
+    /**
+     * Échec du tour : ces cartes vont être remises face cachée
+     */
+    default void onTurnFailed(List<RevealedCard> revealed) {
+    }
+
+    /**
+     * Trio validé : ces cartes vont quitter les mains et le centre
+     */
+    default void onTrioAwarded(List<RevealedCard> revealed) {
+    }
+
+    /**
+     * Échange à l'aveugle entre deux coéquipiers (mains déjà retriées)
+     */
+    default void onExchange(Player playerA, Player playerB) {
+    }
+}
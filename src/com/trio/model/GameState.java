@@ -0,0 +1,372 @@
+package com.trio.model;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Photo immuable d'une partie (Solo ou équipe) : mains, centre, trios
+ * gagnés, cartes retournées ce tour, joueur au trait.
+ *
+ * Une photo n'est qu'une lecture : les coups se jouent sur la partie
+ * (Rules), la recherche sur SearchState. Deux photos successives d'une même
+ * partie partagent tout ce qui n'a pas changé entre elles (mains, trios,
+ * cartes) : garder l'historique d'une partie (annulation) ne copie jamais
+ * les joueurs ni les cartes. La face visible des cartes est portée par la
+ * photo (un masque de bits par main), pas par les objets Card.
+ *
+ * Les sièges suivent l'ordre de jeu ; un trio est compté au joueur (Solo)
+ * ou à l'équipe du siège qui le gagne.
+ */
+public final class GameState {
+
+    // Attributs
+    private static final int SEVEN = 7;
+    private static final int MAX_CARDS = 32; // Cartes par main (masque de visibilité sur un int)
+
+    private final Hand[] hands; // Par siège
+    private final Hand center;
+    private final Trios[] trios; // Par joueur ou équipe
+    private final int[] holderOf; // Siège -> joueur ou équipe ; partagé par les photos d'une partie
+    private final Reveal revealed; // Cartes retournées ce tour, la dernière en tête
+    private final int current;
+    private final boolean exchangeUsed;
+
+    /**
+     * Main ou centre : cartes (tableau jamais modifié) et cartes face visible
+     */
+    private static final class Hand {
+        static final Hand EMPTY = new Hand(new Card[0], 0, null, 0);
+
+        final Card[] cards;
+        final int visible; // Bit i : carte i face visible
+        final Deck source; // Deck photographié, null pour une main vide
+        final int version; // Version du deck au moment de la photo
+
+        Hand(Card[] cards, int visible, Deck source, int version) {
+            this.cards = cards;
+            this.visible = visible;
+            this.source = source;
+            this.version = version;
+        }
+
+        static Hand of(Deck deck) {
+            if (deck == null) {
+                return EMPTY;
+            }
+            Card[] cards = deck.getCards().toArray(new Card[0]);
+            if (cards.length > MAX_CARDS) {
+                throw new IllegalStateException("Trop de cartes dans une main (max " + MAX_CARDS + ")");
+            }
+            int visible = 0;
+            for (int i = 0; i < cards.length; i++) {
+                if (cards[i].isVisible()) {
+                    visible |= 1 << i;
+                }
+            }
+            return new Hand(cards, visible, deck, deck.getVersion());
+        }
+
+        int indexOf(Card card) {
+            for (int i = 0; i < cards.length; i++) {
+                if (cards[i] == card) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Trios gagnés par un joueur ou une équipe, le dernier en tête
+     */
+    private static final class Trios {
+        final Card[] cards;
+        final Deck deck; // Deck du trio dans la partie
+        final Trios next;
+        final int count;
+        final boolean seven;
+
+        Trios(Card[] cards, Deck deck, Trios next) {
+            this.cards = cards;
+            this.deck = deck;
+            this.next = next;
+            this.count = next == null ? 1 : next.count + 1;
+            this.seven = (next != null && next.seven) || (cards.length > 0 && cards[0].getValue() == SEVEN);
+        }
+    }
+
+    /**
+     * Carte retournée ce tour : siège (-1 pour le centre) et position
+     */
+    private static final class Reveal {
+        final int seat;
+        final int slot;
+        final Card card;
+        final Reveal next;
+        final int count;
+
+        Reveal(int seat, int slot, Card card, Reveal next) {
+            this.seat = seat;
+            this.slot = slot;
+            this.card = card;
+            this.next = next;
+            this.count = next == null ? 1 : next.count + 1;
+        }
+    }
+
+    // Constructeurs
+    private GameState(Hand[] hands, Hand center, Trios[] trios, int[] holderOf, Reveal revealed, int current,
+            boolean exchangeUsed) {
+        this.hands = hands;
+        this.center = center;
+        this.trios = trios;
+        this.holderOf = holderOf;
+        this.revealed = revealed;
+        this.current = current;
+        this.exchangeUsed = exchangeUsed;
+    }
+
+    /**
+     * Photo d'une table vue par un Bot (aucune photo précédente à partager)
+     *
+     * @param teams   équipes (vide en mode Solo : chaque joueur marque pour lui)
+     * @param current siège du joueur au trait
+     */
+    public static GameState of(List<Player> seats, Deck centerDeck, List<Team> teams, List<RevealedCard> revealed,
+            int current) {
+        int[] holderOf = null;
+        if (!teams.isEmpty()) {
+            holderOf = new int[seats.size()];
+            for (int s = 0; s < seats.size(); s++) {
+                for (int t = 0; t < teams.size(); t++) {
+                    if (teams.get(t).hasPlayer(seats.get(s))) {
+                        holderOf[s] = t;
+                    }
+                }
+            }
+        }
+        return capture(null, seats, centerDeck, teams.isEmpty() ? seats : teams, holderOf, revealed, current,
+                false);
+    }
+
+    /**
+     * Photo d'une partie en cours. Les mains et les trios inchangés depuis la
+     * photo précédente (même deck, même version) sont repris tels quels.
+     *
+     * @param holderOf siège -> indice dans holders (null : le siège lui-même)
+     */
+    static GameState capture(GameState previous, List<Player> seats, Deck centerDeck,
+            List<? extends TrioHolder> holders, int[] holderOf, List<RevealedCard> revealed, int current,
+            boolean exchangeUsed) {
+        int n = seats.size();
+        Hand[] hands = new Hand[n];
+        for (int s = 0; s < n; s++) {
+            Deck deck = seats.get(s).getDeck();
+            Hand old = previous != null && s < previous.hands.length ? previous.hands[s] : null;
+            hands[s] = old != null && old.source == deck && old.version == deck.getVersion() ? old : Hand.of(deck);
+        }
+        Hand center = previous != null && centerDeck != null && previous.center.source == centerDeck
+                && previous.center.version == centerDeck.getVersion() ? previous.center : Hand.of(centerDeck);
+
+        Trios[] trios = new Trios[holders.size()];
+        for (int h = 0; h < trios.length; h++) {
+            List<Deck> won = holders.get(h).getTrios();
+            Trios old = previous != null && h < previous.trios.length ? previous.trios[h] : null;
+            int kept = old != null && old.count <= won.size() && won.get(old.count - 1) == old.deck ? old.count : 0;
+            Trios list = kept > 0 ? old : null;
+            for (int i = kept; i < won.size(); i++) {
+                Deck trio = won.get(i);
+                list = new Trios(trio.getCards().toArray(new Card[0]), trio, list);
+            }
+            trios[h] = list;
+        }
+
+        if (holderOf == null) {
+            holderOf = previous != null && previous.holderOf.length == n ? previous.holderOf : identity(n);
+        } else if (previous != null && Arrays.equals(previous.holderOf, holderOf)) {
+            holderOf = previous.holderOf;
+        }
+
+        Reveal reveals = null;
+        for (RevealedCard rc : revealed) {
+            int seat = rc.getOwner() == null ? -1 : indexOf(seats, rc.getOwner());
+            int slot = seat < 0 ? rc.getCardIndex() : hands[seat].indexOf(rc.getCard());
+            reveals = new Reveal(seat, slot, rc.getCard(), reveals);
+        }
+        return new GameState(hands, center, trios, holderOf, reveals, current, exchangeUsed);
+    }
+
+    private static int[] identity(int n) {
+        int[] seats = new int[n];
+        for (int s = 0; s < n; s++) {
+            seats[s] = s;
+        }
+        return seats;
+    }
+
+    private static int indexOf(List<Player> seats, Player player) {
+        for (int s = 0; s < seats.size(); s++) {
+            if (seats.get(s) == player) {
+                return s;
+            }
+        }
+        return -1;
+    }
+
+    // Getters
+    public int getSeatCount() {
+        return hands.length;
+    }
+
+    public int getCurrentSeat() {
+        return current;
+    }
+
+    public int getHandSize(int seat) {
+        return hands[seat].cards.length;
+    }
+
+    public Card getCard(int seat, int index) {
+        return hands[seat].cards[index];
+    }
+
+    public boolean isVisible(int seat, int index) {
+        return (hands[seat].visible & (1 << index)) != 0;
+    }
+
+    public int getCenterSize() {
+        return center.cards.length;
+    }
+
+    public Card getCenterCard(int index) {
+        return center.cards[index];
+    }
+
+    public boolean isCenterVisible(int index) {
+        return (center.visible & (1 << index)) != 0;
+    }
+
+    /**
+     * Joueur (Solo) ou équipe qui marque les trios du siège
+     */
+    public int getHolderOf(int seat) {
+        return holderOf[seat];
+    }
+
+    public int getHolderCount() {
+        return trios.length;
+    }
+
+    public int getTrioCount(int holder) {
+        return trios[holder] == null ? 0 : trios[holder].count;
+    }
+
+    public boolean hasSevenTrio(int holder) {
+        return trios[holder] != null && trios[holder].seven;
+    }
+
+    public boolean isExchangeUsed() {
+        return exchangeUsed;
+    }
+
+    public int getRevealedCount() {
+        return revealed == null ? 0 : revealed.count;
+    }
+
+    /**
+     * Siège de la k-ième carte retournée ce tour (dans l'ordre), -1 pour le
+     * centre
+     */
+    public int getRevealedSeat(int k) {
+        return revealedAt(k).seat;
+    }
+
+    /**
+     * Position de la k-ième carte retournée ce tour dans sa main ou au centre
+     */
+    public int getRevealedSlot(int k) {
+        return revealedAt(k).slot;
+    }
+
+    public Card getRevealedCard(int k) {
+        return revealedAt(k).card;
+    }
+
+    private Reveal revealedAt(int k) {
+        Reveal reveal = revealed;
+        for (int skip = getRevealedCount() - 1 - k; skip > 0; skip--) {
+            reveal = reveal.next;
+        }
+        return reveal;
+    }
+
+    // Méthodes Métier
+
+    /**
+     * Même photo, avec l'échange du tour marqué utilisé ou non
+     */
+    public GameState withExchangeUsed(boolean used) {
+        return used == exchangeUsed ? this
+                : new GameState(hands, center, trios, holderOf, revealed, current, used);
+    }
+
+    /**
+     * Remet une partie dans l'état de la photo : mains, centre, trios et
+     * cartes retournées ce tour. Les sièges et joueurs ou équipes doivent
+     * être ceux de la partie photographiée.
+     */
+    void applyTo(List<Player> seats, Deck centerDeck, List<? extends TrioHolder> holders,
+            List<RevealedCard> revealedThisTurn) {
+        // Tout est vidé d'abord : une carte n'appartient qu'à un seul deck
+        for (Player p : seats) {
+            p.getDeck().getCards().clear();
+        }
+        if (centerDeck != null) {
+            centerDeck.getCards().clear();
+        }
+        for (TrioHolder holder : holders) {
+            for (Deck trio : holder.getTrios()) {
+                trio.getCards().clear();
+            }
+        }
+        for (int s = 0; s < hands.length; s++) {
+            fill(seats.get(s).getDeck(), hands[s].cards, hands[s].visible);
+        }
+        if (centerDeck != null) {
+            fill(centerDeck, center.cards, center.visible);
+        }
+
+        for (int h = 0; h < trios.length; h++) {
+            Deck[] decks = new Deck[getTrioCount(h)];
+            int i = decks.length;
+            for (Trios t = trios[h]; t != null; t = t.next) {
+                Deck trio = t.deck;
+                trio.getCards().clear();
+                fill(trio, t.cards, -1);
+                decks[--i] = trio;
+            }
+            List<Deck> won = holders.get(h).getTrios();
+            won.clear();
+            won.addAll(Arrays.asList(decks));
+        }
+
+        revealedThisTurn.clear();
+        for (int k = 0; k < getRevealedCount(); k++) {
+            Reveal r = revealedAt(k);
+            revealedThisTurn.add(r.seat < 0 ? new RevealedCard(r.card, null, r.slot)
+                    : new RevealedCard(r.card, seats.get(r.seat)));
+        }
+    }
+
+    private static void fill(Deck deck, Card[] cards, int visible) {
+        for (int i = 0; i < cards.length; i++) {
+            Card card = cards[i];
+            deck.addCard(card);
+            if ((visible & (1 << i)) != 0) {
+                card.setVisible();
+            } else {
+                card.setInvisible();
+            }
+        }
+    }
+}
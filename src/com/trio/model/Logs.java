@@ -1,37 +1,224 @@
 package com.trio.model;
 
-import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.nio.file.Paths;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Journal de la partie, écrit en arrière-plan.
+ * Le thread de jeu se contente de déposer le message dans une file bornée ;
+ * un thread d'écriture vide la file par lots dans un unique flux bufferisé,
+ * ouvert une seule fois. Si la file est pleine, le message est abandonné
+ * (et compté) plutôt que de bloquer la partie.
+ * Le fichier est découpé en segments compressés (voir RollingLogFile).
+ */
 public class Logs {
-    private static Logs instance;
+    // Attributs
+    private static volatile Logs instance;
     private static final String LOG_FILE = "logs/logs.txt";
+    private static final int CAPACITY = 8192; // Taille de la file d'attente
+    private static final int BATCH_SIZE = 256; // Messages écrits avant chaque vidage du buffer
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final Entry STOP = new Entry(0, null); // Déposé par close() pour réveiller le thread d'écriture
 
+    private final BlockingQueue<Entry> queue;
+    private final List<Entry> batch;
+    private final AtomicLong dropped;
+    private final Object progress; // Moniteur pour attendre l'écriture des messages
+    private final LongAdder submitted; // Messages acceptés dans la file
+    private final AtomicLong written; // Messages traités par le thread d'écriture
+    private volatile boolean closed;
+    private final RollingLogFile file;
+    private final StringBuilder line; // Ligne en cours de formatage (thread d'écriture)
+    private final Thread worker;
+
+    /**
+     * Message en attente d'écriture, horodaté sur le thread de jeu
+     */
+    private static final class Entry {
+        final long timeMillis;
+        final String message;
+
+        Entry(long timeMillis, String message) {
+            this.timeMillis = timeMillis;
+            this.message = message;
+        }
+    }
+
+    // Constructeurs
     private Logs() {
+        this.queue = new ArrayBlockingQueue<>(CAPACITY);
+        this.batch = new ArrayList<>(BATCH_SIZE);
+        this.dropped = new AtomicLong();
+        this.progress = new Object();
+        this.submitted = new LongAdder();
+        this.written = new AtomicLong();
+        this.file = RollingLogFile.fromSystemProperties(Paths.get(LOG_FILE));
+        this.line = new StringBuilder(128);
+
+        this.worker = new Thread(this::run, "trio-logs");
+        this.worker.setDaemon(true);
+        this.worker.start();
+
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close, "trio-logs-shutdown"));
     }
 
     public static Logs getInstance() {
-        if (instance == null)
-            instance = new Logs();
-        return instance;
+        Logs result = instance;
+        if (result == null) {
+            synchronized (Logs.class) {
+                result = instance;
+                if (result == null) {
+                    result = new Logs();
+                    instance = result;
+                }
+            }
+        }
+        return result;
     }
 
+    // Getters
+    /**
+     * Nombre de messages abandonnés parce que la file était pleine
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    // Méthodes Métier
     public void writeLogs(String message) {
-        // Créer le dossier logs s'il n'existe pas
-        File logsDir = new File("logs");
-        if (!logsDir.exists()) {
-            logsDir.mkdirs();
+        if (closed) {
+            dropped.incrementAndGet();
+            return;
+        }
+        // La réservation précède le dépôt pour que flush() ne rate aucun message
+        submitted.increment();
+        if (!queue.offer(new Entry(System.currentTimeMillis(), message))) {
+            dropped.incrementAndGet();
+            markWritten(1);
+        }
+    }
+
+    /**
+     * Attend que tous les messages déjà déposés soient écrits sur le disque
+     */
+    public void flush() {
+        if (Thread.currentThread() == worker) {
+            return;
+        }
+        long target = submitted.sum();
+        synchronized (progress) {
+            while (written.get() < target && worker.isAlive()) {
+                try {
+                    progress.wait(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
         }
+    }
 
-        try (PrintWriter writer = new PrintWriter(new FileWriter(LOG_FILE, true))) {
-            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
-            writer.println("[" + timestamp + "] " + message);
+    /**
+     * Écrit les messages restants puis ferme le fichier.
+     * Appelée automatiquement à l'arrêt de la JVM.
+     */
+    public void close() {
+        if (closed) {
+            return;
+        }
+        flush();
+        closed = true;
+        // Pas d'interruption : elle fermerait le canal du fichier en pleine
+        // écriture (ClosedByInterruptException) et perdrait les dernières lignes
+        try {
+            queue.offer(STOP, 1, TimeUnit.SECONDS);
+            worker.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Boucle du thread d'écriture
+     */
+    private void run() {
+        while (!closed) {
+            try {
+                Entry first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null || first == STOP) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, BATCH_SIZE - 1);
+                writeBatch();
+            } catch (InterruptedException e) {
+                // Interruption inattendue : on termine, les messages restants sont écrits ci-dessous
+                break;
+            }
+        }
+        queue.drainTo(batch);
+        writeBatch();
+        closeWriter();
+    }
+
+    /**
+     * Écrit le lot courant et vide le buffer si la file est vide
+     */
+    private void writeBatch() {
+        batch.remove(STOP);
+        if (batch.isEmpty()) {
+            return;
+        }
+        int count = batch.size();
+        try {
+            for (Entry entry : batch) {
+                line.setLength(0);
+                line.append('[').append(format(entry.timeMillis)).append("] ").append(entry.message);
+                file.writeLine(line);
+            }
+            if (queue.isEmpty()) {
+                file.flush();
+            }
         } catch (IOException e) {
             System.err.println("Error writing to log file: " + e.getMessage());
+            closeWriter();
+        } finally {
+            batch.clear();
+            markWritten(count);
+        }
+    }
+
+    private void closeWriter() {
+        try {
+            file.close();
+        } catch (IOException e) {
+            System.err.println("Error closing log file: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Compte des messages traités et réveille flush() ; hors du chemin
+     * courant de writeLogs (un appel par lot, ou par message abandonné)
+     */
+    private void markWritten(int count) {
+        written.addAndGet(count);
+        synchronized (progress) {
+            progress.notifyAll();
         }
     }
-}
\ No newline at end of file
+
+    private static String format(long timeMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(timeMillis), ZoneId.systemDefault()).format(FORMATTER);
+    }
+}
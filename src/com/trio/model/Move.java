@@ -0,0 +1,185 @@
+package com.trio.model;
+
+import java.util.List;
+
+/**
+ * Coups d'une partie codés sur un int, sans objet à créer.
+ *
+ * Bits 0-2 : type (mêmes codes que les actions des vues, 0 à 6) ; bits
+ * 3-10 : siège visé (révélation, échange) ou index au centre ; bits 11-18
+ * et 19-26 : index de la carte donnée et de la carte reçue lors d'un
+ * échange. Les sièges suivent l'ordre de jeu de la partie.
+ *
+ * Rules (et ses façades SoloGame et TeamGame) énumère les coups légaux
+ * dans un tableau réutilisable (legalMoves) et joue un coup complet (play).
+ */
+public final class Move {
+
+    // Attributs
+    public static final int STOP = 0;
+    public static final int OWN_MIN = 1;
+    public static final int OWN_MAX = 2;
+    public static final int OTHER_MIN = 3;
+    public static final int OTHER_MAX = 4;
+    public static final int CENTER = 5;
+    public static final int EXCHANGE = 6;
+
+    // Constructeurs
+    private Move() {
+    }
+
+    // Getters
+    public static int kind(int move) {
+        return move & 7;
+    }
+
+    public static int target(int move) {
+        return (move >>> 3) & 0xFF;
+    }
+
+    public static int ownIndex(int move) {
+        return (move >>> 11) & 0xFF;
+    }
+
+    public static int mateIndex(int move) {
+        return move >>> 19;
+    }
+
+    // Méthodes Métier
+
+    /**
+     * Révélation (MIN, MAX ou centre) ou arrêt ; target : siège visé ou
+     * index au centre
+     *
+     * @throws IllegalArgumentException si kind n'est pas un type de coup ou
+     *                                  si target ne tient pas sur 8 bits
+     */
+    public static int of(int kind, int target) {
+        if (kind < STOP || kind > EXCHANGE) {
+            throw new IllegalArgumentException("Type de coup inconnu : " + kind);
+        }
+        return kind | field(target, "target") << 3;
+    }
+
+    /**
+     * Échange de la carte ownIndex du joueur courant contre la carte
+     * mateIndex du coéquipier assis au siège mate
+     *
+     * @throws IllegalArgumentException si un des trois index ne tient pas
+     *                                  sur 8 bits
+     */
+    public static int exchange(int mate, int ownIndex, int mateIndex) {
+        return EXCHANGE | field(mate, "mate") << 3 | field(ownIndex, "ownIndex") << 11
+                | field(mateIndex, "mateIndex") << 19;
+    }
+
+    /**
+     * Vérifie qu'une valeur tient dans un champ de 8 bits : un index négatif
+     * (indexOf manqué) ou trop grand déborderait sur les champs voisins
+     */
+    private static int field(int value, String name) {
+        if (value < 0 || value > 0xFF) {
+            throw new IllegalArgumentException(name + " hors de [0, 255] : " + value);
+        }
+        return value;
+    }
+
+    /**
+     * Taille de tableau suffisante pour legalMoves
+     *
+     * @param maxHand taille de la plus grande main
+     */
+    public static int capacity(int seats, int maxHand, int centerSize) {
+        return 2 * seats + centerSize + 1 + (seats - 1) * maxHand * maxHand;
+    }
+
+    /**
+     * Énumère les coups légaux du siège current : ses cartes MIN et MAX,
+     * celles des autres joueurs, les cartes cachées du centre, l'arrêt après
+     * deux cartes, puis, si exchange est vrai, chaque échange possible avec
+     * un coéquipier (siège de même indice dans holderOf). MAX n'est proposé
+     * que s'il révèle une autre carte que MIN. Aucun coup une fois le tour
+     * terminé (trois cartes ou une carte différente).
+     *
+     * @return nombre de coups écrits dans out
+     */
+    static int generate(int[] out, List<Player> seats, int current, Deck centerDeck,
+            List<RevealedCard> revealed, int[] holderOf, boolean exchange) {
+        int count = revealed.size();
+        if (count >= 3 || (count >= 2 && revealed.get(count - 1).getValue() != revealed.get(0).getValue())) {
+            return 0;
+        }
+        int n = 0;
+        Deck own = seats.get(current).getDeck();
+        if (own.hasHiddenCard()) {
+            out[n++] = of(OWN_MIN, current);
+            if (hasTwoEdges(own)) {
+                out[n++] = of(OWN_MAX, current);
+            }
+        }
+        for (int s = 0; s < seats.size(); s++) {
+            Deck deck = seats.get(s).getDeck();
+            if (s != current && deck.hasHiddenCard()) {
+                out[n++] = of(OTHER_MIN, s);
+                if (hasTwoEdges(deck)) {
+                    out[n++] = of(OTHER_MAX, s);
+                }
+            }
+        }
+        if (centerDeck != null) {
+            for (int i = 0; i < centerDeck.getSize(); i++) {
+                if (!centerDeck.getCard(i).isVisible()) {
+                    out[n++] = of(CENTER, i);
+                }
+            }
+        }
+        if (count >= 2) {
+            out[n++] = STOP;
+        }
+        if (count == 0 && exchange) {
+            for (int seat = 0; seat < seats.size(); seat++) {
+                if (seat == current || holderOf[seat] != holderOf[current]) {
+                    continue;
+                }
+                Deck mate = seats.get(seat).getDeck();
+                for (int i = 0; i < own.getSize(); i++) {
+                    for (int j = 0; j < mate.getSize(); j++) {
+                        out[n++] = exchange(seat, i, j);
+                    }
+                }
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Vrai si MIN et MAX révèlent deux cartes différentes (à valeurs égales,
+     * les deux prennent la première carte cachée)
+     */
+    private static boolean hasTwoEdges(Deck deck) {
+        return deck.getLowValue() != deck.getHighValue();
+    }
+
+    /**
+     * Description courte d'un coup pour les logs ("sa carte MIN", "la carte
+     * MAX de Bob", "la carte du centre n°3"...)
+     */
+    public static String describe(int move, List<Player> seats) {
+        switch (kind(move)) {
+            case OWN_MIN:
+                return "sa carte MIN";
+            case OWN_MAX:
+                return "sa carte MAX";
+            case OTHER_MIN:
+                return "la carte MIN de " + seats.get(target(move)).getPseudo();
+            case OTHER_MAX:
+                return "la carte MAX de " + seats.get(target(move)).getPseudo();
+            case CENTER:
+                return "la carte du centre n°" + (target(move) + 1);
+            case EXCHANGE:
+                return "un échange avec " + seats.get(target(move)).getPseudo();
+            default:
+                return "l'arrêt du tour";
+        }
+    }
+}
@@ -46,6 +46,15 @@ public class Player implements TrioHolder {
     }
 
     // Méthodes Métier
+
+    /**
+     * Repart d'une main et de trios vides (joueur qui enchaîne les parties)
+     */
+    public void resetForNewGame() {
+        this.hand = new Deck();
+        this.trios = new ArrayList<>();
+    }
+
     public String chooseAction(Game game) {
         return "DEFAULT_ACTION";
     }
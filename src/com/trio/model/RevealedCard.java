@@ -37,4 +37,15 @@ public class RevealedCard {
     public int getValue() {
         return card.getValue();
     }
+
+    // Setters
+
+    /**
+     * Réutilise l'objet pour une nouvelle carte retournée (voir Rules)
+     */
+    void set(Card card, Player owner, int cardIndex) {
+        this.card = card;
+        this.owner = owner;
+        this.cardIndex = cardIndex;
+    }
 }
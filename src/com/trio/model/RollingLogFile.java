@@ -0,0 +1,256 @@
+package com.trio.model;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Fichier journal découpé en segments.
+ * Quand le segment courant dépasse la taille ou l'âge maximal, il est renommé
+ * (logs.txt -> logs.txt.20250101-120000-000) et un nouveau segment est ouvert.
+ * La compression gzip des segments fermés et le nettoyage des anciennes
+ * archives sont faits sur un thread d'arrière-plan : le renommage est la
+ * seule opération faite par l'appelant.
+ *
+ * Réglages (propriétés système) :
+ * trio.logs.maxSizeMb (10), trio.logs.maxAgeHours (24),
+ * trio.logs.maxArchives (10), trio.logs.retentionDays (30).
+ * Une valeur 0 désactive la limite correspondante.
+ *
+ * Les méthodes d'écriture ne sont pas synchronisées : un fichier n'a qu'un
+ * seul rédacteur à la fois.
+ */
+public class RollingLogFile implements Closeable {
+
+    // Attributs
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+    private static final long MB = 1024L * 1024L;
+    private static final long HOUR_MS = 3_600_000L;
+    private static final long DAY_MS = 24 * HOUR_MS;
+
+    // Un seul thread de compression partagé par tous les journaux
+    private static final ExecutorService COMPRESSOR = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "trio-logs-gzip");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    private final Path path;
+    private final long maxBytes;
+    private final long maxAgeMillis;
+    private final int maxArchives;
+    private final long retentionMillis;
+
+    private OutputStream out;
+    private long size; // Taille du segment courant
+    private long openedAt; // Date de création du segment courant
+
+    // Constructeurs
+    public RollingLogFile(Path path, long maxBytes, long maxAgeMillis, int maxArchives, long retentionMillis) {
+        this.path = path;
+        this.maxBytes = maxBytes;
+        this.maxAgeMillis = maxAgeMillis;
+        this.maxArchives = maxArchives;
+        this.retentionMillis = retentionMillis;
+
+        // Archives laissées non compressées par un arrêt brutal
+        COMPRESSOR.execute(this::sweep);
+    }
+
+    /**
+     * Journal configuré par les propriétés système trio.logs.*
+     */
+    public static RollingLogFile fromSystemProperties(Path path) {
+        return new RollingLogFile(path,
+                Long.getLong("trio.logs.maxSizeMb", 10) * MB,
+                Long.getLong("trio.logs.maxAgeHours", 24) * HOUR_MS,
+                Integer.getInteger("trio.logs.maxArchives", 10),
+                Long.getLong("trio.logs.retentionDays", 30) * DAY_MS);
+    }
+
+    // Getters
+    public Path getPath() {
+        return path;
+    }
+
+    // Méthodes Métier
+
+    /**
+     * Écrit une ligne (le séparateur de ligne est ajouté)
+     */
+    public void writeLine(CharSequence line) throws IOException {
+        write(line + System.lineSeparator());
+    }
+
+    /**
+     * Écrit le texte tel quel, après un éventuel changement de segment
+     */
+    public void write(String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        if (out == null) {
+            open();
+        }
+        if (shouldRoll(bytes.length)) {
+            roll();
+        }
+        out.write(bytes);
+        size += bytes.length;
+    }
+
+    public void flush() throws IOException {
+        if (out != null) {
+            out.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (out != null) {
+            out.close();
+            out = null;
+        }
+    }
+
+    // ===== SEGMENTS =====
+
+    private void open() throws IOException {
+        Path dir = path.toAbsolutePath().getParent();
+        if (dir != null) {
+            Files.createDirectories(dir);
+        }
+        if (Files.exists(path)) {
+            BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+            size = attrs.size();
+            openedAt = attrs.creationTime().toMillis();
+        } else {
+            size = 0;
+            openedAt = System.currentTimeMillis();
+        }
+        out = new BufferedOutputStream(Files.newOutputStream(path, StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND), 64 * 1024);
+    }
+
+    private boolean shouldRoll(int incoming) {
+        if (size == 0) {
+            return false;
+        }
+        if (maxBytes > 0 && size + incoming > maxBytes) {
+            return true;
+        }
+        return maxAgeMillis > 0 && System.currentTimeMillis() - openedAt > maxAgeMillis;
+    }
+
+    /**
+     * Ferme le segment courant, le renomme et confie sa compression au
+     * thread d'arrière-plan
+     */
+    private void roll() throws IOException {
+        close();
+        Path archive = archivePath();
+        Files.move(path, archive, StandardCopyOption.ATOMIC_MOVE);
+        COMPRESSOR.execute(() -> {
+            compress(archive);
+            sweep();
+        });
+        open();
+        // Sur certains systèmes, la date de création survit au renommage
+        openedAt = System.currentTimeMillis();
+    }
+
+    private Path archivePath() {
+        String base = path.getFileName() + "." + LocalDateTime.now().format(SUFFIX);
+        Path archive = path.resolveSibling(base);
+        for (int i = 1; Files.exists(archive) || Files.exists(gzPath(archive)); i++) {
+            archive = path.resolveSibling(base + "-" + i);
+        }
+        return archive;
+    }
+
+    // ===== COMPRESSION ET RÉTENTION (thread d'arrière-plan) =====
+
+    private static Path gzPath(Path archive) {
+        return archive.resolveSibling(archive.getFileName() + ".gz");
+    }
+
+    private static void compress(Path archive) {
+        if (!Files.exists(archive)) {
+            return; // Déjà compressé par un nettoyage précédent
+        }
+        Path gz = gzPath(archive);
+        Path tmp = gz.resolveSibling(gz.getFileName() + ".tmp");
+        try (InputStream in = Files.newInputStream(archive);
+                OutputStream zip = new GZIPOutputStream(Files.newOutputStream(tmp), 64 * 1024)) {
+            in.transferTo(zip);
+        } catch (IOException e) {
+            System.err.println("Error compressing log segment " + archive + ": " + e.getMessage());
+            return;
+        }
+        try {
+            Files.move(tmp, gz, StandardCopyOption.ATOMIC_MOVE);
+            Files.delete(archive);
+        } catch (IOException e) {
+            System.err.println("Error compressing log segment " + archive + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Compresse les segments fermés restants puis supprime les archives en
+     * trop ou trop anciennes
+     */
+    private void sweep() {
+        Path dir = path.toAbsolutePath().getParent();
+        if (dir == null || !Files.isDirectory(dir)) {
+            return;
+        }
+        String prefix = path.getFileName() + ".";
+        List<Path> archives = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, prefix + "*")) {
+            for (Path file : stream) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(".tmp")) {
+                    continue;
+                }
+                if (!name.endsWith(".gz")) {
+                    compress(file);
+                    file = gzPath(file);
+                }
+                if (Files.exists(file)) {
+                    archives.add(file);
+                }
+            }
+
+            // Plus récentes d'abord (le suffixe horodaté se trie comme la date)
+            archives.sort(Comparator.comparing((Path p) -> p.getFileName().toString()).reversed());
+            long now = System.currentTimeMillis();
+            for (int i = 0; i < archives.size(); i++) {
+                Path archive = archives.get(i);
+                boolean tooMany = maxArchives > 0 && i >= maxArchives;
+                boolean tooOld = retentionMillis > 0
+                        && now - Files.getLastModifiedTime(archive).toMillis() > retentionMillis;
+                if (tooMany || tooOld) {
+                    Files.deleteIfExists(archive);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error cleaning log archives for " + path + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,410 @@
+package com.trio.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Noyau des règles commun aux modes Solo et équipe : révélations, validation
+ * du trio, échec et fin de tour, échanges, coups (voir Move) et photos (voir
+ * GameState). SoloGame et TeamGame n'en sont que des façades.
+ *
+ * Le mode ne fournit que ses politiques : l'ordre de jeu (sièges), qui
+ * marque les trios et gagne (le joueur lui-même ou son équipe) et si
+ * l'échange entre coéquipiers est permis. Un tour complet (révélations,
+ * trio ou échec, joueur suivant) ne crée aucun objet, hormis le deck d'un
+ * trio gagné.
+ */
+public final class Rules {
+
+    // Attributs
+    private static final int TRIOS_TO_WIN = 3;
+
+    private final List<Player> seats; // Ordre de jeu
+    private final Deck centerDeck;
+    private final List<Team> teams; // Vide en mode Solo
+    private final List<? extends TrioHolder> holders; // Joueurs ou équipes qui marquent les trios
+    private final int[] holderOf; // Siège -> indice dans holders
+    private final boolean exchanges; // Échange entre coéquipiers permis par le mode
+    private final List<RevealedCard> revealedThisTurn;
+    private final RevealedCard[] revealedPool; // Cartes retournées, réutilisées d'un tour à l'autre
+    private final List<GameListener> listeners;
+    private int current;
+    private boolean exchangeUsed; // Un seul échange par tour, avant toute révélation
+    private GameState lastSnapshot; // Photo précédente, dont la suivante reprend les parties inchangées
+
+    // Constructeurs
+
+    /**
+     * @param seats     joueurs dans l'ordre de jeu
+     * @param teams     équipes qui marquent les trios (vide : chaque joueur
+     *                  marque pour lui)
+     * @param exchanges échange entre coéquipiers permis
+     */
+    Rules(List<Player> seats, Deck centerDeck, List<Team> teams, boolean exchanges) {
+        this.seats = seats;
+        this.centerDeck = centerDeck;
+        this.teams = teams;
+        this.holders = teams.isEmpty() ? seats : teams;
+        this.holderOf = new int[seats.size()];
+        for (int s = 0; s < holderOf.length; s++) {
+            holderOf[s] = teams.isEmpty() ? s : teams.indexOf(teamOf(teams, seats.get(s)));
+        }
+        this.exchanges = exchanges;
+        this.revealedThisTurn = new ArrayList<>(3);
+        this.revealedPool = new RevealedCard[3];
+        for (int k = 0; k < revealedPool.length; k++) {
+            revealedPool[k] = new RevealedCard(null, null);
+        }
+        this.listeners = new ArrayList<>();
+    }
+
+    private static Team teamOf(List<Team> teams, Player player) {
+        for (Team team : teams) {
+            if (team.hasPlayer(player)) {
+                return team;
+            }
+        }
+        return null;
+    }
+
+    // Getters
+    public List<Player> getSeats() {
+        return seats;
+    }
+
+    public Deck getCenterDeck() {
+        return centerDeck;
+    }
+
+    public int getCurrentSeat() {
+        return current;
+    }
+
+    public Player getCurrentPlayer() {
+        return seats.get(current);
+    }
+
+    public List<RevealedCard> getRevealedCards() {
+        return revealedThisTurn;
+    }
+
+    /**
+     * Joueurs (Solo) ou équipes qui marquent les trios
+     */
+    public List<? extends TrioHolder> getHolders() {
+        return holders;
+    }
+
+    /**
+     * Joueur ou équipe qui marque les trios du siège
+     */
+    public TrioHolder getHolder(int seat) {
+        return holders.get(holderOf[seat]);
+    }
+
+    public TrioHolder getCurrentHolder() {
+        return getHolder(current);
+    }
+
+    public boolean isExchangeUsed() {
+        return exchangeUsed;
+    }
+
+    /**
+     * Vrai si le joueur courant peut encore échanger ce tour
+     */
+    public boolean exchangeAllowed() {
+        return exchanges && !exchangeUsed && revealedThisTurn.isEmpty();
+    }
+
+    /**
+     * Abonne un observateur aux cartes retournées, échecs, trios et échanges
+     */
+    public void addListener(GameListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Abonne la mémoire d'un Bot à la table
+     */
+    void watch(Bot bot) {
+        addListener(bot.watch(seats, centerDeck, teams));
+    }
+
+    // Méthodes Métier - Révélations
+
+    public Card revealHighestCardFromPlayer(Player owner) {
+        Card card = owner.getDeck().getHighCard();
+        if (card != null) {
+            card.setVisible();
+            reveal(card, owner, -1);
+        }
+        return card;
+    }
+
+    public Card revealLowestCardFromPlayer(Player owner) {
+        Card card = owner.getDeck().getLowCard();
+        if (card != null) {
+            card.setVisible();
+            reveal(card, owner, -1);
+        }
+        return card;
+    }
+
+    /**
+     * Révèle la carte du centre ; une carte déjà visible est rendue sans être
+     * révélée de nouveau
+     */
+    public Card revealCardFromCenter(int index) {
+        if (centerDeck == null || index < 0 || index >= centerDeck.getSize()) {
+            return null;
+        }
+        Card card = centerDeck.getCard(index);
+        if (card != null && !card.isVisible()) {
+            card.setVisible();
+            reveal(card, null, index);
+        }
+        return card;
+    }
+
+    /**
+     * Les observateurs ne gardent pas les cartes retournées au-delà de
+     * l'appel : les trois premières de chaque tour sont recyclées
+     */
+    private void reveal(Card card, Player owner, int cardIndex) {
+        int k = revealedThisTurn.size();
+        RevealedCard revealed;
+        if (k < revealedPool.length) {
+            revealed = revealedPool[k];
+            revealed.set(card, owner, cardIndex);
+        } else {
+            revealed = new RevealedCard(card, owner, cardIndex);
+        }
+        revealedThisTurn.add(revealed);
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onCardRevealed(revealed);
+        }
+    }
+
+    // Méthodes Métier - Tour
+
+    /**
+     * Vrai si le tour ne peut plus continuer : trois cartes retournées ou une
+     * carte différente de la première
+     */
+    public boolean isTurnOver() {
+        int count = revealedThisTurn.size();
+        return count >= 3
+                || (count >= 2 && revealedThisTurn.get(count - 1).getValue() != revealedThisTurn.get(0).getValue());
+    }
+
+    public boolean isValidTrio() {
+        if (revealedThisTurn.size() != 3) {
+            return false;
+        }
+        int value = revealedThisTurn.get(0).getValue();
+        for (int k = 1; k < 3; k++) {
+            if (revealedThisTurn.get(k).getValue() != value) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Attribue le trio retourné ce tour, retire ses cartes des mains et du
+     * centre
+     */
+    public void awardTrio(TrioHolder winner) {
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onTrioAwarded(revealedThisTurn);
+        }
+        Deck trio = new Deck();
+        for (int k = 0; k < revealedThisTurn.size(); k++) {
+            RevealedCard rc = revealedThisTurn.get(k);
+            Card card = rc.getCard();
+            if (rc.getOwner() != null) {
+                rc.getOwner().getDeck().removeCard(card);
+            } else if (centerDeck != null) {
+                centerDeck.removeCard(card);
+            }
+            // Les cartes gagnées restent visibles dans la pile des trios
+            card.setVisible();
+            trio.addCard(card);
+        }
+        winner.addTrio(trio);
+        revealedThisTurn.clear();
+        exchangeUsed = false;
+    }
+
+    /**
+     * Échec du tour : les cartes retournées sont remises face cachée
+     */
+    public void failTurn() {
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onTurnFailed(revealedThisTurn);
+        }
+        for (int k = 0; k < revealedThisTurn.size(); k++) {
+            revealedThisTurn.get(k).getCard().setInvisible();
+        }
+        revealedThisTurn.clear();
+        exchangeUsed = false;
+    }
+
+    public void nextTurn() {
+        current = (current + 1) % seats.size();
+        exchangeUsed = false;
+    }
+
+    /**
+     * Fin du tour du joueur courant : le trio va à son joueur ou son équipe
+     * et il rejoue ; sinon les cartes retournées sont remises face cachée et
+     * la main passe, tant que la partie continue
+     *
+     * @return true si un trio a été gagné
+     */
+    public boolean endTurn() {
+        if (isValidTrio()) {
+            awardTrio(getCurrentHolder());
+            return true;
+        }
+        if (!revealedThisTurn.isEmpty()) {
+            failTurn();
+        }
+        if (!isFinished()) {
+            nextTurn();
+        }
+        return false;
+    }
+
+    public boolean isFinished() {
+        return getWinner() != null;
+    }
+
+    /**
+     * Premier joueur ou équipe à trois trios ou au trio de 7, null sinon
+     */
+    public TrioHolder getWinner() {
+        for (int h = 0; h < holders.size(); h++) {
+            TrioHolder holder = holders.get(h);
+            if (holder.getTrioCount() >= TRIOS_TO_WIN || holder.hasSevenTrio()) {
+                return holder;
+            }
+        }
+        return null;
+    }
+
+    // Méthodes Métier - Échange
+
+    /**
+     * Échange à l'aveugle la carte indexA de playerA et la carte indexB de
+     * playerB ; les deux mains sont retriées (ordre croissant de Trio)
+     *
+     * @return true si l'échange a eu lieu
+     */
+    public boolean performExchange(Player playerA, int indexA, Player playerB, int indexB) {
+        List<Card> deckA = playerA.getDeck().getCards();
+        List<Card> deckB = playerB.getDeck().getCards();
+        if (indexA < 0 || indexA >= deckA.size() || indexB < 0 || indexB >= deckB.size()) {
+            return false;
+        }
+
+        Card cardA = deckA.get(indexA);
+        deckA.set(indexA, deckB.get(indexB));
+        deckB.set(indexB, cardA);
+        playerA.getDeck().sort();
+        playerB.getDeck().sort();
+        exchangeUsed = true;
+
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onExchange(playerA, playerB);
+        }
+        return true;
+    }
+
+    // ===== COUPS (voir Move) =====
+
+    /**
+     * Coups légaux du joueur courant, écrits sans allocation dans out
+     * (Move.capacity cases suffisent)
+     *
+     * @return nombre de coups écrits
+     */
+    public int legalMoves(int[] out) {
+        return Move.generate(out, seats, current, centerDeck, revealedThisTurn, holderOf, exchangeAllowed());
+    }
+
+    /**
+     * Joue un coup complet du joueur courant. L'arrêt ne touche pas la table
+     * : c'est à l'appelant de finir le tour (endTurn).
+     *
+     * @return la carte révélée (ou reçue lors d'un échange), null si le coup
+     *         n'est pas jouable
+     */
+    public Card play(int move) {
+        int target = Move.target(move);
+        switch (Move.kind(move)) {
+            case Move.OWN_MIN:
+                return revealLowestCardFromPlayer(getCurrentPlayer());
+            case Move.OWN_MAX:
+                return revealHighestCardFromPlayer(getCurrentPlayer());
+            case Move.OTHER_MIN:
+                return target < seats.size() ? revealLowestCardFromPlayer(seats.get(target)) : null;
+            case Move.OTHER_MAX:
+                return target < seats.size() ? revealHighestCardFromPlayer(seats.get(target)) : null;
+            case Move.CENTER:
+                return centerDeck != null && target < centerDeck.getSize() && !centerDeck.getCard(target).isVisible()
+                        ? revealCardFromCenter(target)
+                        : null;
+            case Move.EXCHANGE:
+                if (!exchangeAllowed() || target >= seats.size() || target == current
+                        || holderOf[target] != holderOf[current]) {
+                    return null;
+                }
+                Player mate = seats.get(target);
+                int mateIndex = Move.mateIndex(move);
+                Card received = mateIndex < mate.getDeck().getSize() ? mate.getDeck().getCard(mateIndex) : null;
+                return performExchange(getCurrentPlayer(), Move.ownIndex(move), mate, mateIndex) ? received : null;
+            default:
+                return null;
+        }
+    }
+
+    // ===== PHOTOS (voir GameState) =====
+
+    /**
+     * Photo immuable de la partie ; les mains et trios inchangés depuis la
+     * photo précédente sont partagés avec elle
+     */
+    public GameState snapshot() {
+        lastSnapshot = GameState.capture(lastSnapshot, seats, centerDeck, holders, holderOf, revealedThisTurn,
+                current, exchangeUsed);
+        return lastSnapshot;
+    }
+
+    /**
+     * Remet la partie dans l'état d'une photo prise sur elle. Chaque Bot
+     * repart d'une mémoire neuve, alignée sur la table restaurée.
+     */
+    public void restore(GameState state) {
+        state.applyTo(seats, centerDeck, holders, revealedThisTurn);
+        current = state.getCurrentSeat();
+        exchangeUsed = state.isExchangeUsed();
+        lastSnapshot = null;
+        for (Player p : seats) {
+            if (p instanceof Bot) {
+                Bot bot = (Bot) p;
+                int index = listeners.indexOf(bot.getBeliefs());
+                GameListener beliefs = bot.watch(seats, centerDeck, teams);
+                for (RevealedCard rc : revealedThisTurn) {
+                    beliefs.onCardRevealed(rc);
+                }
+                if (index >= 0) {
+                    listeners.set(index, beliefs);
+                } else {
+                    addListener(beliefs);
+                }
+            }
+        }
+    }
+}
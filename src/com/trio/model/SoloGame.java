@@ -3,25 +3,45 @@ package com.trio.model;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Scanner;
+import java.util.SplittableRandom;
 
 public class SoloGame implements Game {
 
     // Attributs
     private List<Player> players;
     private Deck centerDeck;
-    private int currentPlayerIndex;
-    private List<RevealedCard> revealedThisTurn;
+    private final Rules rules; // Chaque joueur marque pour lui, sans échange
     private boolean gameEnded;
     private Scanner scanner;
+    private boolean verbose = true; // Messages console de la pioche à la distribution
+    private final long seed; // Graine unique de la partie (reproductibilité)
+    private final SplittableRandom random;
 
     // Constructeurs
     public SoloGame(List<Player> players, Deck centerDeck) {
+        this(players, centerDeck, new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Crée une partie entièrement reproductible : la distribution et les
+     * décisions des Bots utilisent des flux dérivés de cette graine.
+     */
+    public SoloGame(List<Player> players, Deck centerDeck, long seed) {
         this.players = players;
         this.centerDeck = centerDeck;
-        this.currentPlayerIndex = 0;
-        this.revealedThisTurn = new ArrayList<>();
+        this.rules = new Rules(players, centerDeck, List.of(), false);
         this.gameEnded = false;
-        this.scanner = new Scanner(System.in);
+        this.seed = seed;
+        this.random = new SplittableRandom(seed);
+
+        // Un flux indépendant par Bot, dans l'ordre des sièges ; chaque Bot
+        // suit la partie pour mémoriser les cartes retournées
+        for (Player p : players) {
+            if (p instanceof Bot) {
+                ((Bot) p).setRandom(random.split());
+                rules.watch((Bot) p);
+            }
+        }
     }
 
     // Getters
@@ -34,17 +54,41 @@ public class SoloGame implements Game {
     }
 
     public Player getCurrentPlayer() {
-        return players.get(currentPlayerIndex);
+        return rules.getCurrentPlayer();
     }
 
     public List<RevealedCard> getRevealedCards() {
-        return revealedThisTurn;
+        return rules.getRevealedCards();
     }
 
     public boolean isGameEnded() {
         return gameEnded;
     }
 
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Active ou désactive les messages console de la distribution (parties
+     * en réseau)
+     */
+    public void setVerbose(boolean verbose) {
+        this.verbose = verbose;
+    }
+
+    @Override
+    public Rules getRules() {
+        return rules;
+    }
+
+    /**
+     * Abonne un observateur aux cartes retournées, échecs et trios
+     */
+    public void addListener(GameListener listener) {
+        rules.addListener(listener);
+    }
+
     // Méthodes Game Interface
 
     @Override
@@ -92,7 +136,16 @@ public class SoloGame implements Game {
      */
     public void distributeCards() {
         DrawPile drawPile = new DrawPile();
+        drawPile.setVerbose(verbose);
         drawPile.createDefaultCards();
+        distributeCards(drawPile);
+    }
+
+    /**
+     * Distribue les cartes d'une pioche déjà chargée (utilisé par le simulateur)
+     */
+    public void distributeCards(DrawPile drawPile) {
+        drawPile.setRandom(random.split());
         drawPile.distributeToPlayers(players, centerDeck);
     }
 
@@ -148,6 +201,8 @@ public class SoloGame implements Game {
         boolean turnContinues = true;
         boolean turnSuccess = true;
 
+        List<RevealedCard> revealedThisTurn = rules.getRevealedCards();
+
         while (turnContinues && turnSuccess && revealedThisTurn.size() < 3) {
             // Afficher les cartes déjà révélées
             displayRevealedCards();
@@ -190,7 +245,7 @@ public class SoloGame implements Game {
         }
 
         // Fin du tour
-        if (revealedThisTurn.size() == 3 && isValidTrio()) {
+        if (isValidTrio()) {
             System.out.println("\n🎉 TRIO COMPLÉTÉ!");
             awardTrioToWinner(currentPlayer);
             System.out
@@ -208,9 +263,9 @@ public class SoloGame implements Game {
      * Affiche les cartes révélées ce tour
      */
     private void displayRevealedCards() {
-        if (!revealedThisTurn.isEmpty()) {
+        if (!rules.getRevealedCards().isEmpty()) {
             System.out.print("Cartes révélées: ");
-            for (RevealedCard rc : revealedThisTurn) {
+            for (RevealedCard rc : rules.getRevealedCards()) {
                 System.out.print("[" + rc.getValue() + "] ");
             }
             System.out.println();
@@ -240,58 +295,47 @@ public class SoloGame implements Game {
 
         System.out.print("Votre choix: ");
         try {
-            return scanner.nextInt();
+            return getScanner().nextInt();
         } catch (Exception e) {
-            scanner.nextLine();
+            getScanner().nextLine();
             return -1;
         }
     }
 
     /**
-     * Exécute l'action choisie et retourne la carte révélée
+     * Complète l'action choisie en coup (cible, carte du centre), le joue et
+     * retourne la carte révélée
      */
     private Card executeAction(int action, Player currentPlayer) {
         boolean isBot = currentPlayer instanceof Bot;
         Bot bot = isBot ? (Bot) currentPlayer : null;
 
         switch (action) {
-            case 1: // Ma carte MIN
-                return revealLowestCardFromPlayer(currentPlayer);
-
-            case 2: // Ma carte MAX
-                return revealHighestCardFromPlayer(currentPlayer);
-
-            case 3: // Carte MIN d'un autre joueur
-                Player target3 = isBot ? bot.chooseTargetPlayer(players) : selectOtherPlayer(currentPlayer);
-                if (target3 != null) {
-                    if (isBot) {
-                        System.out.println(bot.getPseudo() + " cible " + target3.getPseudo() + " (MIN)");
-                    }
-                    return revealLowestCardFromPlayer(target3);
+            case Move.OWN_MIN:
+            case Move.OWN_MAX:
+                return play(Move.of(action, rules.getCurrentSeat()));
+
+            case Move.OTHER_MIN:
+            case Move.OTHER_MAX:
+                Player target = isBot ? bot.chooseTargetPlayer(players) : selectOtherPlayer(currentPlayer);
+                if (target == null) {
+                    return null;
                 }
-                return null;
-
-            case 4: // Carte MAX d'un autre joueur
-                Player target4 = isBot ? bot.chooseTargetPlayer(players) : selectOtherPlayer(currentPlayer);
-                if (target4 != null) {
-                    if (isBot) {
-                        System.out.println(bot.getPseudo() + " cible " + target4.getPseudo() + " (MAX)");
-                    }
-                    return revealHighestCardFromPlayer(target4);
+                if (isBot) {
+                    System.out.println(bot.getPseudo() + " cible " + target.getPseudo()
+                            + (action == Move.OTHER_MIN ? " (MIN)" : " (MAX)"));
                 }
-                return null;
+                return play(Move.of(action, players.indexOf(target)));
 
-            case 5: // Carte du centre
-                if (isBot) {
-                    int centerIndex = bot.chooseCenterCardIndex(centerDeck);
-                    if (centerIndex >= 0) {
-                        System.out.println(bot.getPseudo() + " révèle une carte du centre");
-                        return revealCardFromCenter(centerIndex);
-                    }
+            case Move.CENTER:
+                int centerIndex = isBot ? bot.chooseCenterCardIndex(centerDeck) : selectCenterCardIndex();
+                if (centerIndex < 0) {
                     return null;
-                } else {
-                    return selectAndRevealCenterCard();
                 }
+                if (isBot) {
+                    System.out.println(bot.getPseudo() + " révèle une carte du centre");
+                }
+                return play(Move.of(Move.CENTER, centerIndex));
 
             default:
                 return null;
@@ -300,11 +344,13 @@ public class SoloGame implements Game {
 
     /**
      * Affiche les cartes du centre et permet de choisir par index
+     *
+     * @return l'index choisi, -1 si le choix est invalide
      */
-    private Card selectAndRevealCenterCard() {
+    private int selectCenterCardIndex() {
         if (centerDeck.isEmpty()) {
             System.out.println("Aucune carte au centre!");
-            return null;
+            return -1;
         }
 
         System.out.println("Cartes au centre (" + centerDeck.getSize() + "):");
@@ -320,15 +366,15 @@ public class SoloGame implements Game {
 
         System.out.print("Choisir un index (1-" + centerDeck.getSize() + "): ");
         try {
-            int choice = scanner.nextInt();
+            int choice = getScanner().nextInt();
             if (choice >= 1 && choice <= centerDeck.getSize()) {
-                return revealCardFromCenter(choice - 1);
+                return choice - 1;
             }
         } catch (Exception e) {
-            scanner.nextLine();
+            getScanner().nextLine();
         }
         System.out.println("Index invalide!");
-        return null;
+        return -1;
     }
 
     /**
@@ -353,108 +399,108 @@ public class SoloGame implements Game {
 
         System.out.print("Votre choix: ");
         try {
-            int choice = scanner.nextInt();
+            int choice = getScanner().nextInt();
             if (choice >= 1 && choice <= others.size()) {
                 return others.get(choice - 1);
             }
         } catch (Exception e) {
-            scanner.nextLine();
+            getScanner().nextLine();
         }
         return null;
     }
 
+    /**
+     * Scanner console créé à la demande (inutile pour les parties sans humain)
+     */
+    private Scanner getScanner() {
+        if (scanner == null) {
+            scanner = new Scanner(System.in);
+        }
+        return scanner;
+    }
+
     /**
      * Action automatique pour un Bot - délègue à la classe Bot
      */
     private int chooseBotAction(Bot bot) {
-        return bot.chooseBotAction(revealedThisTurn, players, centerDeck);
+        return bot.chooseBotAction(rules.getRevealedCards(), players, centerDeck);
     }
 
     @Override
     public boolean isFinished() {
-        for (Player p : players) {
-            if (p.getTrioCount() >= 3 || p.hasSevenTrio()) {
-                return true;
-            }
-        }
-        return false;
+        return rules.isFinished();
     }
 
     @Override
     public TrioHolder getWinner() {
-        for (Player p : players) {
-            if (p.getTrioCount() >= 3 || p.hasSevenTrio()) {
-                return p;
-            }
-        }
-        return null;
+        return rules.getWinner();
     }
 
-    // Méthodes Métier - Gestion des cartes
+    // Méthodes Métier - Gestion des cartes (voir Rules)
 
     public Card revealHighestCardFromPlayer(Player owner) {
-        Card card = owner.getDeck().getHighCard();
-        if (card != null) {
-            card.setVisible();
-            revealedThisTurn.add(new RevealedCard(card, owner));
-        }
-        return card;
+        return rules.revealHighestCardFromPlayer(owner);
     }
 
     public Card revealLowestCardFromPlayer(Player owner) {
-        Card card = owner.getDeck().getLowCard();
-        if (card != null) {
-            card.setVisible();
-            revealedThisTurn.add(new RevealedCard(card, owner));
-        }
-        return card;
+        return rules.revealLowestCardFromPlayer(owner);
     }
 
     public Card revealCardFromCenter(int index) {
-        if (centerDeck.isEmpty() || index < 0 || index >= centerDeck.getSize()) {
-            return null;
-        }
-        Card card = centerDeck.getCard(index);
-        if (card != null && !card.isVisible()) {
-            card.setVisible();
-            revealedThisTurn.add(new RevealedCard(card, null, index));
-        }
-        return card;
+        return rules.revealCardFromCenter(index);
     }
 
     public boolean isValidTrio() {
-        if (revealedThisTurn.size() != 3) {
-            return false;
-        }
-        int value = revealedThisTurn.get(0).getValue();
-        return revealedThisTurn.stream().allMatch(rc -> rc.getValue() == value);
+        return rules.isValidTrio();
     }
 
     public void awardTrioToWinner(Player winner) {
-        Deck trio = new Deck();
-
-        for (RevealedCard rc : revealedThisTurn) {
-            Card card = rc.getCard();
-            if (rc.getOwner() != null) {
-                rc.getOwner().getDeck().removeCard(card);
-            } else {
-                centerDeck.removeCard(card);
-            }
-            trio.addCard(card);
-        }
-
-        winner.addTrio(trio);
-        revealedThisTurn.clear();
+        rules.awardTrio(winner);
     }
 
     public void failTurn() {
-        for (RevealedCard rc : revealedThisTurn) {
-            rc.getCard().setInvisible();
-        }
-        revealedThisTurn.clear();
+        rules.failTurn();
     }
 
     public void nextTurn() {
-        currentPlayerIndex = (currentPlayerIndex + 1) % players.size();
+        rules.nextTurn();
+    }
+
+    // ===== COUPS (voir Move) =====
+
+    /**
+     * Coups légaux du joueur courant, écrits sans allocation dans out
+     * (Move.capacity cases suffisent)
+     *
+     * @return nombre de coups écrits
+     */
+    public int legalMoves(int[] out) {
+        return rules.legalMoves(out);
+    }
+
+    /**
+     * Joue un coup complet du joueur courant (voir Rules.play)
+     *
+     * @return la carte révélée, null si le coup n'est pas jouable
+     */
+    public Card play(int move) {
+        return rules.play(move);
+    }
+
+    // ===== PHOTOS (voir GameState) =====
+
+    /**
+     * Photo immuable de la partie (voir Rules.snapshot)
+     */
+    public GameState snapshot() {
+        return rules.snapshot();
+    }
+
+    /**
+     * Remet la partie dans l'état d'une photo prise sur elle (voir
+     * Rules.restore)
+     */
+    public void restore(GameState state) {
+        rules.restore(state);
     }
 }
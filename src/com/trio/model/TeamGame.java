@@ -2,6 +2,7 @@ package com.trio.model;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.SplittableRandom;
 
 /**
  * Mode de jeu en équipe.
@@ -14,23 +15,49 @@ public class TeamGame implements Game {
     // Attributs
     private List<Team> teams;
     private List<Player> playOrder;
+    private List<Player> allPlayers; // Joueurs regroupés par équipe
     private Deck centerDeck;
-    private int currentPlayerIndex;
-    private List<RevealedCard> revealedThisTurn;
+    private final Rules rules; // Trios marqués par l'équipe, échange permis
     private boolean gameEnded;
+    private boolean verbose = true; // Messages console de la pioche à la distribution
+    private final long seed; // Graine unique de la partie (reproductibilité)
+    private final SplittableRandom random;
 
     // Pour la version console (si utilisée sans GUI)
     // Constructeur
     public TeamGame(List<Team> teams, Deck centerDeck) {
+        this(teams, centerDeck, new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Crée une partie entièrement reproductible : la distribution, les
+     * décisions et les échanges des Bots utilisent des flux dérivés de cette
+     * graine.
+     */
+    public TeamGame(List<Team> teams, Deck centerDeck, long seed) {
         if (teams.size() < 2 || teams.size() > 3) {
             throw new IllegalArgumentException("Le mode équipe nécessite 2 ou 3 équipes!");
         }
         this.teams = teams;
         this.centerDeck = centerDeck;
-        this.currentPlayerIndex = 0;
-        this.revealedThisTurn = new ArrayList<>();
         this.gameEnded = false;
+        this.seed = seed;
+        this.random = new SplittableRandom(seed);
         buildPlayOrder();
+        this.allPlayers = new ArrayList<>();
+        for (Team team : teams) {
+            allPlayers.addAll(team.getPlayers());
+        }
+        this.rules = new Rules(playOrder, centerDeck, teams, true);
+
+        // Un flux indépendant par Bot, dans l'ordre de jeu ; chaque Bot suit
+        // la partie pour mémoriser les cartes retournées
+        for (Player p : playOrder) {
+            if (p instanceof Bot) {
+                ((Bot) p).setRandom(random.split());
+                rules.watch((Bot) p);
+            }
+        }
     }
 
     /**
@@ -74,7 +101,7 @@ public class TeamGame implements Game {
     }
 
     public Player getCurrentPlayer() {
-        return playOrder.get(currentPlayerIndex);
+        return rules.getCurrentPlayer();
     }
 
     public Team getTeamForPlayer(Player player) {
@@ -87,21 +114,45 @@ public class TeamGame implements Game {
     }
 
     public List<RevealedCard> getRevealedCards() {
-        return revealedThisTurn;
+        return rules.getRevealedCards();
+    }
+
+    public boolean isExchangeUsed() {
+        return rules.isExchangeUsed();
+    }
+
+    /**
+     * Vrai si le joueur courant peut encore échanger ce tour
+     */
+    public boolean exchangeAllowed() {
+        return rules.exchangeAllowed();
     }
 
     public boolean isGameEnded() {
         return gameEnded;
     }
 
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Active ou désactive les messages console de la distribution (parties
+     * en réseau)
+     */
+    public void setVerbose(boolean verbose) {
+        this.verbose = verbose;
+    }
+
+    @Override
+    public Rules getRules() {
+        return rules;
+    }
+
     /**
      * Retourne tous les joueurs (de toutes les équipes)
      */
     public List<Player> getAllPlayers() {
-        List<Player> allPlayers = new ArrayList<>();
-        for (Team team : teams) {
-            allPlayers.addAll(team.getPlayers());
-        }
         return allPlayers;
     }
 
@@ -125,23 +176,20 @@ public class TeamGame implements Game {
      */
     public void distributeCards() {
         DrawPile drawPile = new DrawPile();
+        drawPile.setVerbose(verbose);
         drawPile.createDefaultCards();
-        drawPile.shuffle();
+        distributeCards(drawPile);
+    }
 
-        List<Player> allPlayers = getAllPlayers();
+    /**
+     * Distribue les cartes d'une pioche déjà chargée (utilisé par le simulateur)
+     */
+    public void distributeCards(DrawPile drawPile) {
         // Si 4 joueurs (36 cartes) -> 9 cartes/joueur
         // Si 6 joueurs (36 cartes) -> 6 cartes/joueur
-        int cardsPerPlayer = 36 / allPlayers.size();
-
-        for (Player player : allPlayers) {
-            for (int i = 0; i < cardsPerPlayer; i++) {
-                if (!drawPile.getDeck().isEmpty()) {
-                    Card card = drawPile.getDeck().removeCard(0);
-                    player.getDeck().addCard(card);
-                }
-            }
-            player.getDeck().sort();
-        }
+        int cardsPerPlayer = drawPile.getDeck().getSize() / allPlayers.size();
+        drawPile.setRandom(random.split());
+        drawPile.deal(allPlayers, cardsPerPlayer, centerDeck, 0);
     }
 
     @Override
@@ -150,59 +198,38 @@ public class TeamGame implements Game {
 
     @Override
     public boolean isFinished() {
-        for (Team team : teams) {
-            if (team.getTrioCount() >= 3 || team.hasSevenTrio()) {
-                return true;
-            }
-        }
-        return false;
+        return rules.isFinished();
     }
 
     @Override
     public TrioHolder getWinner() {
-        for (Team team : teams) {
-            if (team.getTrioCount() >= 3 || team.hasSevenTrio()) {
-                return team;
-            }
-        }
-        return null;
+        return rules.getWinner();
     }
 
-    // === Actions de jeu (Model) ===
+    /**
+     * Abonne un observateur aux cartes retournées, échecs, trios et échanges
+     */
+    public void addListener(GameListener listener) {
+        rules.addListener(listener);
+    }
+
+    // === Actions de jeu (voir Rules) ===
 
     public Card revealHighestCardFromPlayer(Player owner) {
-        Card card = owner.getDeck().getHighCard();
-        if (card != null) {
-            card.setVisible();
-            revealedThisTurn.add(new RevealedCard(card, owner));
-        }
-        return card;
+        return rules.revealHighestCardFromPlayer(owner);
     }
 
     public Card revealLowestCardFromPlayer(Player owner) {
-        Card card = owner.getDeck().getLowCard();
-        if (card != null) {
-            card.setVisible();
-            revealedThisTurn.add(new RevealedCard(card, owner));
-        }
-        return card;
+        return rules.revealLowestCardFromPlayer(owner);
     }
 
     public Card revealCardFromCenter(int index) {
-        if (centerDeck == null || centerDeck.isEmpty() || index < 0 || index >= centerDeck.getSize()) {
-            return null;
-        }
-        Card card = centerDeck.getCard(index);
-        if (card != null && !card.isVisible()) {
-            card.setVisible();
-            revealedThisTurn.add(new RevealedCard(card, null, index));
-        }
-        return card;
+        return rules.revealCardFromCenter(index);
     }
 
     /**
-     * Effectue un échange de cartes physique entre deux decks.
-     * Cette méthode est agnostique de l'UI et gère uniquement les données.
+     * Effectue un échange de cartes physique entre deux decks (mains
+     * retriées ensuite)
      *
      * @param playerA Premier joueur
      * @param indexA  Index de la carte dans le deck de A
@@ -211,82 +238,72 @@ public class TeamGame implements Game {
      * @return true si l'échange a réussi
      */
     public boolean performExchange(Player playerA, int indexA, Player playerB, int indexB) {
-        List<Card> deckA = playerA.getDeck().getCards();
-        List<Card> deckB = playerB.getDeck().getCards();
-
-        if (indexA < 0 || indexA >= deckA.size() || indexB < 0 || indexB >= deckB.size()) {
-            return false;
-        }
-
-        Card cardA = deckA.get(indexA);
-        Card cardB = deckB.get(indexB);
-
-        // Swap
-        deckA.set(indexA, cardB);
-        deckB.set(indexB, cardA);
-
-        // Re-trier les mains est souvent nécessaire après un échange pour maintenir
-        // l'ordre
-        // Mais attention : cela changerait les index des cartes.
-        // Dans Trio, l'échange se fait "à l'aveugle" ou "en place" ?
-        // Si on veut maintenir l'ordre croissant strict de Trio :
-        playerA.getDeck().sort();
-        playerB.getDeck().sort();
-
-        return true;
+        return rules.performExchange(playerA, indexA, playerB, indexB);
     }
 
     // === Validation et Fin de tour ===
 
     public boolean isValidTrio() {
-        if (revealedThisTurn.size() != 3) {
-            return false;
-        }
-        int value = revealedThisTurn.get(0).getValue();
-        return revealedThisTurn.stream().allMatch(rc -> rc.getValue() == value);
+        return rules.isValidTrio();
     }
 
     /**
      * Attribue le trio à l'équipe gagnante, retire les cartes des mains/centre.
      */
     public void awardTrioToTeam(Team winner) {
-        Deck trio = new Deck();
-
-        for (RevealedCard rc : revealedThisTurn) {
-            Card card = rc.getCard();
-
-            // Retirer la carte de son origine
-            if (rc.getOwner() != null) {
-                rc.getOwner().getDeck().removeCard(card);
-            } else if (centerDeck != null) {
-                centerDeck.removeCard(card);
-            }
-
-            // Ajouter au trio gagné (la carte redevient invisible ou visible selon choix
-            // d'affichage)
-            // Généralement on les garde visibles dans la pile des gains
-            card.setVisible();
-            trio.addCard(card);
-        }
-
-        winner.addTrio(trio);
-        revealedThisTurn.clear();
+        rules.awardTrio(winner);
     }
 
     /**
      * Échec du tour : on remet tout face cachée.
      */
     public void failTurn() {
-        for (RevealedCard rc : revealedThisTurn) {
-            rc.getCard().setInvisible();
-        }
-        revealedThisTurn.clear();
+        rules.failTurn();
     }
 
     /**
      * Passe au joueur suivant.
      */
     public void nextTurn() {
-        currentPlayerIndex = (currentPlayerIndex + 1) % playOrder.size();
+        rules.nextTurn();
+    }
+
+    // ===== COUPS (voir Move) =====
+
+    /**
+     * Coups légaux du joueur courant, écrits sans allocation dans out
+     * (Move.capacity cases suffisent)
+     *
+     * @return nombre de coups écrits
+     */
+    public int legalMoves(int[] out) {
+        return rules.legalMoves(out);
+    }
+
+    /**
+     * Joue un coup complet du joueur courant (voir Rules.play)
+     *
+     * @return la carte révélée (ou reçue lors d'un échange), null si le coup
+     *         n'est pas jouable
+     */
+    public Card play(int move) {
+        return rules.play(move);
+    }
+
+    // ===== PHOTOS (voir GameState) =====
+
+    /**
+     * Photo immuable de la partie (voir Rules.snapshot)
+     */
+    public GameState snapshot() {
+        return rules.snapshot();
+    }
+
+    /**
+     * Remet la partie dans l'état d'une photo prise sur elle (voir
+     * Rules.restore)
+     */
+    public void restore(GameState state) {
+        rules.restore(state);
     }
 }
@@ -0,0 +1,233 @@
+package com.trio.net;
+
+import com.trio.model.Logs;
+import com.trio.model.User;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Connexion d'un client au TrioServer.
+ * La lecture et l'écriture sur le socket sont faites uniquement par le
+ * thread du sélecteur ; les threads de jeu se contentent de déposer leurs
+ * trames avec send(), qui réveille le sélecteur.
+ *
+ * Les octets en attente d'envoi sont bornés (trio.net.maxQueuedBytes, 1 Mo
+ * par défaut) : un client qui ne lit plus est déconnecté plutôt que de
+ * faire grossir la mémoire du serveur. Son siège reste repris par RESUME,
+ * qui renvoie un état complet si trop d'événements ont été manqués.
+ */
+class Connection {
+
+    // Attributs
+    private static final int READ_BUFFER = 4096; // Une commande plus longue déconnecte le client
+    private static final long MAX_QUEUED_BYTES = Long.getLong("trio.net.maxQueuedBytes", 1 << 20);
+
+    private final TrioServer server;
+    private final SocketChannel channel;
+    private final SelectionKey key;
+    private final ByteBuffer in;
+    private final Queue<byte[]> outbox; // Trames déposées par n'importe quel thread
+    private final Queue<ByteBuffer> writing; // Octets en cours d'envoi (thread du sélecteur)
+    private final AtomicBoolean flushRequested;
+    private final AtomicLong queuedBytes; // Octets déposés et pas encore écrits sur le socket
+    private volatile boolean overflowed; // File pleine : à déconnecter par le sélecteur
+    private volatile boolean closed;
+
+    // Joueur associé (thread du sélecteur), table en attente et siège en partie
+    private User user;
+    private boolean identifying; // HELLO traité hors du sélecteur : lecture suspendue
+    private boolean writePending; // Socket plein : reste à écrire
+    private Table table;
+    private volatile Seat seat;
+
+    // Constructeurs
+    Connection(TrioServer server, SocketChannel channel, SelectionKey key) {
+        this.server = server;
+        this.channel = channel;
+        this.key = key;
+        this.in = ByteBuffer.allocate(READ_BUFFER);
+        this.outbox = new ConcurrentLinkedQueue<>();
+        this.writing = new ArrayDeque<>();
+        this.flushRequested = new AtomicBoolean();
+        this.queuedBytes = new AtomicLong();
+    }
+
+    // Getters
+    User getUser() {
+        return user;
+    }
+
+    void setUser(User user) {
+        this.user = user;
+    }
+
+    boolean isIdentifying() {
+        return identifying;
+    }
+
+    /**
+     * Suspend la lecture jusqu'à resumeReading()
+     */
+    void startIdentifying() {
+        this.identifying = true;
+    }
+
+    Table getTable() {
+        return table;
+    }
+
+    void setTable(Table table) {
+        this.table = table;
+    }
+
+    /**
+     * Siège en partie, ou null si aucune partie n'est en cours
+     */
+    Seat getSeat() {
+        Seat current = seat;
+        return current == null || current.isEnded() ? null : current;
+    }
+
+    void setSeat(Seat seat) {
+        this.seat = seat;
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    // Méthodes Métier
+
+    /**
+     * Envoie une trame au client (appelable depuis n'importe quel thread)
+     */
+    void send(byte[] frame) {
+        if (closed || overflowed) {
+            return;
+        }
+        if (queuedBytes.addAndGet(frame.length) > MAX_QUEUED_BYTES) {
+            overflowed = true; // Trame abandonnée : la reprise renverra l'état
+        } else {
+            outbox.add(frame);
+        }
+        if (flushRequested.compareAndSet(false, true)) {
+            server.requestFlush(this);
+        }
+    }
+
+    /**
+     * Message d'erreur hors partie (non numéroté)
+     */
+    void sendError(String message) {
+        send(Protocol.event(Protocol.EV_ERROR).text(message).toFrame(0));
+    }
+
+    // ===== E/S (thread du sélecteur) =====
+
+    /**
+     * Lit les octets disponibles et transmet chaque trame complète au serveur
+     *
+     * @return false si le client a fermé la connexion ou envoyé une trame
+     *         invalide
+     */
+    boolean read() throws IOException {
+        int n = channel.read(in);
+        if (n < 0) {
+            return false;
+        }
+        return process();
+    }
+
+    /**
+     * Reprend la lecture suspendue pendant un HELLO : les trames déjà reçues
+     * sont traitées dans l'ordre
+     *
+     * @return false comme read()
+     */
+    boolean resumeReading() {
+        identifying = false;
+        updateInterest();
+        return process();
+    }
+
+    private boolean process() {
+        in.flip();
+        try {
+            ByteBuffer body;
+            while (!identifying && (body = Protocol.nextFrame(in, READ_BUFFER - 3)) != null) {
+                server.handle(this, new Protocol.Reader(body));
+                if (closed) {
+                    return false; // QUIT
+                }
+            }
+        } catch (IllegalStateException | BufferUnderflowException e) {
+            return false;
+        }
+        in.compact();
+        updateInterest();
+        return true;
+    }
+
+    /**
+     * Écrit autant que possible ; l'intérêt en écriture n'est gardé que si le
+     * socket est plein
+     *
+     * @throws IOException aussi si le client a laissé la file déborder
+     */
+    void flush() throws IOException {
+        flushRequested.set(false);
+        if (overflowed) {
+            String reason = "Client trop lent : plus de " + MAX_QUEUED_BYTES + " octets en attente";
+            Logs.getInstance().writeLogs(reason + (user != null ? " (" + user.getPseudo() + ")" : ""));
+            throw new IOException(reason);
+        }
+        byte[] frame;
+        while ((frame = outbox.poll()) != null) {
+            writing.add(ByteBuffer.wrap(frame));
+        }
+        while (!writing.isEmpty()) {
+            ByteBuffer buffer = writing.peek();
+            channel.write(buffer);
+            if (buffer.hasRemaining()) {
+                writePending = true;
+                updateInterest();
+                return;
+            }
+            queuedBytes.addAndGet(-buffer.capacity());
+            writing.poll();
+        }
+        writePending = false;
+        updateInterest();
+    }
+
+    /**
+     * Lecture sauf pendant un HELLO, écriture seulement si le socket est
+     * plein
+     */
+    private void updateInterest() {
+        if (key.isValid()) {
+            key.interestOps((identifying ? 0 : SelectionKey.OP_READ) | (writePending ? SelectionKey.OP_WRITE : 0));
+        }
+    }
+
+    void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        key.cancel();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // Déjà fermée côté client
+        }
+    }
+}
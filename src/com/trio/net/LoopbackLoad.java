@@ -0,0 +1,400 @@
+package com.trio.net;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.SplittableRandom;
+
+/**
+ * Charge simulée sur un TrioServer, entièrement en boucle locale.
+ * Un seul thread fait jouer des milliers de clients : chacun s'identifie,
+ * rejoint une table, répond aux demandes du serveur avec une stratégie
+ * proche de celle des bots, puis rejoint une nouvelle table à la fin de la
+ * partie. Des coupures peuvent être simulées : le client reste hors ligne
+ * un instant puis reprend sa partie avec son jeton.
+ *
+ * Usage : java com.trio.net.LoopbackLoad [clients] [SOLO|TEAM] [nbJoueurs] [nbHumains] [secondes] [coupures/s]
+ */
+public class LoopbackLoad {
+
+    // Attributs
+    private static final long OFFLINE_MS = 200; // Durée d'une coupure simulée
+
+    private final Selector selector;
+    private final List<SimClient> clients;
+    private final Queue<SimClient> offline; // Clients coupés, par heure de retour
+    private final int mode;
+    private final int nbPlayers;
+    private final int nbHumans;
+    private final SplittableRandom random;
+    private InetSocketAddress server;
+
+    // Statistiques (thread de simulation)
+    private long framesReceived;
+    private long bytesReceived;
+    private long promptsAnswered;
+    private long gamesWon;
+    private long gamesEnded;
+    private long replays;
+    private long resyncs;
+    private long gaps;
+    private long errors;
+
+    // Constructeurs
+    public LoopbackLoad(String mode, int nbPlayers, int nbHumans, long seed) throws IOException {
+        this.selector = Selector.open();
+        this.clients = new ArrayList<>();
+        this.offline = new ArrayDeque<>();
+        this.mode = mode.equalsIgnoreCase("TEAM") ? Protocol.MODE_TEAM : Protocol.MODE_SOLO;
+        this.nbPlayers = nbPlayers;
+        this.nbHumans = nbHumans;
+        this.random = new SplittableRandom(seed);
+    }
+
+    // Getters
+    public long getFramesReceived() {
+        return framesReceived;
+    }
+
+    public long getBytesReceived() {
+        return bytesReceived;
+    }
+
+    public long getPromptsAnswered() {
+        return promptsAnswered;
+    }
+
+    public long getGamesEnded() {
+        return gamesEnded;
+    }
+
+    public long getGamesWon() {
+        return gamesWon;
+    }
+
+    public long getReplays() {
+        return replays;
+    }
+
+    public long getResyncs() {
+        return resyncs;
+    }
+
+    /**
+     * Trous de séquence constatés (doit rester à 0)
+     */
+    public long getGaps() {
+        return gaps;
+    }
+
+    /**
+     * Commandes refusées par le serveur (doit rester à 0)
+     */
+    public long getErrors() {
+        return errors;
+    }
+
+    // Méthodes Métier
+
+    /**
+     * Ouvre les connexions des clients simulés
+     */
+    public void connect(InetSocketAddress server, int count) throws IOException {
+        this.server = server;
+        for (int i = 0; i < count; i++) {
+            SimClient client = new SimClient("sim" + clients.size());
+            clients.add(client);
+            client.open();
+            client.send(Protocol.command(Protocol.CMD_HELLO).text(client.name));
+            client.join();
+        }
+    }
+
+    /**
+     * Fait jouer les clients pendant la durée donnée, en coupant au hasard
+     * dropsPerSecond connexions par seconde
+     */
+    public void run(long millis, double dropsPerSecond) throws IOException {
+        long start = System.currentTimeMillis();
+        long deadline = start + millis;
+        long drops = 0;
+        long now;
+        while ((now = System.currentTimeMillis()) < deadline) {
+            selector.select(Math.min(deadline - now, 20));
+            Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+                keys.remove();
+                SimClient client = (SimClient) key.attachment();
+                if (!key.isValid()) {
+                    continue;
+                }
+                if (key.isReadable()) {
+                    client.read();
+                }
+                if (key.isValid() && key.isWritable()) {
+                    client.flush();
+                }
+            }
+            now = System.currentTimeMillis();
+            while (drops < (now - start) * dropsPerSecond / 1000) {
+                drops++;
+                SimClient client = clients.get(random.nextInt(clients.size()));
+                if (client.token != 0 && client.channel != null) {
+                    client.drop(now);
+                }
+            }
+            while (!offline.isEmpty() && offline.peek().backAt <= now) {
+                offline.poll().resume();
+            }
+        }
+    }
+
+    /**
+     * Déconnecte tous les clients (les parties en cours sont annulées)
+     */
+    public void close() throws IOException {
+        for (SimClient client : clients) {
+            if (client.channel != null) {
+                client.channel.close();
+            }
+        }
+        selector.close();
+    }
+
+    // ===== CLIENT SIMULÉ =====
+
+    private final class SimClient {
+        final String name;
+        SocketChannel channel;
+        SelectionKey key;
+        final ByteBuffer in = ByteBuffer.allocate(16 * 1024);
+        final Queue<ByteBuffer> out = new ArrayDeque<>();
+        long backAt;
+
+        // Flux de la partie en cours : -1 accepte n'importe quel numéro
+        long token;
+        long lastSeq;
+
+        // Ce que le client sait de la partie
+        int seat;
+        int[] hand = new int[0];
+        final List<Integer> revealed = new ArrayList<>();
+
+        SimClient(String name) {
+            this.name = name;
+        }
+
+        void open() throws IOException {
+            channel = SocketChannel.open();
+            channel.connect(server);
+            channel.configureBlocking(false);
+            key = channel.register(selector, SelectionKey.OP_READ, this);
+            in.clear();
+            out.clear();
+        }
+
+        void join() throws IOException {
+            token = 0;
+            lastSeq = 0;
+            revealed.clear();
+            send(Protocol.command(Protocol.CMD_JOIN).varint(mode).varint(nbPlayers).varint(nbHumans));
+        }
+
+        void drop(long now) throws IOException {
+            key.cancel();
+            channel.close();
+            channel = null;
+            backAt = now + OFFLINE_MS;
+            offline.add(this);
+        }
+
+        void resume() throws IOException {
+            open();
+            send(Protocol.command(Protocol.CMD_RESUME).varint(token).varint(Math.max(lastSeq, 0)));
+        }
+
+        void send(Protocol.Writer command) throws IOException {
+            out.add(ByteBuffer.wrap(command.toFrame()));
+            flush();
+        }
+
+        void flush() throws IOException {
+            while (!out.isEmpty()) {
+                ByteBuffer buffer = out.peek();
+                channel.write(buffer);
+                if (buffer.hasRemaining()) {
+                    key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                    return;
+                }
+                out.poll();
+            }
+            key.interestOps(SelectionKey.OP_READ);
+        }
+
+        void read() throws IOException {
+            int n;
+            try {
+                n = channel.read(in);
+            } catch (IOException e) {
+                n = -1;
+            }
+            if (n < 0) {
+                key.cancel();
+                channel.close();
+                channel = null;
+                return;
+            }
+            bytesReceived += n;
+            in.flip();
+            ByteBuffer body;
+            while (channel != null && (body = Protocol.nextFrame(in, in.capacity() - 3)) != null) {
+                onFrame(new Protocol.Reader(body));
+            }
+            in.compact();
+        }
+
+        void onFrame(Protocol.Reader frame) throws IOException {
+            framesReceived++;
+            long seq = frame.varint();
+            if (seq > 0) {
+                if (lastSeq >= 0 && seq != lastSeq + 1) {
+                    gaps++;
+                }
+                lastSeq = seq;
+            }
+            switch (frame.integer()) {
+                case Protocol.EV_START:
+                    frame.integer();
+                    seat = frame.integer();
+                    token = frame.varint();
+                    break;
+                case Protocol.EV_HAND:
+                    hand = new int[frame.integer()];
+                    for (int i = 0; i < hand.length; i++) {
+                        hand[i] = frame.integer();
+                    }
+                    break;
+                case Protocol.EV_REVEAL:
+                    frame.signed();
+                    frame.signed();
+                    int value = frame.integer();
+                    if ((frame.integer() & 1) != 0) {
+                        revealed.clear();
+                    }
+                    revealed.add(value);
+                    break;
+                case Protocol.EV_TURN:
+                case Protocol.EV_FAIL:
+                case Protocol.EV_TRIO:
+                case Protocol.EV_TEAM_TRIO:
+                    revealed.clear();
+                    break;
+                case Protocol.EV_PROMPT:
+                    promptsAnswered++;
+                    send(Protocol.command(Protocol.CMD_ANSWER).varint(seq).signed(answer(frame)));
+                    break;
+                case Protocol.EV_RESUMED:
+                    if (frame.integer() == 1) {
+                        replays++;
+                    } else {
+                        resyncs++;
+                        lastSeq = -1;
+                    }
+                    break;
+                case Protocol.EV_END:
+                    gamesEnded++;
+                    int outcome = frame.integer();
+                    int winner = frame.signed();
+                    if ((outcome == Protocol.END_WIN && winner == seat)
+                            || (outcome == Protocol.END_TEAM_WIN && winner == seat / 2)) {
+                        gamesWon++;
+                    }
+                    join();
+                    break;
+                case Protocol.EV_ERROR:
+                    if (seq == 0) {
+                        errors++; // Commande refusée (les erreurs de jeu sont numérotées)
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        /**
+         * Stratégie simple : compléter la série avec sa propre main si
+         * possible, sinon tenter sa chance ailleurs
+         */
+        int answer(Protocol.Reader prompt) {
+            switch (prompt.integer()) {
+                case Protocol.PROMPT_ACTION:
+                    if (revealed.isEmpty()) {
+                        return random.nextBoolean() ? 1 : 2;
+                    }
+                    int target = revealed.get(0);
+                    if (hand.length > 0 && hand[0] == target) {
+                        return 1;
+                    }
+                    if (hand.length > 0 && hand[hand.length - 1] == target) {
+                        return 2;
+                    }
+                    return 3 + random.nextInt(3);
+                case Protocol.PROMPT_PLAYER:
+                    int count = prompt.integer();
+                    if (count == 0) {
+                        return -1;
+                    }
+                    int pick = random.nextInt(count);
+                    for (int i = 0; i < pick; i++) {
+                        prompt.integer();
+                    }
+                    return prompt.integer();
+                case Protocol.PROMPT_CENTER:
+                    return random.nextInt(Math.max(1, prompt.integer()));
+                case Protocol.PROMPT_CARD:
+                    prompt.integer();
+                    return random.nextInt(Math.max(1, prompt.integer()));
+                default:
+                    return -1;
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        String mode = args.length > 1 ? args[1].toUpperCase() : "SOLO";
+        int nbPlayers = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+        int nbHumans = args.length > 3 ? Integer.parseInt(args[3]) : 2;
+        int seconds = args.length > 4 ? Integer.parseInt(args[4]) : 30;
+        double dropsPerSecond = args.length > 5 ? Double.parseDouble(args[5]) : 0;
+
+        TrioServer server = new TrioServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        server.start();
+        LoopbackLoad load = new LoopbackLoad(mode, nbPlayers, nbHumans, 42);
+        long start = System.nanoTime();
+        load.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort()), count);
+        System.out.printf("%d clients connectés en %d ms%n", count, (System.nanoTime() - start) / 1_000_000);
+
+        load.run(seconds * 1000L, dropsPerSecond);
+        System.out.printf("Connexions serveur : %d, threads JVM : %d%n", server.getConnectionCount(),
+                Thread.activeCount());
+        System.out.printf("Trames reçues : %d (%d octets), demandes traitées : %d, parties terminées : %d (gagnées : %d)%n",
+                load.getFramesReceived(), load.getBytesReceived(), load.getPromptsAnswered(), load.getGamesEnded(),
+                load.getGamesWon());
+        System.out.printf("Reprises : %d rejouées, %d état complet ; trous de séquence : %d, erreurs : %d%n",
+                load.getReplays(), load.getResyncs(), load.getGaps(), load.getErrors());
+
+        load.close();
+        server.stop();
+    }
+}
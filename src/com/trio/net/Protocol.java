@@ -0,0 +1,241 @@
+package com.trio.net;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Protocole binaire du serveur Trio.
+ *
+ * Trame : [longueur du corps (varint)][corps].
+ * Événement serveur : [séquence (varint)][type (varint)][champs].
+ * Commande client : [type (varint)][champs].
+ * Les entiers sont des varints, les entiers pouvant valoir -1 (centre,
+ * aucun joueur, réponse annulée) sont codés en zigzag, les textes en
+ * longueur + UTF-8.
+ *
+ * Les événements d'une partie sont numérotés par siège à partir de 1 : un
+ * client qui se reconnecte envoie RESUME avec le dernier numéro reçu et le
+ * serveur rejoue les événements manquants. Les messages hors partie
+ * (accueil, attente, erreurs de commande) portent le numéro 0 et ne sont
+ * pas rejoués.
+ */
+final class Protocol {
+
+    // ===== ÉVÉNEMENTS (serveur -> client) =====
+    static final int EV_WELCOME = 1; // userId, pseudo
+    static final int EV_WAITING = 2; // humains présents, humains attendus
+    static final int EV_START = 3; // mode, siège, jeton (long), nbJoueurs, puis par siège : bot (0/1), pseudo
+    static final int EV_TEAM = 4; // équipe, nbMembres, sièges..., nom
+    static final int EV_ORDER = 5; // nbJoueurs, sièges dans l'ordre de jeu
+    static final int EV_TURN = 6; // siège
+    static final int EV_HAND = 7; // nbCartes, valeurs (main privée du destinataire)
+    static final int EV_TABLE = 8; // siège (-1 : centre), nbCartes, nbVisibles, (index, valeur)...
+    static final int EV_REVEAL = 9; // siège (-1 : centre), index, valeur, indicateurs (1 : première, 2 : correcte)
+    static final int EV_FAIL = 10; // les cartes révélées sont remises face cachée
+    static final int EV_TRIO = 11; // siège, nbTrios
+    static final int EV_TEAM_TRIO = 12; // équipe, nbTrios
+    static final int EV_EXCHANGE = 13; // siège, siège
+    static final int EV_BOT = 14; // siège, cible (-1), texte
+    static final int EV_PROMPT = 15; // type de demande, champs ; le numéro de séquence identifie la demande
+    static final int EV_ERROR = 16; // texte
+    static final int EV_END = 17; // issue, vainqueur (siège ou équipe, -1)
+    static final int EV_RESUMED = 18; // 1 : événements rejoués, 0 : état complet renvoyé
+
+    // ===== COMMANDES (client -> serveur) =====
+    static final int CMD_HELLO = 1; // pseudo
+    static final int CMD_JOIN = 2; // mode, nbJoueurs, nbHumains
+    static final int CMD_ANSWER = 3; // séquence de la demande, valeur (zigzag)
+    static final int CMD_RESUME = 4; // jeton, dernière séquence reçue
+    static final int CMD_QUIT = 5;
+
+    // ===== VALEURS =====
+    static final int MODE_SOLO = 0;
+    static final int MODE_TEAM = 1;
+
+    static final int PROMPT_ACTION = 0;
+    static final int PROMPT_PLAYER = 1; // nbSièges, sièges proposés
+    static final int PROMPT_CENTER = 2; // nbCartes du centre
+    static final int PROMPT_CARD = 3; // siège, nbCartes
+
+    static final int END_WIN = 0;
+    static final int END_TEAM_WIN = 1;
+    static final int END_CANCELLED = 2;
+    static final int END_FAILED = 3;
+
+    private Protocol() {
+    }
+
+    /**
+     * Écriture d'une trame ; la longueur est ajoutée par toBytes()
+     */
+    static final class Writer {
+        private byte[] bytes = new byte[32];
+        private int size;
+
+        Writer varint(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+            return this;
+        }
+
+        Writer signed(int value) {
+            return varint((value << 1) ^ (value >> 31));
+        }
+
+        Writer text(String value) {
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            varint(utf8.length);
+            ensure(utf8.length);
+            System.arraycopy(utf8, 0, bytes, size, utf8.length);
+            size += utf8.length;
+            return this;
+        }
+
+        /**
+         * Trame d'une commande : longueur puis corps
+         */
+        byte[] toFrame() {
+            return frame(-1);
+        }
+
+        /**
+         * Trame d'un événement : longueur, numéro de séquence puis corps.
+         * Le corps n'est pas modifié et peut être renvoyé sous un autre numéro.
+         */
+        byte[] toFrame(long seq) {
+            return frame(seq);
+        }
+
+        private byte[] frame(long seq) {
+            int seqBytes = seq < 0 ? 0 : varintSize(seq);
+            int length = seqBytes + size;
+            byte[] frame = new byte[varintSize(length) + length];
+            int pos = putVarint(frame, 0, length);
+            if (seq >= 0) {
+                pos = putVarint(frame, pos, seq);
+            }
+            System.arraycopy(bytes, 0, frame, pos, size);
+            return frame;
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+    }
+
+    /**
+     * Lecture du corps d'une trame
+     */
+    static final class Reader {
+        private final ByteBuffer body;
+
+        Reader(ByteBuffer body) {
+            this.body = body;
+        }
+
+        long varint() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = body.get();
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new IllegalStateException("Varint trop long");
+        }
+
+        int integer() {
+            return (int) varint();
+        }
+
+        int signed() {
+            int raw = (int) varint();
+            return (raw >>> 1) ^ -(raw & 1);
+        }
+
+        String text() {
+            long length = varint();
+            if (length < 0 || length > body.remaining()) {
+                throw new IllegalStateException("Longueur de texte invalide : " + length);
+            }
+            byte[] utf8 = new byte[(int) length];
+            body.get(utf8);
+            return new String(utf8, StandardCharsets.UTF_8);
+        }
+
+        boolean hasRemaining() {
+            return body.hasRemaining();
+        }
+    }
+
+    static Writer event(int type) {
+        return new Writer().varint(type);
+    }
+
+    static Writer command(int type) {
+        return new Writer().varint(type);
+    }
+
+    static int varintSize(long value) {
+        int n = 1;
+        while ((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            n++;
+        }
+        return n;
+    }
+
+    private static int putVarint(byte[] target, int pos, long value) {
+        while ((value & ~0x7FL) != 0) {
+            target[pos++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        target[pos++] = (byte) value;
+        return pos;
+    }
+
+    /**
+     * Découpe les trames complètes d'un tampon de réception (en mode
+     * lecture) ; les octets d'une trame incomplète restent dans le tampon
+     *
+     * @param maxLength longueur maximale acceptée (au plus la capacité du tampon)
+     * @return le corps de la prochaine trame, ou null s'il faut plus d'octets
+     */
+    static ByteBuffer nextFrame(ByteBuffer in, int maxLength) {
+        int start = in.position();
+        int length = 0;
+        for (int shift = 0;; shift += 7) {
+            if (!in.hasRemaining()) {
+                in.position(start);
+                return null;
+            }
+            byte b = in.get();
+            length |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                break;
+            }
+            if (shift > 21) {
+                throw new IllegalStateException("Longueur de trame invalide");
+            }
+        }
+        // Le cinquième octet peut porter le bit de signe : longueur négative
+        if (length < 0 || length > maxLength) {
+            throw new IllegalStateException("Longueur de trame invalide : " + length);
+        }
+        if (in.remaining() < length) {
+            in.position(start);
+            return null;
+        }
+        ByteBuffer body = in.slice(in.position(), length);
+        in.position(in.position() + length);
+        return body;
+    }
+}
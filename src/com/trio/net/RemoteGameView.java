@@ -0,0 +1,437 @@
+package com.trio.net;
+
+import com.trio.model.*;
+import com.trio.view.TeamGameView;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Vue d'une table jouée en réseau.
+ * Chaque appel du contrôleur devient un événement binaire (voir Protocol)
+ * envoyé aux sièges humains. Chacun ne reçoit que ce qu'il a le droit de
+ * voir : la table publique (taille des mains, cartes face visible) est
+ * diffusée à tous, la main complète d'un joueur à lui seul.
+ *
+ * La vue garde le dernier état public envoyé : une mise à jour ne
+ * transmet que les mains qui ont changé, et le même état sert à remettre à
+ * niveau un client revenu trop tard pour une simple reprise.
+ */
+public class RemoteGameView implements TeamGameView {
+
+    // Attributs
+    private final List<Player> players; // Sièges de la table
+    private final List<Team> teams; // Vide en mode Solo
+    private final Map<Player, Seat> seats; // Sièges humains
+    private Player current; // Joueur dont c'est le tour
+    private volatile Runnable closeHandler;
+
+    // Dernier état envoyé (sous le verrou de la vue)
+    private final int[][] table; // Par siège puis centre : [taille, index, valeur, ...]
+    private final int[][] hands; // Mains privées des humains
+    private final int[] trios; // Trios par siège
+    private final int[] teamTrios;
+    private int[] order;
+    private Deck centerDeck;
+
+    // Constructeurs
+    RemoteGameView(List<Player> players, List<Team> teams, Map<Player, Seat> seats) {
+        this.players = players;
+        this.teams = teams;
+        this.seats = seats;
+        this.table = new int[players.size() + 1][];
+        this.hands = new int[players.size()][];
+        this.trios = new int[players.size()];
+        this.teamTrios = new int[teams.size()];
+    }
+
+    // Getters
+    int seatOf(Player player) {
+        for (int i = 0; i < players.size(); i++) {
+            if (players.get(i) == player) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    Runnable getCloseHandler() {
+        return closeHandler;
+    }
+
+    // ===== ENVOI =====
+
+    private void broadcast(Protocol.Writer event) {
+        for (Seat seat : seats.values()) {
+            seat.send(event);
+        }
+    }
+
+    private void sendTo(Player player, Protocol.Writer event) {
+        Seat seat = seats.get(player);
+        if (seat != null) {
+            seat.send(event);
+        }
+    }
+
+    /**
+     * Demande adressée au joueur dont c'est le tour ; annulée s'il n'a pas
+     * de siège humain
+     */
+    private synchronized CompletableFuture<Integer> ask(Protocol.Writer event) {
+        Seat seat = seats.get(current);
+        if (seat == null) {
+            CompletableFuture<Integer> none = new CompletableFuture<>();
+            none.cancel(false);
+            return none;
+        }
+        return seat.prompt(event);
+    }
+
+    /**
+     * Partie visible d'une main : sa taille puis (index, valeur) des cartes
+     * face visible
+     */
+    private static int[] publicState(Deck deck) {
+        int size = deck.getSize();
+        int visible = 0;
+        for (int i = 0; i < size; i++) {
+            if (deck.getCard(i).isVisible()) {
+                visible++;
+            }
+        }
+        int[] state = new int[1 + 2 * visible];
+        state[0] = size;
+        int pos = 1;
+        for (int i = 0; i < size; i++) {
+            Card card = deck.getCard(i);
+            if (card.isVisible()) {
+                state[pos++] = i;
+                state[pos++] = card.getValue();
+            }
+        }
+        return state;
+    }
+
+    private static int[] handValues(Deck deck) {
+        int[] values = new int[deck.getSize()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = deck.getCard(i).getValue();
+        }
+        return values;
+    }
+
+    private static Protocol.Writer tableEvent(int seat, int[] state) {
+        Protocol.Writer event = Protocol.event(Protocol.EV_TABLE).signed(seat).varint(state[0])
+                .varint((state.length - 1) / 2);
+        for (int i = 1; i < state.length; i++) {
+            event.varint(state[i]);
+        }
+        return event;
+    }
+
+    private static Protocol.Writer handEvent(int[] values) {
+        Protocol.Writer event = Protocol.event(Protocol.EV_HAND).varint(values.length);
+        for (int value : values) {
+            event.varint(value);
+        }
+        return event;
+    }
+
+    /**
+     * Diffuse la partie visible d'une main si elle a changé
+     */
+    private void updateTable(int slot, int seat, Deck deck) {
+        int[] state = publicState(deck);
+        if (!Arrays.equals(state, table[slot])) {
+            table[slot] = state;
+            broadcast(tableEvent(seat, state));
+        }
+    }
+
+    /**
+     * Envoie sa main à un joueur humain si elle a changé
+     */
+    private void updateHand(Player player) {
+        Seat seat = seats.get(player);
+        if (seat == null) {
+            return;
+        }
+        int[] values = handValues(player.getDeck());
+        if (!Arrays.equals(values, hands[seat.getIndex()])) {
+            hands[seat.getIndex()] = values;
+            seat.send(handEvent(values));
+        }
+    }
+
+    // ===== PRÉSENTATION ET REPRISE =====
+
+    /**
+     * Présente la table à un siège : mode, siège, jeton de reprise et joueurs
+     */
+    synchronized void announce(Seat seat) {
+        Protocol.Writer start = Protocol.event(Protocol.EV_START)
+                .varint(teams.isEmpty() ? Protocol.MODE_SOLO : Protocol.MODE_TEAM)
+                .varint(seat.getIndex()).varint(seat.getToken()).varint(players.size());
+        for (Player player : players) {
+            start.varint(player instanceof Bot ? 1 : 0).text(player.getPseudo());
+        }
+        seat.send(start);
+        for (int i = 0; i < teams.size(); i++) {
+            seat.send(teamEvent(i));
+        }
+    }
+
+    /**
+     * Rattache un client reconnecté à son siège. Sous le verrou de la vue,
+     * aucun événement de la partie ne s'intercale dans la reprise.
+     */
+    synchronized void resume(Seat seat, Connection connection, long lastSeen) {
+        if (!seat.attach(connection, lastSeen)) {
+            resync(seat);
+        }
+    }
+
+    /**
+     * Remet à niveau un client revenu après que ses événements manquants
+     * sont sortis de l'anneau : table, main, scores, tour et demande en cours
+     */
+    private void resync(Seat seat) {
+        announce(seat);
+        if (order != null) {
+            seat.send(orderEvent(order));
+        }
+        for (int i = 0; i < players.size(); i++) {
+            if (table[i] != null) {
+                seat.send(tableEvent(i, table[i]));
+            }
+            if (trios[i] > 0) {
+                seat.send(Protocol.event(Protocol.EV_TRIO).varint(i).varint(trios[i]));
+            }
+        }
+        if (table[players.size()] != null) {
+            seat.send(tableEvent(-1, table[players.size()]));
+        }
+        for (int i = 0; i < teamTrios.length; i++) {
+            if (teamTrios[i] > 0) {
+                seat.send(Protocol.event(Protocol.EV_TEAM_TRIO).varint(i).varint(teamTrios[i]));
+            }
+        }
+        if (hands[seat.getIndex()] != null) {
+            seat.send(handEvent(hands[seat.getIndex()]));
+        }
+        if (current != null) {
+            seat.send(Protocol.event(Protocol.EV_TURN).varint(seatOf(current)));
+        }
+        seat.repeatPending();
+    }
+
+    private Protocol.Writer teamEvent(int index) {
+        Team team = teams.get(index);
+        Protocol.Writer event = Protocol.event(Protocol.EV_TEAM).varint(index).varint(team.getTeamSize());
+        for (int j = 0; j < team.getTeamSize(); j++) {
+            event.varint(seatOf(team.getPlayer(j)));
+        }
+        return event.text(team.getName());
+    }
+
+    private static Protocol.Writer orderEvent(int[] order) {
+        Protocol.Writer event = Protocol.event(Protocol.EV_ORDER).varint(order.length);
+        for (int seat : order) {
+            event.varint(seat);
+        }
+        return event;
+    }
+
+    // ===== AFFICHAGE =====
+
+    @Override
+    public void displayWelcome(int nbPlayers) {
+        // Déjà transmis par EV_START
+    }
+
+    @Override
+    public synchronized void displayTurnStart(Player player) {
+        current = player;
+        broadcast(Protocol.event(Protocol.EV_TURN).varint(seatOf(player)));
+    }
+
+    @Override
+    public synchronized void displayPlayerHand(Player player) {
+        // Seul le propriétaire voit sa main complète
+        updateHand(player);
+    }
+
+    @Override
+    public synchronized void displayVisibleCards(List<Player> players, Deck centerDeck) {
+        for (Player player : players) {
+            int seat = seatOf(player);
+            updateTable(seat, seat, player.getDeck());
+            updateHand(player);
+        }
+        if (centerDeck != null) {
+            this.centerDeck = centerDeck;
+            updateTable(this.players.size(), -1, centerDeck);
+        }
+    }
+
+    @Override
+    public void displayRevealedCards(List<RevealedCard> revealedCards) {
+        // Déduit des événements EV_REVEAL et EV_FAIL
+    }
+
+    @Override
+    public synchronized void displayCardRevealed(Card card, Player owner, int cardIndex, boolean isFirst,
+            boolean isCorrect, int expectedValue) {
+        int seat = owner == null ? -1 : seatOf(owner);
+        int slot = owner == null ? players.size() : seat;
+        Deck deck = owner == null ? centerDeck : owner.getDeck();
+        if (owner != null) {
+            cardIndex = -1;
+            for (int i = 0; i < deck.getSize(); i++) {
+                if (deck.getCard(i) == card) {
+                    cardIndex = i;
+                }
+            }
+        }
+        broadcast(Protocol.event(Protocol.EV_REVEAL).signed(seat).signed(cardIndex).varint(card.getValue())
+                .varint((isFirst ? 1 : 0) | (isCorrect ? 2 : 0)));
+        // La révélation suffit au client : l'état public est mis à jour sans
+        // renvoyer la main
+        if (deck != null) {
+            table[slot] = publicState(deck);
+        }
+    }
+
+    @Override
+    public synchronized void displayTrioSuccess(Player winner, int trioCount) {
+        int seat = seatOf(winner);
+        trios[seat] = trioCount;
+        broadcast(Protocol.event(Protocol.EV_TRIO).varint(seat).varint(trioCount));
+    }
+
+    @Override
+    public synchronized void displayTurnFailed() {
+        broadcast(Protocol.event(Protocol.EV_FAIL));
+        // Le client retourne lui-même les cartes : seules les tailles restent
+        for (int i = 0; i < table.length; i++) {
+            if (table[i] != null) {
+                table[i] = new int[] { table[i][0] };
+            }
+        }
+    }
+
+    @Override
+    public void displayGameWinner(Player winner) {
+        // Transmis par EV_END
+    }
+
+    @Override
+    public void displayDefeat(String winnerName) {
+        // Transmis par EV_END
+    }
+
+    @Override
+    public synchronized void displayError(String message) {
+        sendTo(current, Protocol.event(Protocol.EV_ERROR).text(message));
+    }
+
+    @Override
+    public synchronized void displayBotAction(Bot bot, String action, Player target) {
+        broadcast(Protocol.event(Protocol.EV_BOT).varint(seatOf(bot)).signed(target == null ? -1 : seatOf(target))
+                .text(action));
+    }
+
+    // ===== AFFICHAGE ÉQUIPES =====
+
+    @Override
+    public void displayTeamWelcome(List<Team> teams) {
+        // Déjà transmis par announce()
+    }
+
+    @Override
+    public void displayTeamTurnStart(Player player, Team team) {
+        displayTurnStart(player);
+    }
+
+    @Override
+    public void displayTeamScores(List<Team> teams) {
+        // Déduit des événements EV_TEAM_TRIO
+    }
+
+    @Override
+    public synchronized void displayTeamTrioSuccess(Team team, int trioCount) {
+        int index = teams.indexOf(team);
+        teamTrios[index] = trioCount;
+        broadcast(Protocol.event(Protocol.EV_TEAM_TRIO).varint(index).varint(trioCount));
+    }
+
+    @Override
+    public void displayTeamWinner(Team winner) {
+        // Transmis par EV_END
+    }
+
+    @Override
+    public synchronized void displayPlayOrder(List<Player> playOrder, List<Team> teams) {
+        order = new int[playOrder.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = seatOf(playOrder.get(i));
+        }
+        broadcast(orderEvent(order));
+    }
+
+    @Override
+    public void displayPlayerWithTeam(Player player, Team team) {
+        // Déjà transmis par announce()
+    }
+
+    @Override
+    public synchronized void displayExchange(Player player, Player mate) {
+        broadcast(Protocol.event(Protocol.EV_EXCHANGE).varint(seatOf(player)).varint(seatOf(mate)));
+    }
+
+    // ===== INPUT =====
+
+    @Override
+    public CompletableFuture<Integer> promptAction() {
+        return ask(Protocol.event(Protocol.EV_PROMPT).varint(Protocol.PROMPT_ACTION));
+    }
+
+    @Override
+    public CompletableFuture<Player> promptSelectPlayer(List<Player> availablePlayers) {
+        Protocol.Writer event = Protocol.event(Protocol.EV_PROMPT).varint(Protocol.PROMPT_PLAYER)
+                .varint(availablePlayers.size());
+        for (Player player : availablePlayers) {
+            event.varint(seatOf(player));
+        }
+        return ask(event).thenApply(seat -> {
+            Player chosen = seat >= 0 && seat < players.size() ? players.get(seat) : null;
+            return availablePlayers.contains(chosen) ? chosen : null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Integer> promptSelectCenterCard(Deck centerDeck) {
+        int size = centerDeck.getSize();
+        return ask(Protocol.event(Protocol.EV_PROMPT).varint(Protocol.PROMPT_CENTER).varint(size))
+                .thenApply(index -> index >= 0 && index < size ? index : -1);
+    }
+
+    @Override
+    public CompletableFuture<Integer> promptSelectHandCard(Player player) {
+        int size = player.getDeck().getSize();
+        return ask(Protocol.event(Protocol.EV_PROMPT).varint(Protocol.PROMPT_CARD).varint(seatOf(player))
+                .varint(size)).thenApply(index -> index >= 0 && index < size ? index : -1);
+    }
+
+    @Override
+    public void startGame() {
+        // La table est annoncée par announce()
+    }
+
+    @Override
+    public void onClose(Runnable action) {
+        this.closeHandler = action;
+    }
+}
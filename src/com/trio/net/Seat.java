@@ -0,0 +1,197 @@
+package com.trio.net;
+
+import com.trio.model.Player;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Siège humain d'une partie en réseau.
+ * Les événements destinés au joueur sont numérotés et les derniers sont
+ * gardés dans un anneau : si la connexion est perdue, le siège reste à la
+ * table et un client qui revient avec son jeton reçoit ce qu'il a manqué.
+ * La demande en cours survit à la déconnexion ; la partie attend le retour
+ * du joueur.
+ */
+class Seat {
+
+    // Attributs
+    private static final int REPLAY_FRAMES = Integer.getInteger("trio.net.replayFrames", 256);
+
+    private final Table table;
+    private final Player player;
+    private final int index; // Numéro de siège à la table
+    private final long token; // Jeton de reprise, connu du seul joueur
+    private final byte[][] frames; // Dernières trames envoyées, indexées par séquence
+    private long lastSeq;
+    private Connection connection; // null tant que le joueur est déconnecté
+    private int attachCount; // Incrémenté à chaque (re)connexion
+    private volatile boolean ended;
+    private Protocol.Writer endEvent;
+
+    // Demande en cours
+    private Protocol.Writer promptEvent;
+    private long promptSeq;
+    private CompletableFuture<Integer> answer;
+
+    // Constructeurs
+    Seat(Table table, Player player, int index, long token, Connection connection) {
+        this.table = table;
+        this.player = player;
+        this.index = index;
+        this.token = token;
+        this.frames = new byte[REPLAY_FRAMES][];
+        this.connection = connection;
+    }
+
+    // Getters
+    Table getTable() {
+        return table;
+    }
+
+    Player getPlayer() {
+        return player;
+    }
+
+    int getIndex() {
+        return index;
+    }
+
+    long getToken() {
+        return token;
+    }
+
+    synchronized Connection getConnection() {
+        return connection;
+    }
+
+    synchronized int getAttachCount() {
+        return attachCount;
+    }
+
+    boolean isEnded() {
+        return ended;
+    }
+
+    // Méthodes Métier
+
+    /**
+     * Numérote l'événement, le garde pour une reprise et l'envoie si le
+     * joueur est connecté (appelable depuis n'importe quel thread)
+     *
+     * @return le numéro attribué
+     */
+    synchronized long send(Protocol.Writer event) {
+        long seq = ++lastSeq;
+        byte[] frame = event.toFrame(seq);
+        frames[(int) (seq % frames.length)] = frame;
+        if (connection != null) {
+            connection.send(frame);
+        }
+        return seq;
+    }
+
+    /**
+     * Envoie une demande ; le futur est complété par la réponse portant son
+     * numéro de séquence
+     */
+    CompletableFuture<Integer> prompt(Protocol.Writer event) {
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        CompletableFuture<Integer> previous;
+        synchronized (this) {
+            previous = answer;
+            promptEvent = event;
+            answer = future;
+            promptSeq = send(event);
+        }
+        if (previous != null) {
+            previous.cancel(false);
+        }
+        return future;
+    }
+
+    /**
+     * Réponse du client à la demande numéro seq
+     *
+     * @return false si cette demande n'est pas (ou plus) en attente
+     */
+    boolean answer(long seq, int value) {
+        CompletableFuture<Integer> future;
+        synchronized (this) {
+            if (answer == null || seq != promptSeq) {
+                return false;
+            }
+            future = answer;
+            answer = null;
+            promptEvent = null;
+        }
+        return future.complete(value);
+    }
+
+    /**
+     * Après un état complet : renvoie sous un nouveau numéro la demande en
+     * cours, ou le résultat si la partie est finie
+     */
+    synchronized void repeatPending() {
+        if (answer != null) {
+            promptSeq = send(promptEvent);
+        } else if (endEvent != null) {
+            send(endEvent);
+        }
+    }
+
+    /**
+     * Rattache une connexion au siège et rejoue les événements suivant
+     * lastSeen s'ils sont encore dans l'anneau
+     *
+     * @return false si l'écart est trop grand : le client doit recevoir un
+     *         état complet
+     */
+    synchronized boolean attach(Connection connection, long lastSeen) {
+        this.connection = connection;
+        attachCount++;
+        if (lastSeen < 0 || lastSeen > lastSeq || lastSeq - lastSeen > frames.length) {
+            connection.send(Protocol.event(Protocol.EV_RESUMED).varint(0).toFrame(0));
+            return false;
+        }
+        connection.send(Protocol.event(Protocol.EV_RESUMED).varint(1).toFrame(0));
+        for (long seq = lastSeen + 1; seq <= lastSeq; seq++) {
+            connection.send(frames[(int) (seq % frames.length)]);
+        }
+        // Demande déjà reçue mais dont la réponse s'est perdue avec la
+        // connexion : elle est reposée
+        if (answer != null && promptSeq <= lastSeen) {
+            promptSeq = send(promptEvent);
+        }
+        return true;
+    }
+
+    /**
+     * Détache la connexion perdue (sans effet si une autre l'a remplacée)
+     *
+     * @return true si le siège est désormais sans connexion
+     */
+    synchronized boolean detach(Connection lost) {
+        if (connection != lost) {
+            return false;
+        }
+        connection = null;
+        return true;
+    }
+
+    /**
+     * Fin de partie : la demande en cours est annulée et le résultat envoyé
+     */
+    void end(Protocol.Writer end) {
+        CompletableFuture<Integer> future;
+        synchronized (this) {
+            future = answer;
+            answer = null;
+            promptEvent = null;
+            ended = true;
+            endEvent = end;
+            send(end);
+        }
+        if (future != null) {
+            future.cancel(false);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.trio.net;
+
+import com.trio.controller.GameSession;
+import com.trio.controller.GameSessionManager;
+import com.trio.model.*;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Table de jeu en réseau : attend ses joueurs humains puis lance la partie
+ * dans une session du GameSessionManager. Les places restantes sont tenues
+ * par des bots.
+ */
+class Table {
+
+    // Attributs
+    private static final int TEAM_SIZE = 2;
+    private static final SecureRandom TOKENS = new SecureRandom();
+
+    private final TrioServer server;
+    private final boolean teamMode;
+    private final int nbPlayers;
+    private final int nbHumans;
+    private final List<Connection> waiting; // Joueurs humains, dans l'ordre d'arrivée
+    private volatile List<Seat> seats; // Sièges humains une fois la partie lancée
+    private volatile RemoteGameView view;
+    private volatile GameSession session;
+
+    // Constructeurs
+    Table(TrioServer server, boolean teamMode, int nbPlayers, int nbHumans) {
+        this.server = server;
+        this.teamMode = teamMode;
+        this.nbPlayers = nbPlayers;
+        this.nbHumans = nbHumans;
+        this.waiting = new ArrayList<>(nbHumans);
+        this.seats = Collections.emptyList();
+    }
+
+    // Getters
+    static String key(boolean teamMode, int nbPlayers, int nbHumans) {
+        return (teamMode ? "TEAM" : "SOLO") + ":" + nbPlayers + ":" + nbHumans;
+    }
+
+    boolean isFull() {
+        return waiting.size() == nbHumans;
+    }
+
+    GameSession getSession() {
+        return session;
+    }
+
+    RemoteGameView getView() {
+        return view;
+    }
+
+    List<Seat> getSeats() {
+        return seats;
+    }
+
+    // Méthodes Métier (thread du sélecteur)
+
+    void join(Connection connection) {
+        waiting.add(connection);
+        connection.setTable(this);
+        for (Connection other : waiting) {
+            other.send(Protocol.event(Protocol.EV_WAITING).varint(waiting.size()).varint(nbHumans).toFrame(0));
+        }
+    }
+
+    /**
+     * Départ d'un joueur avant le lancement de la partie
+     *
+     * @return true si la table est vide
+     */
+    boolean leave(Connection connection) {
+        waiting.remove(connection);
+        connection.setTable(null);
+        return waiting.isEmpty();
+    }
+
+    /**
+     * Un joueur a quitté la partie ou n'est pas revenu à temps : la table est
+     * abandonnée (appelable depuis n'importe quel thread)
+     */
+    void abandon() {
+        Runnable handler = view == null ? null : view.getCloseHandler();
+        if (handler != null) {
+            handler.run();
+        }
+    }
+
+    /**
+     * Crée la partie et la lance sur le pool partagé
+     */
+    void start() {
+        List<Player> players = new ArrayList<>(nbPlayers);
+        for (Connection connection : waiting) {
+            User user = connection.getUser();
+            user.resetForNewGame();
+            players.add(user);
+        }
+        for (int i = players.size() + 1; i <= nbPlayers; i++) {
+            players.add(new Bot("Bot" + i));
+        }
+
+        List<Team> teams = new ArrayList<>();
+        if (teamMode) {
+            for (int i = 0; i < nbPlayers / TEAM_SIZE; i++) {
+                teams.add(new Team("Équipe " + (char) ('A' + i),
+                        new ArrayList<>(players.subList(i * TEAM_SIZE, (i + 1) * TEAM_SIZE))));
+            }
+        }
+
+        // Chaque joueur humain reçoit son siège et un jeton de reprise
+        List<Seat> started = new ArrayList<>(waiting.size());
+        Map<Player, Seat> humans = new IdentityHashMap<>();
+        for (int s = 0; s < waiting.size(); s++) {
+            Connection connection = waiting.get(s);
+            Seat seat = new Seat(this, players.get(s), s, TOKENS.nextLong() & Long.MAX_VALUE, connection);
+            started.add(seat);
+            humans.put(seat.getPlayer(), seat);
+            connection.setTable(null);
+            connection.setSeat(seat);
+        }
+        waiting.clear();
+        seats = started;
+        server.register(this);
+
+        view = new RemoteGameView(players, teams, humans);
+        for (Seat seat : started) {
+            view.announce(seat);
+        }
+        // Pas de sortie console pour les parties du serveur
+        GameSessionManager manager = GameSessionManager.getInstance();
+        if (teamMode) {
+            TeamGame game = new TeamGame(teams, new Deck());
+            game.setVerbose(false);
+            session = manager.startTeam(game, view);
+        } else {
+            SoloGame game = new SoloGame(players, new Deck());
+            game.setVerbose(false);
+            session = manager.startSolo(game, view);
+        }
+
+        session.getResult().whenComplete((winner, error) -> {
+            Protocol.Writer end;
+            if (winner instanceof Player) {
+                end = Protocol.event(Protocol.EV_END).varint(Protocol.END_WIN).signed(view.seatOf((Player) winner));
+            } else if (winner instanceof Team) {
+                end = Protocol.event(Protocol.EV_END).varint(Protocol.END_TEAM_WIN).signed(teams.indexOf(winner));
+            } else {
+                int status = session.getStatus() == GameSession.Status.CANCELLED ? Protocol.END_CANCELLED
+                        : Protocol.END_FAILED;
+                end = Protocol.event(Protocol.EV_END).varint(status).signed(-1);
+            }
+            // Le siège terminé n'est plus vu par sa connexion (Connection.getSeat)
+            for (Seat seat : started) {
+                seat.end(end);
+            }
+            server.release(this);
+        });
+    }
+}
@@ -0,0 +1,462 @@
+package com.trio.net;
+
+import com.trio.controller.DataService;
+import com.trio.controller.GameScheduler;
+import com.trio.model.Logs;
+import com.trio.model.User;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serveur Trio en réseau (TCP, protocole binaire décrit dans Protocol).
+ * Un seul thread gère toutes les connexions avec un Selector non bloquant ;
+ * les parties tournent sur le pool partagé des contrôleurs. Le nombre de
+ * threads ne dépend donc ni du nombre de clients ni du nombre de tables.
+ *
+ * Les accès bloquants (fichiers de DataService) sont faits sur le pool des
+ * contrôleurs ; leur résultat revient au sélecteur par execute().
+ *
+ * Un joueur dont la connexion tombe garde son siège pendant
+ * trio.net.resumeGraceMs : il reprend la partie avec RESUME et son jeton.
+ * Passé ce délai, ou s'il envoie QUIT, la table est abandonnée.
+ */
+public class TrioServer {
+
+    // Attributs
+    private static final int MIN_PLAYERS = 2;
+    private static final int MAX_PLAYERS = 6;
+    private static final long RESUME_GRACE_MS = Long.getLong("trio.net.resumeGraceMs", 30_000);
+
+    private final InetSocketAddress address;
+    private final Queue<Connection> flushQueue; // Connexions ayant des messages à envoyer
+    private final Queue<Runnable> tasks; // Suites à exécuter sur le thread du sélecteur
+    private final Map<String, Table> waiting; // Tables en attente de joueurs (thread du sélecteur)
+    private final Set<Integer> connectedUsers; // Un pseudo n'est connecté qu'une fois (thread du sélecteur)
+    private final Map<Long, Seat> resumable; // Sièges par jeton de reprise
+    private final Object identification; // Deux HELLO du même nouveau pseudo ne créent qu'un joueur
+    private Selector selector;
+    private ServerSocketChannel serverChannel;
+    private Thread thread;
+    private volatile boolean running;
+    private volatile int connectionCount;
+
+    // Constructeurs
+    public TrioServer(int port) {
+        this(new InetSocketAddress(port));
+    }
+
+    public TrioServer(InetSocketAddress address) {
+        this.address = address;
+        this.flushQueue = new ConcurrentLinkedQueue<>();
+        this.tasks = new ConcurrentLinkedQueue<>();
+        this.waiting = new HashMap<>();
+        this.connectedUsers = new HashSet<>();
+        this.resumable = new ConcurrentHashMap<>();
+        this.identification = new Object();
+    }
+
+    // Getters
+
+    /**
+     * Port d'écoute (utile quand le serveur est lancé sur le port 0)
+     */
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    public int getConnectionCount() {
+        return connectionCount;
+    }
+
+    // Méthodes Métier
+
+    public synchronized void start() throws IOException {
+        if (thread != null) {
+            return;
+        }
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.configureBlocking(false);
+        serverChannel.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+        serverChannel.bind(address, 1024);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+
+        running = true;
+        thread = new Thread(this::run, "trio-net");
+        thread.setDaemon(true);
+        thread.start();
+        Logs.getInstance().writeLogs("Serveur réseau démarré sur le port " + getPort());
+    }
+
+    /**
+     * Ferme toutes les connexions ; les parties en cours sont annulées
+     */
+    public synchronized void stop() {
+        if (thread == null) {
+            return;
+        }
+        running = false;
+        selector.wakeup();
+        try {
+            thread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+        Logs.getInstance().writeLogs("Serveur réseau arrêté");
+    }
+
+    /**
+     * Appelée par une connexion qui a des messages en attente
+     */
+    void requestFlush(Connection connection) {
+        flushQueue.add(connection);
+        selector.wakeup();
+    }
+
+    /**
+     * Exécute une tâche sur le thread du sélecteur (appelable depuis
+     * n'importe quel thread)
+     */
+    void execute(Runnable task) {
+        tasks.add(task);
+        selector.wakeup();
+    }
+
+    /**
+     * Rend les sièges d'une table lancée joignables par leur jeton
+     */
+    void register(Table table) {
+        for (Seat seat : table.getSeats()) {
+            resumable.put(seat.getToken(), seat);
+        }
+    }
+
+    /**
+     * Fin de partie : les jetons restent valables le temps du délai de
+     * reprise, pour qu'un joueur déconnecté reçoive quand même le résultat
+     */
+    void release(Table table) {
+        GameScheduler.shared().schedule(() -> {
+            for (Seat seat : table.getSeats()) {
+                resumable.remove(seat.getToken());
+            }
+        }, RESUME_GRACE_MS, TimeUnit.MILLISECONDS);
+    }
+
+    // ===== BOUCLE DU SÉLECTEUR =====
+
+    private void run() {
+        try {
+            while (running) {
+                selector.select();
+                runTasks();
+                flushPending();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                        continue;
+                    }
+                    Connection connection = (Connection) key.attachment();
+                    try {
+                        if (key.isReadable() && !connection.read()) {
+                            disconnect(connection, false);
+                            continue;
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            connection.flush();
+                        }
+                    } catch (IOException e) {
+                        disconnect(connection, false);
+                    } catch (RuntimeException e) {
+                        // Commande malformée ou erreur de traitement : seul ce
+                        // client est déconnecté, le sélecteur continue
+                        Logs.getInstance().writeLogs("Connexion fermée sur erreur : " + e);
+                        disconnect(connection, false);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            Logs.getInstance().writeLogs("Erreur du serveur réseau : " + e.getMessage());
+        } finally {
+            closeAll();
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+            key.attach(new Connection(this, channel, key));
+            connectionCount++;
+        }
+    }
+
+    private void runTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                Logs.getInstance().writeLogs("Erreur du serveur réseau : " + e);
+            }
+        }
+    }
+
+    private void flushPending() {
+        Connection connection;
+        while ((connection = flushQueue.poll()) != null) {
+            if (connection.isClosed()) {
+                continue;
+            }
+            try {
+                connection.flush();
+            } catch (IOException e) {
+                disconnect(connection, false);
+            }
+        }
+    }
+
+    /**
+     * Ferme une connexion. En partie, le siège attend le retour du joueur
+     * pendant le délai de reprise, sauf départ volontaire (QUIT).
+     */
+    private void disconnect(Connection connection, boolean quit) {
+        if (connection.isClosed()) {
+            return;
+        }
+        Seat seat = connection.getSeat();
+        Table table = connection.getTable();
+        if (seat != null && seat.detach(connection)) {
+            if (quit || RESUME_GRACE_MS <= 0) {
+                seat.getTable().abandon();
+            } else {
+                scheduleAbandon(seat);
+            }
+        } else if (table != null && table.leave(connection)) {
+            waiting.values().remove(table);
+        }
+        connection.close();
+        connectionCount--;
+        if (connection.getUser() != null) {
+            connectedUsers.remove(connection.getUser().getId());
+        }
+    }
+
+    private void scheduleAbandon(Seat seat) {
+        int attachCount = seat.getAttachCount();
+        GameScheduler.shared().schedule(() -> {
+            if (seat.getConnection() == null && seat.getAttachCount() == attachCount && !seat.isEnded()) {
+                seat.getTable().abandon();
+            }
+        }, RESUME_GRACE_MS, TimeUnit.MILLISECONDS);
+    }
+
+    private void closeAll() {
+        try {
+            serverChannel.close();
+        } catch (IOException e) {
+            // Fermeture best-effort
+        }
+        for (SelectionKey key : new ArrayList<>(selector.keys())) {
+            if (key.attachment() instanceof Connection) {
+                disconnect((Connection) key.attachment(), true);
+            }
+        }
+        // Parties dont les joueurs étaient déjà déconnectés
+        for (Seat seat : resumable.values()) {
+            seat.getTable().abandon();
+        }
+        try {
+            selector.close();
+        } catch (IOException e) {
+            // Fermeture best-effort
+        }
+    }
+
+    // ===== COMMANDES (thread du sélecteur) =====
+
+    /**
+     * Traite une commande reçue d'un client
+     */
+    void handle(Connection connection, Protocol.Reader command) {
+        int type = command.integer();
+        switch (type) {
+            case Protocol.CMD_HELLO:
+                hello(connection, command.text().trim());
+                break;
+            case Protocol.CMD_JOIN:
+                join(connection, command.integer(), command.integer(), command.integer());
+                break;
+            case Protocol.CMD_ANSWER:
+                long promptSeq = command.varint();
+                int value = command.signed();
+                Seat seat = connection.getSeat();
+                if (seat == null || !seat.answer(promptSeq, value)) {
+                    connection.sendError("Aucune demande " + promptSeq + " en attente");
+                }
+                break;
+            case Protocol.CMD_RESUME:
+                resume(connection, command.varint(), command.varint());
+                break;
+            case Protocol.CMD_QUIT:
+                disconnect(connection, true);
+                break;
+            default:
+                connection.sendError("Commande inconnue : " + type);
+        }
+    }
+
+    /**
+     * Recherche (ou création) du joueur sur le pool des contrôleurs : le
+     * sélecteur ne fait jamais d'accès disque
+     */
+    private void hello(Connection connection, String pseudo) {
+        if (connection.getUser() != null || connection.isIdentifying()) {
+            connection.sendError("Déjà identifié");
+            return;
+        }
+        if (pseudo.isEmpty()) {
+            connection.sendError("Pseudo manquant");
+            return;
+        }
+        connection.startIdentifying();
+        GameScheduler.shared().execute(() -> {
+            User user = null;
+            String error = null;
+            try {
+                synchronized (identification) {
+                    DataService data = DataService.getInstance();
+                    User existing = data.findUserByName(pseudo);
+                    if (existing == null) {
+                        existing = new User(pseudo);
+                        data.saveNewUser(existing);
+                    }
+                    user = existing;
+                }
+            } catch (RuntimeException e) {
+                error = e.getMessage() != null ? e.getMessage() : e.toString();
+            }
+            User found = user;
+            String failure = error;
+            execute(() -> welcome(connection, pseudo, found, failure));
+        });
+    }
+
+    /**
+     * Suite de HELLO, de retour sur le thread du sélecteur ; les commandes
+     * reçues entre-temps sont ensuite traitées
+     */
+    private void welcome(Connection connection, String pseudo, User user, String error) {
+        if (connection.isClosed()) {
+            return;
+        }
+        if (user == null) {
+            connection.sendError(error != null ? error : "Identification impossible");
+        } else if (!connectedUsers.add(user.getId())) {
+            connection.sendError(pseudo + " est déjà connecté");
+        } else {
+            connection.setUser(user);
+            connection.send(
+                    Protocol.event(Protocol.EV_WELCOME).varint(user.getId()).text(user.getPseudo()).toFrame(0));
+        }
+        if (!connection.resumeReading()) {
+            disconnect(connection, false);
+        }
+    }
+
+    private void join(Connection connection, int mode, int nbPlayers, int nbHumans) {
+        if (connection.getUser() == null) {
+            connection.sendError("Identifiez-vous avec HELLO");
+            return;
+        }
+        if (connection.getTable() != null || connection.getSeat() != null) {
+            connection.sendError("Déjà à une table");
+            return;
+        }
+        boolean teamMode = mode == Protocol.MODE_TEAM;
+        if (!teamMode && mode != Protocol.MODE_SOLO) {
+            connection.sendError("Mode inconnu : " + mode);
+            return;
+        }
+        if (nbPlayers < MIN_PLAYERS || nbPlayers > MAX_PLAYERS || nbHumans < 1 || nbHumans > nbPlayers
+                || (teamMode && (nbPlayers % 2 != 0 || nbPlayers < 4))) {
+            connection.sendError("Table invalide");
+            return;
+        }
+
+        String key = Table.key(teamMode, nbPlayers, nbHumans);
+        Table table = waiting.computeIfAbsent(key, k -> new Table(this, teamMode, nbPlayers, nbHumans));
+        table.join(connection);
+        if (table.isFull()) {
+            waiting.remove(key);
+            table.start();
+        }
+    }
+
+    /**
+     * Reprise d'un siège par un client reconnecté : les événements après
+     * lastSeen sont rejoués, ou un état complet est envoyé s'ils ne sont
+     * plus disponibles
+     */
+    private void resume(Connection connection, long token, long lastSeen) {
+        Seat seat = resumable.get(token);
+        if (seat == null) {
+            connection.sendError("Jeton de reprise inconnu");
+            return;
+        }
+        if (connection.getUser() != null || connection.isIdentifying() || connection.getTable() != null) {
+            connection.sendError("Déjà identifié");
+            return;
+        }
+        // L'ancienne connexion n'a peut-être pas encore été vue fermée
+        Connection previous = seat.getConnection();
+        if (previous != null && previous != connection) {
+            previous.setSeat(null);
+            seat.detach(previous);
+            disconnect(previous, false);
+        }
+        User user = (User) seat.getPlayer();
+        if (!connectedUsers.add(user.getId())) {
+            connection.sendError(user.getPseudo() + " est déjà connecté");
+            return;
+        }
+        connection.setUser(user);
+        connection.setSeat(seat);
+        seat.getTable().getView().resume(seat, connection, lastSeen);
+    }
+
+    /**
+     * Lance un serveur autonome : java com.trio.net.TrioServer [port]
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 7777;
+        TrioServer server = new TrioServer(port);
+        server.start();
+        System.out.println("Serveur Trio à l'écoute sur le port " + server.getPort());
+        Thread.currentThread().join();
+    }
+}
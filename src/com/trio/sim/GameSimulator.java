@@ -0,0 +1,212 @@
+package com.trio.sim;
+
+import com.trio.model.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Moteur de simulation sans affichage.
+ * Joue des parties complètes entre Bots en réutilisant le noyau des règles
+ * (Rules) de SoloGame et TeamGame, sans View, sans pause et sans sortie
+ * console.
+ * Utilisé pour l'équilibrage des Bots et les tests de non-régression.
+ */
+public class GameSimulator {
+
+    /**
+     * Nombre de tours consécutifs sans trio avant d'abandonner une partie.
+     * Garde-fou : même avec leur mémoire (BeliefTracker), des Bots peuvent
+     * tourner en rond quand aucun ne peut plus compléter de trio à coup
+     * sûr et que chacun rejoue les mêmes cartes.
+     */
+    public static final int DEFAULT_STALL_TURNS = 500;
+
+    private final int stallTurns;
+
+    // Constructeurs
+    public GameSimulator() {
+        this(DEFAULT_STALL_TURNS);
+    }
+
+    public GameSimulator(int stallTurns) {
+        if (stallTurns <= 0) {
+            throw new IllegalArgumentException("Le nombre de tours sans trio doit être positif!");
+        }
+        this.stallTurns = stallTurns;
+    }
+
+    // === Mode Solo ===
+
+    /**
+     * Joue une partie Solo complète entre les Bots donnés (2 à 6 joueurs).
+     */
+    public SimulationResult playSolo(List<Player> players) {
+        return playSolo(players, new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Joue une partie Solo reproductible : même graine, même partie.
+     */
+    public SimulationResult playSolo(List<Player> players, long seed) {
+        requireBots(players);
+        SoloGame game = new SoloGame(players, new Deck(), seed);
+        game.distributeCards(newDrawPile());
+        return playSolo(game);
+    }
+
+    /**
+     * Joue une partie Solo dont les cartes ont déjà été distribuées.
+     */
+    public SimulationResult playSolo(SoloGame game) {
+        requireBots(game.getPlayers());
+        int turns = play(game.getRules(), game.getPlayers());
+        TrioHolder winner = game.getWinner();
+        return new SimulationResult(winner, game.getPlayers().indexOf(winner), turns, game.getSeed());
+    }
+
+    // === Mode Équipe ===
+
+    /**
+     * Joue une partie en équipe complète (2 ou 3 équipes de Bots).
+     */
+    public SimulationResult playTeam(List<Team> teams) {
+        return playTeam(teams, new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Joue une partie en équipe reproductible : même graine, même partie.
+     */
+    public SimulationResult playTeam(List<Team> teams, long seed) {
+        TeamGame game = new TeamGame(teams, new Deck(), seed);
+        requireBots(game.getAllPlayers());
+        game.distributeCards(newDrawPile());
+        return playTeam(game);
+    }
+
+    /**
+     * Joue une partie en équipe dont les cartes ont déjà été distribuées.
+     */
+    public SimulationResult playTeam(TeamGame game) {
+        requireBots(game.getAllPlayers());
+        int turns = play(game.getRules(), game.getAllPlayers());
+        TrioHolder winner = game.getWinner();
+        return new SimulationResult(winner, game.getTeams().indexOf(winner), turns, game.getSeed());
+    }
+
+    // === Tours (communs aux deux modes, voir Rules) ===
+
+    /**
+     * Joue la partie jusqu'au vainqueur ou jusqu'à stallTurns tours sans
+     * trio
+     *
+     * @param players joueurs proposés aux Bots comme cibles
+     * @return nombre de tours joués
+     */
+    private int play(Rules rules, List<Player> players) {
+        int turns = 0;
+        int turnsWithoutTrio = 0;
+
+        while (!rules.isFinished() && turnsWithoutTrio < stallTurns) {
+            boolean trioWon = playTurn(rules, (Bot) rules.getCurrentPlayer(), players);
+            turns++;
+            turnsWithoutTrio = trioWon ? 0 : turnsWithoutTrio + 1;
+        }
+        return turns;
+    }
+
+    /**
+     * Joue le tour d'un Bot (échange possible avant la première révélation
+     * si le mode le permet).
+     *
+     * @return true si un trio a été gagné (le Bot rejoue)
+     */
+    private boolean playTurn(Rules rules, Bot bot, List<Player> players) {
+        List<RevealedCard> revealed = rules.getRevealedCards();
+
+        while (!rules.isTurnOver()) {
+            if (rules.exchangeAllowed() && bot.wantsToExchange()) {
+                performExchange(rules, bot, players);
+                continue;
+            }
+
+            int action = bot.chooseBotAction(revealed, players, rules.getCenterDeck());
+            int before = revealed.size();
+            int move = toMove(bot, action, players, rules.getSeats(), rules.getCenterDeck());
+            Card card = move < 0 ? null : rules.play(move);
+
+            // Action impossible : le tour échoue
+            if (card == null || revealed.size() == before) {
+                break;
+            }
+        }
+        return rules.endTurn();
+    }
+
+    private void performExchange(Rules rules, Bot bot, List<Player> players) {
+        List<Player> seats = rules.getSeats();
+        TrioHolder team = rules.getCurrentHolder();
+        List<Player> mates = new ArrayList<>();
+        for (Player p : players) {
+            if (!p.equals(bot) && rules.getHolder(seats.indexOf(p)) == team && !p.getDeck().isEmpty()) {
+                mates.add(p);
+            }
+        }
+
+        Player mate = bot.chooseTeammate(mates);
+        if (mate == null) {
+            return;
+        }
+
+        int idxA = bot.chooseHandCardIndex(bot.getDeck());
+        int idxB = bot.chooseHandCardIndex(mate.getDeck());
+        if (idxA >= 0 && idxB >= 0) {
+            rules.play(Move.exchange(seats.indexOf(mate), idxA, idxB));
+        }
+    }
+
+    // === Coups ===
+
+    /**
+     * Complète l'action d'un Bot en coup (voir Move) : cible ou carte du
+     * centre
+     *
+     * @param players joueurs proposés au Bot comme cibles
+     * @param seats   joueurs dans l'ordre de jeu (sièges des coups)
+     * @return le coup, -1 si le Bot ne trouve ni cible ni carte
+     */
+    private static int toMove(Bot bot, int action, List<Player> players, List<Player> seats, Deck centerDeck) {
+        switch (action) {
+            case Move.OWN_MIN:
+            case Move.OWN_MAX:
+                return Move.of(action, seats.indexOf(bot));
+            case Move.OTHER_MIN:
+            case Move.OTHER_MAX:
+                Player target = bot.chooseTargetPlayer(players);
+                return target != null ? Move.of(action, seats.indexOf(target)) : -1;
+            case Move.CENTER:
+                int centerIndex = centerDeck == null ? -1 : bot.chooseCenterCardIndex(centerDeck);
+                return centerIndex >= 0 ? Move.of(Move.CENTER, centerIndex) : -1;
+            default:
+                return -1;
+        }
+    }
+
+    // === Utilitaires ===
+
+    private DrawPile newDrawPile() {
+        DrawPile drawPile = new DrawPile();
+        drawPile.setVerbose(false);
+        drawPile.createDefaultCards();
+        return drawPile;
+    }
+
+    private void requireBots(List<Player> players) {
+        for (Player p : players) {
+            if (!(p instanceof Bot)) {
+                throw new IllegalArgumentException("Le simulateur ne gère que des Bots: " + p.getPseudo());
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.trio.sim;
+
+import com.trio.model.TrioHolder;
+
+/**
+ * Résultat d'une partie simulée sans affichage.
+ */
+public class SimulationResult {
+
+    // Attributs
+    private final TrioHolder winner; // null si la partie a été abandonnée (bloquée)
+    private final int winnerIndex; // siège (Solo) ou index d'équipe (Équipe), -1 sinon
+    private final int turns;
+    private final long seed; // Graine permettant de rejouer la partie à l'identique
+
+    // Constructeurs
+    public SimulationResult(TrioHolder winner, int winnerIndex, int turns, long seed) {
+        this.winner = winner;
+        this.winnerIndex = winnerIndex;
+        this.turns = turns;
+        this.seed = seed;
+    }
+
+    // Getters
+    public TrioHolder getWinner() {
+        return winner;
+    }
+
+    public int getWinnerIndex() {
+        return winnerIndex;
+    }
+
+    public int getTurns() {
+        return turns;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public boolean isFinished() {
+        return winner != null;
+    }
+
+    public boolean isSevenTrioWin() {
+        return winner != null && winner.hasSevenTrio();
+    }
+
+    @Override
+    public String toString() {
+        return "SimulationResult[winnerIndex=" + winnerIndex + ", turns=" + turns + ", seed=" + seed + "]";
+    }
+}
@@ -0,0 +1,251 @@
+package com.trio.sim;
+
+import com.trio.ai.SearchBot;
+import com.trio.model.Bot;
+import com.trio.model.Player;
+import com.trio.model.Team;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+/**
+ * Tournoi entre stratégies de Bots.
+ * Les parties sont indépendantes : elles sont réparties sur tous les cœurs
+ * via un ForkJoinPool (vol de travail), chaque tâche remplissant ses propres
+ * statistiques qui sont fusionnées à la fin (aucun état partagé).
+ * La graine de chaque partie ne dépend que de la graine du tournoi et du
+ * numéro de la partie : un tournoi est reproductible quel que soit le
+ * nombre de threads.
+ */
+public class Tournament {
+
+    /** Nombre de parties jouées séquentiellement par une tâche feuille */
+    private static final int GAMES_PER_TASK = 64;
+
+    private final ForkJoinPool pool;
+    private final int stallTurns;
+    private boolean rotateSeats;
+    private long seed;
+
+    // Constructeurs
+    public Tournament() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public Tournament(ForkJoinPool pool) {
+        this(pool, GameSimulator.DEFAULT_STALL_TURNS);
+    }
+
+    public Tournament(ForkJoinPool pool, int stallTurns) {
+        this.pool = pool;
+        this.stallTurns = stallTurns;
+        this.rotateSeats = true;
+        this.seed = new SplittableRandom().nextLong();
+    }
+
+    // Getters
+    public long getSeed() {
+        return seed;
+    }
+
+    // Setters
+
+    /**
+     * Si actif, la composition tourne d'un siège à chaque partie pour que
+     * chaque stratégie joue à chaque position (actif par défaut).
+     */
+    public void setRotateSeats(boolean rotateSeats) {
+        this.rotateSeats = rotateSeats;
+    }
+
+    /**
+     * Graine du tournoi (aléatoire par défaut)
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    // Méthodes Métier
+
+    /**
+     * Joue un tournoi en mode Solo.
+     *
+     * @param seats fabriques de Bots, une par siège (2 à 6 joueurs)
+     * @param games nombre de parties
+     */
+    public TournamentResult runSolo(List<Supplier<? extends Bot>> seats, int games) {
+        if (seats.size() < 2 || seats.size() > 6) {
+            throw new IllegalArgumentException("Le mode Solo se joue de 2 à 6 joueurs!");
+        }
+        return pool.invoke(new SoloTask(List.copyOf(seats), 0, games));
+    }
+
+    /**
+     * Joue un tournoi en mode équipe.
+     *
+     * @param teams fabriques de Bots par équipe (2 ou 3 équipes)
+     * @param games nombre de parties
+     */
+    public TournamentResult runTeams(List<List<Supplier<? extends Bot>>> teams, int games) {
+        if (teams.size() < 2 || teams.size() > 3) {
+            throw new IllegalArgumentException("Le mode équipe nécessite 2 ou 3 équipes!");
+        }
+        List<List<Supplier<? extends Bot>>> copy = new ArrayList<>();
+        for (List<Supplier<? extends Bot>> team : teams) {
+            copy.add(List.copyOf(team));
+        }
+        return pool.invoke(new TeamTask(copy, 0, games));
+    }
+
+    private int lineupIndex(int seat, int game, int nbSeats) {
+        return rotateSeats ? (seat + game) % nbSeats : seat;
+    }
+
+    /**
+     * Graine de la partie n°game, dérivée de la graine du tournoi
+     */
+    private long gameSeed(int game) {
+        return new SplittableRandom(seed + game * 0x9E3779B97F4A7C15L).nextLong();
+    }
+
+    /**
+     * Tâche récursive sur une plage de parties Solo [from, to)
+     */
+    private class SoloTask extends RecursiveTask<TournamentResult> {
+        private final List<Supplier<? extends Bot>> seats;
+        private final int from;
+        private final int to;
+
+        SoloTask(List<Supplier<? extends Bot>> seats, int from, int to) {
+            this.seats = seats;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected TournamentResult compute() {
+            if (to - from > GAMES_PER_TASK) {
+                int mid = (from + to) >>> 1;
+                SoloTask left = new SoloTask(seats, from, mid);
+                left.fork();
+                TournamentResult right = new SoloTask(seats, mid, to).compute();
+                return left.join().merge(right);
+            }
+
+            int nbSeats = seats.size();
+            TournamentResult result = new TournamentResult(nbSeats);
+            GameSimulator simulator = new GameSimulator(stallTurns);
+            List<Player> players = new ArrayList<>(nbSeats);
+            String[] strategies = new String[nbSeats];
+
+            for (int game = from; game < to; game++) {
+                players.clear();
+                for (int seat = 0; seat < nbSeats; seat++) {
+                    Bot bot = seats.get(lineupIndex(seat, game, nbSeats)).get();
+                    players.add(bot);
+                    strategies[seat] = bot.getStrategyName();
+                }
+
+                SimulationResult sim = simulator.playSolo(players, gameSeed(game));
+                result.recordGame(sim);
+                for (int seat = 0; seat < nbSeats; seat++) {
+                    result.recordSeat(seat, strategies[seat], sim.getWinnerIndex() == seat);
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Tâche récursive sur une plage de parties en équipe [from, to).
+     * Le "siège" est ici la position de l'équipe dans l'ordre de jeu.
+     */
+    private class TeamTask extends RecursiveTask<TournamentResult> {
+        private final List<List<Supplier<? extends Bot>>> teams;
+        private final int from;
+        private final int to;
+
+        TeamTask(List<List<Supplier<? extends Bot>>> teams, int from, int to) {
+            this.teams = teams;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected TournamentResult compute() {
+            if (to - from > GAMES_PER_TASK) {
+                int mid = (from + to) >>> 1;
+                TeamTask left = new TeamTask(teams, from, mid);
+                left.fork();
+                TournamentResult right = new TeamTask(teams, mid, to).compute();
+                return left.join().merge(right);
+            }
+
+            int nbTeams = teams.size();
+            TournamentResult result = new TournamentResult(nbTeams);
+            GameSimulator simulator = new GameSimulator(stallTurns);
+
+            for (int game = from; game < to; game++) {
+                List<Team> lineup = new ArrayList<>(nbTeams);
+                for (int seat = 0; seat < nbTeams; seat++) {
+                    List<Player> members = new ArrayList<>();
+                    for (Supplier<? extends Bot> factory : teams.get(lineupIndex(seat, game, nbTeams))) {
+                        members.add(factory.get());
+                    }
+                    lineup.add(new Team("Équipe " + (char) ('A' + seat), members));
+                }
+
+                SimulationResult sim = simulator.playTeam(lineup, gameSeed(game));
+                result.recordGame(sim);
+                for (int seat = 0; seat < nbTeams; seat++) {
+                    boolean won = sim.getWinnerIndex() == seat;
+                    for (Player p : lineup.get(seat).getPlayers()) {
+                        result.recordSeat(seat, ((Bot) p).getStrategyName(), won);
+                    }
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Lancement en ligne de commande :
+     * java -cp out com.trio.sim.Tournament [parties] [joueurs] [graine] [bots de recherche]
+     *
+     * Les premiers sièges reçoivent les SearchBot demandés (budget par les
+     * propriétés trio.ai.*), les autres des Bots classiques.
+     */
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int nbPlayers = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int nbSearchBots = args.length > 3 ? Integer.parseInt(args[3]) : 0;
+
+        List<Supplier<? extends Bot>> seats = new ArrayList<>();
+        for (int i = 1; i <= nbPlayers; i++) {
+            String name = "Bot" + i;
+            if (i <= nbSearchBots) {
+                seats.add(() -> new SearchBot(name));
+            } else {
+                seats.add(() -> new Bot(name));
+            }
+        }
+
+        Tournament tournament = new Tournament();
+        if (args.length > 2) {
+            tournament.setSeed(Long.parseLong(args[2]));
+        }
+
+        long start = System.nanoTime();
+        TournamentResult result = tournament.runSolo(seats, games);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.println("Graine: " + tournament.getSeed());
+        System.out.print(result);
+        System.out.println("Durée: " + elapsedMs + " ms sur "
+                + ForkJoinPool.commonPool().getParallelism() + " threads");
+    }
+}
@@ -0,0 +1,122 @@
+package com.trio.sim;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Statistiques agrégées d'un tournoi : victoires par siège et par stratégie.
+ * Chaque tâche du tournoi remplit son propre résultat, fusionné à la fin.
+ */
+public class TournamentResult {
+
+    // Attributs
+    private final long[] gamesBySeat;
+    private final long[] winsBySeat;
+    private final Map<String, long[]> byStrategy; // nom -> {parties, victoires}
+    private long games;
+    private long unfinished;
+    private long totalTurns;
+
+    // Constructeurs
+    public TournamentResult(int nbSeats) {
+        this.gamesBySeat = new long[nbSeats];
+        this.winsBySeat = new long[nbSeats];
+        this.byStrategy = new TreeMap<>();
+    }
+
+    // Getters
+    public long getGames() {
+        return games;
+    }
+
+    public long getUnfinished() {
+        return unfinished;
+    }
+
+    public int getSeatCount() {
+        return winsBySeat.length;
+    }
+
+    public long getWinsBySeat(int seat) {
+        return winsBySeat[seat];
+    }
+
+    public double getWinRateBySeat(int seat) {
+        return gamesBySeat[seat] == 0 ? 0.0 : (double) winsBySeat[seat] / gamesBySeat[seat];
+    }
+
+    public Map<String, long[]> getStrategies() {
+        return byStrategy;
+    }
+
+    public double getWinRate(String strategy) {
+        long[] stats = byStrategy.get(strategy);
+        return stats == null || stats[0] == 0 ? 0.0 : (double) stats[1] / stats[0];
+    }
+
+    public double getAverageTurns() {
+        long finished = games - unfinished;
+        return finished == 0 ? 0.0 : (double) totalTurns / finished;
+    }
+
+    // Méthodes Métier
+
+    /**
+     * Enregistre la participation d'une stratégie à un siège
+     */
+    void recordSeat(int seat, String strategy, boolean won) {
+        gamesBySeat[seat]++;
+        long[] stats = byStrategy.computeIfAbsent(strategy, k -> new long[2]);
+        stats[0]++;
+        if (won) {
+            winsBySeat[seat]++;
+            stats[1]++;
+        }
+    }
+
+    /**
+     * Enregistre la fin d'une partie
+     */
+    void recordGame(SimulationResult result) {
+        games++;
+        if (result.isFinished()) {
+            totalTurns += result.getTurns();
+        } else {
+            unfinished++;
+        }
+    }
+
+    /**
+     * Fusionne les statistiques d'un autre résultat dans celui-ci
+     */
+    TournamentResult merge(TournamentResult other) {
+        for (int i = 0; i < winsBySeat.length; i++) {
+            gamesBySeat[i] += other.gamesBySeat[i];
+            winsBySeat[i] += other.winsBySeat[i];
+        }
+        for (Map.Entry<String, long[]> e : other.byStrategy.entrySet()) {
+            long[] stats = byStrategy.computeIfAbsent(e.getKey(), k -> new long[2]);
+            stats[0] += e.getValue()[0];
+            stats[1] += e.getValue()[1];
+        }
+        games += other.games;
+        unfinished += other.unfinished;
+        totalTurns += other.totalTurns;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Parties: %d (abandonnées: %d) | Tours moyens: %.1f%n",
+                games, unfinished, getAverageTurns()));
+        for (int i = 0; i < winsBySeat.length; i++) {
+            sb.append(String.format("  Siège %d: %.2f%% (%d victoires)%n",
+                    i + 1, 100 * getWinRateBySeat(i), winsBySeat[i]));
+        }
+        for (String strategy : byStrategy.keySet()) {
+            sb.append(String.format("  %s: %.2f%%%n", strategy, 100 * getWinRate(strategy)));
+        }
+        return sb.toString();
+    }
+}
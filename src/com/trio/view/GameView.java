@@ -2,6 +2,7 @@ package com.trio.view;
 
 import com.trio.model.*;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Interface définissant les méthodes d'affichage et d'input pour le jeu Trio.
@@ -9,6 +10,11 @@ import java.util.List;
  */
 public interface GameView {
 
+    /**
+     * Code d'action rendu par promptAction pour annuler le dernier coup
+     */
+    int ACTION_UNDO = 7;
+
     // === AFFICHAGE ===
 
     /**
@@ -80,21 +86,37 @@ public interface GameView {
     void displayBotAction(Bot bot, String action, Player target);
 
     // === INPUT ===
+    // Les demandes ne bloquent pas : le résultat est fourni quand le joueur a
+    // choisi. Elles peuvent être appelées depuis n'importe quel thread.
 
     /**
-     * Demande au joueur de choisir une action (1-5, 0 pour arrêter)
+     * Demande au joueur de choisir une action (1-5, 0 pour arrêter,
+     * ACTION_UNDO pour annuler si la vue le propose)
      */
-    int promptAction();
+    CompletableFuture<Integer> promptAction();
+
+    /**
+     * Vrai si la vue propose l'annulation du dernier coup (partie locale)
+     */
+    default boolean supportsUndo() {
+        return false;
+    }
 
     /**
      * Demande au joueur de choisir un autre joueur parmi la liste
      */
-    Player promptSelectPlayer(List<Player> availablePlayers);
+    CompletableFuture<Player> promptSelectPlayer(List<Player> availablePlayers);
 
     /**
      * Demande au joueur de choisir une carte du centre
      */
-    int promptSelectCenterCard(Deck centerDeck);
+    CompletableFuture<Integer> promptSelectCenterCard(Deck centerDeck);
 
     void startGame();
+
+    /**
+     * Action exécutée quand le joueur ferme la fenêtre de la partie
+     * (annulation de la session)
+     */
+    void onClose(Runnable action);
 }
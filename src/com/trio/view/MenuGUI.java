@@ -42,6 +42,7 @@ public class MenuGUI extends JFrame {
     private static final Color TEXT_PRIMARY = new Color(255, 255, 255); // White
     private static final Color TEXT_SECONDARY = new Color(160, 170, 200); // Light gray-blue
     private static final Color BORDER_COLOR = new Color(80, 90, 130); // Subtle border
+    private static final int LEADERBOARD_SIZE = 10; // Number of users shown in the leaderboard
 
     private void startGame() {
         menu.setNbPlayers(playerSlider.getValue());
@@ -80,7 +81,7 @@ public class MenuGUI extends JFrame {
     }
 
     private User selectExistingUser() {
-        // Check if UserLogs.txt exists and has users using controller
+        // Check if users are registered using controller
         if (controller.isUserLogsEmpty()) {
             JOptionPane.showMessageDialog(this,
                     "No users found. Please create a user first.",
@@ -120,28 +121,14 @@ public class MenuGUI extends JFrame {
                 BorderFactory.createEmptyBorder(20, 25, 20, 25)));
 
         // Read and display users
-        try (java.io.BufferedReader reader = new java.io.BufferedReader(
-                new java.io.FileReader("logs/UserLogs.txt"))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                if (line.trim().isEmpty()) {
-                    continue;
-                }
-
-                // Parse user info from log line
-                String displayText = line;
-                JLabel userLabel = new JLabel(displayText);
-                userLabel.setFont(new Font("Segoe UI", Font.PLAIN, 12));
-                userLabel.setForeground(TEXT_PRIMARY);
-                usersPanel.add(userLabel);
-                usersPanel.add(Box.createRigidArea(new Dimension(0, 5)));
-            }
-        } catch (java.io.IOException e) {
-            JOptionPane.showMessageDialog(this,
-                    "Error reading user logs: " + e.getMessage(),
-                    "Error",
-                    JOptionPane.ERROR_MESSAGE);
-            return null;
+        for (User user : controller.getAllUsers()) {
+            String displayText = String.format("ID: %d | Name: %s | Age: %d | Victories: %d",
+                    user.getId(), user.getName(), user.getAge(), user.getNBVictoire());
+            JLabel userLabel = new JLabel(displayText);
+            userLabel.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+            userLabel.setForeground(TEXT_PRIMARY);
+            usersPanel.add(userLabel);
+            usersPanel.add(Box.createRigidArea(new Dimension(0, 5)));
         }
 
         JScrollPane scrollPane = new JScrollPane(usersPanel);
@@ -402,7 +389,16 @@ public class MenuGUI extends JFrame {
             String avatarPath = avatarField.getText().trim();
 
             // Use controller to create user
-            User newUser = controller.createNewUser(name, age, avatarPath);
+            User newUser;
+            try {
+                newUser = controller.createNewUser(name, age, avatarPath);
+            } catch (IllegalArgumentException ex) {
+                JOptionPane.showMessageDialog(formDialog,
+                        "Player name is too long.",
+                        "Validation Error",
+                        JOptionPane.ERROR_MESSAGE);
+                return;
+            }
 
             resultUser[0] = newUser;
 
@@ -808,13 +804,26 @@ public class MenuGUI extends JFrame {
         userButtonsPanel.setMaximumSize(new Dimension(580, 55));
         userButtonsPanel.setAlignmentX(Component.CENTER_ALIGNMENT);
 
-        // View all cards button
+        // View all cards and leaderboard buttons (side by side)
         GlowButton viewCardsButton = new GlowButton("View All Cards", new Color(255, 149, 0), new Color(255, 180, 50));
-        viewCardsButton.setPreferredSize(new Dimension(580, 55));
-        viewCardsButton.setMaximumSize(new Dimension(580, 55));
-        viewCardsButton.setAlignmentX(Component.CENTER_ALIGNMENT);
+        viewCardsButton.setPreferredSize(new Dimension(280, 55));
+        viewCardsButton.setMaximumSize(new Dimension(280, 55));
         viewCardsButton.addActionListener(e -> showAllCards());
 
+        GlowButton leaderboardButton = new GlowButton("Leaderboard", ACCENT_PURPLE, BUTTON_SECONDARY_HOVER);
+        leaderboardButton.setPreferredSize(new Dimension(280, 55));
+        leaderboardButton.setMaximumSize(new Dimension(280, 55));
+        leaderboardButton.addActionListener(e -> showLeaderboard());
+
+        Box infoButtonsPanel = Box.createHorizontalBox();
+        infoButtonsPanel.add(Box.createHorizontalGlue());
+        infoButtonsPanel.add(viewCardsButton);
+        infoButtonsPanel.add(Box.createRigidArea(new Dimension(15, 0)));
+        infoButtonsPanel.add(leaderboardButton);
+        infoButtonsPanel.add(Box.createHorizontalGlue());
+        infoButtonsPanel.setMaximumSize(new Dimension(580, 55));
+        infoButtonsPanel.setAlignmentX(Component.CENTER_ALIGNMENT);
+
         GlowButton exitButton = new GlowButton("Exit", DANGER, new Color(250, 90, 90));
         exitButton.setPreferredSize(new Dimension(580, 55));
         exitButton.setMaximumSize(new Dimension(580, 55));
@@ -827,7 +836,7 @@ public class MenuGUI extends JFrame {
         mainContainer.add(Box.createRigidArea(new Dimension(0, 12)));
         mainContainer.add(userButtonsPanel);
         mainContainer.add(Box.createRigidArea(new Dimension(0, 12)));
-        mainContainer.add(viewCardsButton);
+        mainContainer.add(infoButtonsPanel);
         mainContainer.add(Box.createRigidArea(new Dimension(0, 12)));
         mainContainer.add(exitButton);
 
@@ -902,6 +911,83 @@ public class MenuGUI extends JFrame {
         cardsDialog.setVisible(true);
     }
 
+    /**
+     * Affiche les meilleurs joueurs et le rang de l'utilisateur courant
+     */
+    private void showLeaderboard() {
+        JDialog leaderboardDialog = new JDialog(this, "Leaderboard", true);
+        leaderboardDialog.setSize(500, 600);
+        leaderboardDialog.setLocationRelativeTo(this);
+        leaderboardDialog.getContentPane().setBackground(BACKGROUND_DARK);
+
+        JPanel mainPanel = new JPanel(new BorderLayout(15, 15));
+        mainPanel.setBackground(BACKGROUND_DARK);
+        mainPanel.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
+
+        // Titre
+        JLabel titleLabel = new JLabel("Top " + LEADERBOARD_SIZE, SwingConstants.CENTER);
+        titleLabel.setFont(new Font("Segoe UI", Font.BOLD, 24));
+        titleLabel.setForeground(ACCENT_CYAN);
+        mainPanel.add(titleLabel, BorderLayout.NORTH);
+
+        // Lignes du classement
+        JPanel rowsPanel = new JPanel();
+        rowsPanel.setLayout(new BoxLayout(rowsPanel, BoxLayout.Y_AXIS));
+        rowsPanel.setBackground(BACKGROUND_MEDIUM);
+        rowsPanel.setBorder(BorderFactory.createEmptyBorder(15, 20, 15, 20));
+
+        java.util.List<com.trio.controller.LeaderboardService.Entry> top = controller.getLeaderboard(LEADERBOARD_SIZE);
+        if (top.isEmpty()) {
+            JLabel emptyLabel = new JLabel("No users yet.");
+            emptyLabel.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+            emptyLabel.setForeground(TEXT_SECONDARY);
+            rowsPanel.add(emptyLabel);
+        }
+        for (int i = 0; i < top.size(); i++) {
+            com.trio.controller.LeaderboardService.Entry entry = top.get(i);
+            JLabel rowLabel = new JLabel(String.format("%2d. %s - %d victories", i + 1, entry.getName(),
+                    entry.getVictories()));
+            rowLabel.setFont(new Font("Segoe UI", i < 3 ? Font.BOLD : Font.PLAIN, 14));
+            rowLabel.setForeground(i == 0 ? ACCENT_GREEN : TEXT_PRIMARY);
+            rowsPanel.add(rowLabel);
+            rowsPanel.add(Box.createRigidArea(new Dimension(0, 6)));
+        }
+
+        JScrollPane scrollPane = new JScrollPane(rowsPanel);
+        scrollPane.getViewport().setBackground(BACKGROUND_MEDIUM);
+        scrollPane.setBorder(BorderFactory.createLineBorder(BORDER_COLOR, 1));
+        mainPanel.add(scrollPane, BorderLayout.CENTER);
+
+        // Rang de l'utilisateur courant et bouton Fermer
+        JPanel southPanel = new JPanel();
+        southPanel.setLayout(new BoxLayout(southPanel, BoxLayout.Y_AXIS));
+        southPanel.setBackground(BACKGROUND_DARK);
+
+        int rank = controller.getCurrentUserRank();
+        if (rank > 0) {
+            JLabel rankLabel = new JLabel(String.format("%s - Rank #%d",
+                    menu.getCurrentUser().getName(), rank));
+            rankLabel.setFont(new Font("Segoe UI", Font.BOLD, 14));
+            rankLabel.setForeground(ACCENT_PURPLE);
+            rankLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+            southPanel.add(rankLabel);
+            southPanel.add(Box.createRigidArea(new Dimension(0, 10)));
+        }
+
+        GlowButton closeButton = new GlowButton("Fermer", BUTTON_PRIMARY, BUTTON_PRIMARY_HOVER);
+        closeButton.setPreferredSize(new Dimension(150, 45));
+        closeButton.addActionListener(e -> leaderboardDialog.dispose());
+
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
+        buttonPanel.setBackground(BACKGROUND_DARK);
+        buttonPanel.add(closeButton);
+        southPanel.add(buttonPanel);
+        mainPanel.add(southPanel, BorderLayout.SOUTH);
+
+        leaderboardDialog.add(mainPanel);
+        leaderboardDialog.setVisible(true);
+    }
+
     /**
      * Crée un panneau de carte pour l'affichage dans le visualiseur
      */
@@ -1031,10 +1117,9 @@ public class MenuGUI extends JFrame {
     private void launchSoloGame(java.util.List<Player> players) {
         SoloGame game = new SoloGame(players, new Deck());
         SwingGameView gameView = new SwingGameView();
-        com.trio.controller.GameController controller = new com.trio.controller.GameController(game, gameView);
 
-        // Launch in separate thread
-        new Thread(() -> controller.startGame()).start();
+        // Session annulée si la fenêtre de jeu est fermée
+        com.trio.controller.GameSessionManager.getInstance().startSolo(game, gameView);
 
         // Close menu
         this.dispose();
@@ -1057,10 +1142,9 @@ public class MenuGUI extends JFrame {
 
         TeamGame game = new TeamGame(teams, new Deck());
         SwingTeamGameView teamView = new SwingTeamGameView();
-        com.trio.controller.TeamGameController controller = new com.trio.controller.TeamGameController(game, teamView);
 
-        // Launch in separate thread
-        new Thread(() -> controller.startGame()).start();
+        // Session annulée si la fenêtre de jeu est fermée
+        com.trio.controller.GameSessionManager.getInstance().startTeam(game, teamView);
 
         // Close menu
         this.dispose();
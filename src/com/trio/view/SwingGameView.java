@@ -9,6 +9,7 @@ import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 import java.awt.geom.RoundRectangle2D;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Interface graphique Swing style sombre premium pour le jeu Trio (mode Solo).
@@ -42,12 +43,7 @@ public class SwingGameView extends JFrame implements GameView {
     private JPanel centerPanel;
     private JPanel actionsPanel;
     private JTextArea logArea;
-
-    // Input handling
-    private int selectedAction = -1;
-    private Player selectedPlayer = null;
-    private int selectedCenterIndex = -1;
-    private final Object inputLock = new Object();
+    private Runnable closeHandler; // Annulation de la session à la fermeture
 
     public SwingGameView() {
         initializeUI();
@@ -108,6 +104,17 @@ public class SwingGameView extends JFrame implements GameView {
                 JOptionPane.QUESTION_MESSAGE);
 
         if (choice == JOptionPane.YES_OPTION) {
+            if (closeHandler == null) {
+                System.exit(0);
+            }
+            closeHandler.run();
+            dispose();
+            // Quitter l'application si c'était la dernière fenêtre ouverte
+            for (Frame frame : Frame.getFrames()) {
+                if (frame.isVisible()) {
+                    return;
+                }
+            }
             System.exit(0);
         }
     }
@@ -756,8 +763,13 @@ public class SwingGameView extends JFrame implements GameView {
     // === INPUT ===
 
     @Override
-    public int promptAction() {
-        selectedAction = -1;
+    public boolean supportsUndo() {
+        return true;
+    }
+
+    @Override
+    public CompletableFuture<Integer> promptAction() {
+        CompletableFuture<Integer> choice = new CompletableFuture<>();
         SwingUtilities.invokeLater(() -> {
             actionsPanel.removeAll();
             JLabel title = new JLabel("Actions");
@@ -767,47 +779,36 @@ public class SwingGameView extends JFrame implements GameView {
             actionsPanel.add(title);
             actionsPanel.add(Box.createVerticalStrut(15));
 
-            addActionButton("Ma carte MIN", 1, PRIMARY);
-            addActionButton("Ma carte MAX", 2, PRIMARY);
+            addActionButton("Ma carte MIN", 1, PRIMARY, choice);
+            addActionButton("Ma carte MAX", 2, PRIMARY, choice);
             actionsPanel.add(Box.createVerticalStrut(10));
-            addActionButton("MIN autre joueur", 3, WARNING);
-            addActionButton("MAX autre joueur", 4, WARNING);
+            addActionButton("MIN autre joueur", 3, WARNING, choice);
+            addActionButton("MAX autre joueur", 4, WARNING, choice);
             actionsPanel.add(Box.createVerticalStrut(10));
-            addActionButton("Carte du centre", 5, SUCCESS);
+            addActionButton("Carte du centre", 5, SUCCESS, choice);
             actionsPanel.add(Box.createVerticalStrut(20));
-            addActionButton("Arrêter le tour", 0, DANGER);
+            addActionButton("Arrêter le tour", 0, DANGER, choice);
+            addActionButton("Annuler le coup", ACTION_UNDO, GRAY_1, choice);
 
             actionsPanel.revalidate();
             actionsPanel.repaint();
         });
 
-        synchronized (inputLock) {
-            while (selectedAction == -1) {
-                try {
-                    inputLock.wait();
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
-            }
-        }
-        return selectedAction;
+        return choice;
     }
 
-    private void addActionButton(String text, int actionCode, Color color) {
+    private void addActionButton(String text, int actionCode, Color color, CompletableFuture<Integer> choice) {
         JButton btn = createAppleButton(text, color);
         btn.addActionListener(e -> {
-            synchronized (inputLock) {
-                selectedAction = actionCode;
-                inputLock.notifyAll();
-            }
+            choice.complete(actionCode);
         });
         actionsPanel.add(btn);
         actionsPanel.add(Box.createVerticalStrut(8));
     }
 
     @Override
-    public Player promptSelectPlayer(List<Player> availablePlayers) {
-        selectedPlayer = null;
+    public CompletableFuture<Player> promptSelectPlayer(List<Player> availablePlayers) {
+        CompletableFuture<Player> choice = new CompletableFuture<>();
         SwingUtilities.invokeLater(() -> {
             actionsPanel.removeAll();
             JLabel title = new JLabel("Choisir un joueur");
@@ -819,10 +820,7 @@ public class SwingGameView extends JFrame implements GameView {
             for (Player p : availablePlayers) {
                 JButton btn = createAppleButton(p.getPseudo(), PRIMARY);
                 btn.addActionListener(e -> {
-                    synchronized (inputLock) {
-                        selectedPlayer = p;
-                        inputLock.notifyAll();
-                    }
+                    choice.complete(p);
                 });
                 actionsPanel.add(btn);
                 actionsPanel.add(Box.createVerticalStrut(8));
@@ -830,21 +828,12 @@ public class SwingGameView extends JFrame implements GameView {
             actionsPanel.revalidate();
             actionsPanel.repaint();
         });
-        synchronized (inputLock) {
-            while (selectedPlayer == null) {
-                try {
-                    inputLock.wait();
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
-            }
-        }
-        return selectedPlayer;
+        return choice;
     }
 
     @Override
-    public int promptSelectCenterCard(Deck centerDeck) {
-        selectedCenterIndex = -1;
+    public CompletableFuture<Integer> promptSelectCenterCard(Deck centerDeck) {
+        CompletableFuture<Integer> choice = new CompletableFuture<>();
         SwingUtilities.invokeLater(() -> {
             actionsPanel.removeAll();
 
@@ -866,10 +855,7 @@ public class SwingGameView extends JFrame implements GameView {
                 final int index = i;
                 JButton btn = createAppleButton(text, c.isVisible() ? WARNING : GRAY_1);
                 btn.addActionListener(e -> {
-                    synchronized (inputLock) {
-                        selectedCenterIndex = index;
-                        inputLock.notifyAll();
-                    }
+                    choice.complete(index);
                 });
                 buttonsPanel.add(btn);
                 buttonsPanel.add(Box.createVerticalStrut(5));
@@ -889,20 +875,16 @@ public class SwingGameView extends JFrame implements GameView {
             actionsPanel.revalidate();
             actionsPanel.repaint();
         });
-        synchronized (inputLock) {
-            while (selectedCenterIndex == -1) {
-                try {
-                    inputLock.wait();
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
-            }
-        }
-        return selectedCenterIndex;
+        return choice;
     }
 
     @Override
     public void startGame() {
         setVisible(true);
     }
+
+    @Override
+    public void onClose(Runnable action) {
+        this.closeHandler = action;
+    }
 }
@@ -9,6 +9,7 @@ import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 import java.awt.geom.RoundRectangle2D;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Interface graphique Swing style sombre premium pour le mode Team Game.
@@ -47,12 +48,7 @@ public class SwingTeamGameView extends JFrame implements TeamGameView {
     private JPanel centerPanel;
     private JPanel actionsPanel;
     private JTextArea logArea;
-
-    // Input handling
-    private int selectedAction = -1;
-    private Player selectedPlayer = null;
-    private int selectedCenterIndex = -1;
-    private final Object inputLock = new Object();
+    private Runnable closeHandler; // Annulation de la session à la fermeture
 
     // State
     private List<Team> currentTeams;
@@ -112,6 +108,17 @@ public class SwingTeamGameView extends JFrame implements TeamGameView {
                 JOptionPane.YES_NO_OPTION,
                 JOptionPane.QUESTION_MESSAGE);
         if (choice == JOptionPane.YES_OPTION) {
+            if (closeHandler == null) {
+                System.exit(0);
+            }
+            closeHandler.run();
+            dispose();
+            // Quitter l'application si c'était la dernière fenêtre ouverte
+            for (Frame frame : Frame.getFrames()) {
+                if (frame.isVisible()) {
+                    return;
+                }
+            }
             System.exit(0);
         }
     }
@@ -667,6 +674,11 @@ public class SwingTeamGameView extends JFrame implements TeamGameView {
         log(player.getPseudo() + " (" + team.getName() + ")");
     }
 
+    @Override
+    public void displayExchange(Player player, Player mate) {
+        log("🔄 " + player.getPseudo() + " et " + mate.getPseudo() + " échangent une carte");
+    }
+
     @Override
     public void displayWelcome(int nbPlayers) {
         log("Partie avec " + nbPlayers + " joueurs");
@@ -765,8 +777,13 @@ public class SwingTeamGameView extends JFrame implements TeamGameView {
     }
 
     @Override
-    public int promptAction() {
-        selectedAction = -1;
+    public boolean supportsUndo() {
+        return true;
+    }
+
+    @Override
+    public CompletableFuture<Integer> promptAction() {
+        CompletableFuture<Integer> choice = new CompletableFuture<>();
         SwingUtilities.invokeLater(() -> {
             actionsPanel.removeAll();
             JLabel title = new JLabel("Actions");
@@ -776,48 +793,37 @@ public class SwingTeamGameView extends JFrame implements TeamGameView {
             actionsPanel.add(title);
             actionsPanel.add(Box.createVerticalStrut(15));
 
-            addActionButton("Ma carte MIN", 1, PRIMARY);
-            addActionButton("Ma carte MAX", 2, PRIMARY);
+            addActionButton("Ma carte MIN", 1, PRIMARY, choice);
+            addActionButton("Ma carte MAX", 2, PRIMARY, choice);
             actionsPanel.add(Box.createVerticalStrut(10));
-            addActionButton("MIN autre joueur", 3, WARNING);
-            addActionButton("MAX autre joueur", 4, WARNING);
+            addActionButton("MIN autre joueur", 3, WARNING, choice);
+            addActionButton("MAX autre joueur", 4, WARNING, choice);
             // Action 5 (Centre) retirée
             actionsPanel.add(Box.createVerticalStrut(20));
-            addActionButton("Échanger (équipe)", 6, PURPLE);
+            addActionButton("Échanger (équipe)", 6, PURPLE, choice);
             actionsPanel.add(Box.createVerticalStrut(20));
-            addActionButton("Arrêter le tour", 0, DANGER);
+            addActionButton("Arrêter le tour", 0, DANGER, choice);
+            addActionButton("Annuler le coup", ACTION_UNDO, GRAY_1, choice);
 
             actionsPanel.revalidate();
             actionsPanel.repaint();
         });
 
-        synchronized (inputLock) {
-            while (selectedAction == -1) {
-                try {
-                    inputLock.wait();
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
-            }
-        }
-        return selectedAction;
+        return choice;
     }
 
-    private void addActionButton(String text, int actionCode, Color color) {
+    private void addActionButton(String text, int actionCode, Color color, CompletableFuture<Integer> choice) {
         JButton btn = createAppleButton(text, color);
         btn.addActionListener(e -> {
-            synchronized (inputLock) {
-                selectedAction = actionCode;
-                inputLock.notifyAll();
-            }
+            choice.complete(actionCode);
         });
         actionsPanel.add(btn);
         actionsPanel.add(Box.createVerticalStrut(8));
     }
 
     @Override
-    public Player promptSelectPlayer(List<Player> availablePlayers) {
-        selectedPlayer = null;
+    public CompletableFuture<Player> promptSelectPlayer(List<Player> availablePlayers) {
+        CompletableFuture<Player> choice = new CompletableFuture<>();
         SwingUtilities.invokeLater(() -> {
             actionsPanel.removeAll();
             JLabel title = new JLabel("Choisir un joueur");
@@ -830,10 +836,7 @@ public class SwingTeamGameView extends JFrame implements TeamGameView {
             for (Player p : availablePlayers) {
                 JButton btn = createAppleButton(p.getPseudo(), PRIMARY);
                 btn.addActionListener(e -> {
-                    synchronized (inputLock) {
-                        selectedPlayer = p;
-                        inputLock.notifyAll();
-                    }
+                    choice.complete(p);
                 });
                 actionsPanel.add(btn);
                 actionsPanel.add(Box.createVerticalStrut(8));
@@ -842,23 +845,14 @@ public class SwingTeamGameView extends JFrame implements TeamGameView {
             actionsPanel.repaint();
         });
 
-        synchronized (inputLock) {
-            while (selectedPlayer == null) {
-                try {
-                    inputLock.wait();
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
-            }
-        }
-        return selectedPlayer;
+        return choice;
     }
 
     @Override
-    public int promptSelectCenterCard(Deck centerDeck) {
+    public CompletableFuture<Integer> promptSelectCenterCard(Deck centerDeck) {
         // Cette méthode existe pour satisfaire l'interface, mais ne sera pas appelée
         // si l'option 5 est retirée du Controller.
-        selectedCenterIndex = -1;
+        CompletableFuture<Integer> choice = new CompletableFuture<>();
         SwingUtilities.invokeLater(() -> {
             actionsPanel.removeAll();
             JLabel title = new JLabel("Choisir une carte");
@@ -874,10 +868,7 @@ public class SwingTeamGameView extends JFrame implements TeamGameView {
                 final int index = i;
                 JButton btn = createAppleButton(text, c.isVisible() ? WARNING : GRAY_1);
                 btn.addActionListener(e -> {
-                    synchronized (inputLock) {
-                        selectedCenterIndex = index;
-                        inputLock.notifyAll();
-                    }
+                    choice.complete(index);
                 });
                 actionsPanel.add(btn);
                 actionsPanel.add(Box.createVerticalStrut(5));
@@ -886,21 +877,12 @@ public class SwingTeamGameView extends JFrame implements TeamGameView {
             actionsPanel.repaint();
         });
 
-        synchronized (inputLock) {
-            while (selectedCenterIndex == -1) {
-                try {
-                    inputLock.wait();
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
-            }
-        }
-        return selectedCenterIndex;
+        return choice;
     }
 
     @Override
-    public int promptSelectHandCard(Player player) {
-        selectedCenterIndex = -1;
+    public CompletableFuture<Integer> promptSelectHandCard(Player player) {
+        CompletableFuture<Integer> choice = new CompletableFuture<>();
         SwingUtilities.invokeLater(() -> {
             actionsPanel.removeAll();
             JLabel title = new JLabel("Carte de " + player.getPseudo());
@@ -917,10 +899,7 @@ public class SwingTeamGameView extends JFrame implements TeamGameView {
                 final int index = i;
                 JButton btn = createAppleButton(text, PRIMARY);
                 btn.addActionListener(e -> {
-                    synchronized (inputLock) {
-                        selectedCenterIndex = index;
-                        inputLock.notifyAll();
-                    }
+                    choice.complete(index);
                 });
                 actionsPanel.add(btn);
                 actionsPanel.add(Box.createVerticalStrut(6));
@@ -929,16 +908,7 @@ public class SwingTeamGameView extends JFrame implements TeamGameView {
             actionsPanel.repaint();
         });
 
-        synchronized (inputLock) {
-            while (selectedCenterIndex == -1) {
-                try {
-                    inputLock.wait();
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
-            }
-        }
-        return selectedCenterIndex;
+        return choice;
     }
 
     @Override
@@ -946,6 +916,11 @@ public class SwingTeamGameView extends JFrame implements TeamGameView {
         setVisible(true);
     }
 
+    @Override
+    public void onClose(Runnable action) {
+        this.closeHandler = action;
+    }
+
     /**
      * Affiche l'écran de défaite quand l'équipe adverse gagne
      */
@@ -2,6 +2,7 @@ package com.trio.view;
 
 import com.trio.model.*;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Interface spécifique pour l'affichage du mode Team Game.
@@ -46,13 +47,18 @@ public interface TeamGameView extends GameView {
      */
     void displayPlayerWithTeam(Player player, Team team);
 
+    /**
+     * Affiche un échange de cartes réussi entre deux coéquipiers
+     */
+    void displayExchange(Player player, Player mate);
+
     // === INPUT SPÉCIFIQUE ===
 
     /**
      * Demande de sélectionner une carte spécifique dans la main d'un joueur.
      * Utilisé pour l'échange de cartes entre coéquipiers.
      * @param player Le joueur dont on affiche la main
-     * @return L'index de la carte choisie
+     * @return L'index de la carte choisie, une fois sélectionnée
      */
-    int promptSelectHandCard(Player player);
+    CompletableFuture<Integer> promptSelectHandCard(Player player);
 }